@@ -0,0 +1,178 @@
+#!/usr/bin/env python3
+"""Generates the unrolled local BFS used by focusfireplayerV2.pathing.
+
+Usage:
+    python3 scripts/gen_bfs.py 20 10
+
+writes src/focusfireplayerV2/pathing/BFS20.java and BFS10.java. Each class runs a single
+Bellman-Ford style sweep over every tile within the given squared radius, ordered by distance from
+the robot, relaxing each tile from its neighbours that are closer to the centre. The cost of entering
+a tile is 10 + rubble, which is proportional to the movement cooldown the move will incur.
+
+Everything is unrolled into straight-line code over static fields, so the cost is fixed and known
+up front: there are no arrays, loops or allocations besides one MapLocation per tile.
+"""
+
+import os
+import sys
+
+PACKAGE = "focusfireplayerV2.pathing"
+OUT_DIR = os.path.join(os.path.dirname(__file__), "..", "src", "focusfireplayerV2", "pathing")
+
+# Cost of one unknown tile outside the search window, used to rank frontier tiles by
+# v + HEURISTIC * moves_left. Slightly above the cost of a rubble-free tile.
+HEURISTIC = 15
+
+# Rough per-tile bytecode costs of the generated code, used to emit BYTECODE_CEILING. Each tile makes
+# three engine calls; PathfinderTest checks a real search against the ceiling.
+COST_PER_TILE = 20
+COST_PER_EDGE = 9
+COST_PER_FRONTIER = 16
+COST_FIXED = 150
+
+DIRS = {
+    (0, 1): "NORTH",
+    (1, 1): "NORTHEAST",
+    (1, 0): "EAST",
+    (1, -1): "SOUTHEAST",
+    (0, -1): "SOUTH",
+    (-1, -1): "SOUTHWEST",
+    (-1, 0): "WEST",
+    (-1, 1): "NORTHWEST",
+}
+
+
+def tiles_within(r2):
+    r = int(r2 ** 0.5) + 1
+    tiles = [(dx, dy) for dx in range(-r, r + 1) for dy in range(-r, r + 1) if dx * dx + dy * dy <= r2]
+    tiles.sort(key=lambda t: (t[0] * t[0] + t[1] * t[1], t[0], t[1]))
+    return tiles
+
+
+def name(t):
+    dx, dy = t
+    return ("m" if dx < 0 else "p") + str(abs(dx)) + ("m" if dy < 0 else "p") + str(abs(dy))
+
+
+def dist2(t):
+    return t[0] * t[0] + t[1] * t[1]
+
+
+def generate(r2):
+    tiles = tiles_within(r2)
+    tile_set = set(tiles)
+    cls = "BFS" + str(r2)
+    out = []
+    w = out.append
+
+    inner = {}
+    for t in tiles[1:]:
+        inner[t] = [n for n in ((t[0] + d[0], t[1] + d[1]) for d in DIRS)
+                    if n in tile_set and dist2(n) < dist2(t)]
+    frontier = [t for t in tiles[1:]
+                if any((t[0] + d[0], t[1] + d[1]) not in tile_set for d in DIRS)]
+    edges = sum(len(v) for v in inner.values())
+    ceiling = COST_FIXED + COST_PER_TILE * len(tiles) + COST_PER_EDGE * edges + COST_PER_FRONTIER * len(frontier)
+
+    w("// Generated by scripts/gen_bfs.py. Do not edit by hand; rerun the script instead.")
+    w("package " + PACKAGE + ";")
+    w("")
+    w("import battlecode.common.*;")
+    w("")
+    w("/**")
+    w(" * Unrolled rubble-weighted BFS over the %d tiles within radius^2 %d." % (len(tiles), r2))
+    w(" */")
+    w("public strictfp class " + cls + " {")
+    w("")
+    w("    /**")
+    w("     * Estimated upper bound on the bytecode cost of one {@link #bestDirection} call.")
+    w("     */")
+    w("    public static final int BYTECODE_CEILING = %d;" % ceiling)
+    w("")
+    w("    static final int RADIUS_SQUARED = %d;" % r2)
+    w("    private static final int UNREACHED = 1000000;")
+    w("    private static final int HEURISTIC = %d;" % HEURISTIC)
+    w("")
+    for t in tiles:
+        n = name(t)
+        if t == (0, 0):
+            w("    static MapLocation l%s;" % n)
+        else:
+            w("    static MapLocation l%s;" % n)
+            w("    static int v%s;" % n)
+            w("    static Direction d%s;" % n)
+    w("")
+    w("    /**")
+    w("     * @return the first step of the cheapest path towards target, or null if no step improves on")
+    w("     * standing still (boxed in, or every frontier tile is off the map).")
+    w("     */")
+    w("    public static Direction bestDirection(RobotController rc, MapLocation target) throws GameActionException {")
+    c = name((0, 0))
+    w("        l%s = rc.getLocation();" % c)
+    w("")
+    for t in tiles[1:]:
+        n = name(t)
+        w("        l%s = l%s.translate(%d, %d);" % (n, c, t[0], t[1]))
+        w("        v%s = UNREACHED;" % n)
+        w("        d%s = null;" % n)
+        if dist2(t) <= 2:
+            w("        if (rc.onTheMap(l%s) && !rc.isLocationOccupied(l%s)) {" % (n, n))
+            w("            v%s = 10 + rc.senseRubble(l%s);" % (n, n))
+            w("            d%s = Direction.%s;" % (n, DIRS[t]))
+            w("        }")
+        else:
+            w("        if (rc.onTheMap(l%s)) {" % n)
+            for m in inner[t]:
+                mn = name(m)
+                w("            if (v%s > v%s) {" % (n, mn))
+                w("                v%s = v%s;" % (n, mn))
+                w("                d%s = d%s;" % (n, mn))
+                w("            }")
+            w("            v%s += 10 + rc.senseRubble(l%s);" % (n, n))
+            w("        }")
+    w("")
+    w("        int dx = target.x - l%s.x;" % c)
+    w("        int dy = target.y - l%s.y;" % c)
+    w("        switch (dx) {")
+    for dx in sorted(set(t[0] for t in tiles)):
+        w("            case %d:" % dx)
+        w("                switch (dy) {")
+        for t in tiles:
+            if t[0] != dx or t == (0, 0):
+                continue
+            w("                    case %d:" % t[1])
+            w("                        if (d%s != null) return d%s;" % (name(t), name(t)))
+            w("                        break;")
+        w("                }")
+        w("                break;")
+    w("        }")
+    w("")
+    w("        Direction best = null;")
+    w("        int bestScore = UNREACHED;")
+    w("        int score;")
+    for t in frontier:
+        n = name(t)
+        w("        score = v%s + HEURISTIC * Math.max(Math.abs(target.x - l%s.x), Math.abs(target.y - l%s.y));" % (n, n, n))
+        w("        if (score < bestScore) {")
+        w("            bestScore = score;")
+        w("            best = d%s;" % n)
+        w("        }")
+    w("        return best;")
+    w("    }")
+    w("}")
+    return cls, "\n".join(out) + "\n"
+
+
+def main():
+    radii = [int(a) for a in sys.argv[1:]] or [20, 10]
+    os.makedirs(OUT_DIR, exist_ok=True)
+    for r2 in radii:
+        cls, src = generate(r2)
+        path = os.path.join(OUT_DIR, cls + ".java")
+        with open(path, "w") as f:
+            f.write(src)
+        print("wrote " + os.path.normpath(path))
+
+
+if __name__ == "__main__":
+    main()
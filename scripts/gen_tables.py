@@ -0,0 +1,298 @@
+#!/usr/bin/env python3
+"""Generates the per-radius location tables used by focusfireplayerV2.
+
+Usage:
+    python3 scripts/gen_tables.py
+
+writes src/focusfireplayerV2/tables/Offsets.java, Mining.java and Reach.java.
+
+Offsets holds, for every action and vision radius a robot type has, the tile offsets within that
+radius sorted by distance, and the half-height of the disc in each column. Players index these
+static final arrays instead of calling getAllLocationsWithinRadiusSquared or Math.sqrt. Each table
+sits in its own nested class, since the JVM initialises a class's arrays element by element on
+first use and the engine charges every one of those bytecodes.
+
+Offsets also holds, for every vision radius, the tiles that come into vision after one step in
+each direction, so a moving robot can look at just those instead of its whole disc.
+
+Mining is the miner's whole mining step unrolled over the tiles within its action radius: no loops
+over offsets, and MapLocations are only built for tiles on the map.
+
+Reach answers, for a robot at a given offset from us, which of our nine move options (the eight
+directions, then staying put) would put it within an action radius, as a 9-bit mask. Micro scores
+every option against every enemy with one array load per enemy instead of nine distance sums.
+"""
+
+import os
+
+PACKAGE = "focusfireplayerV2.tables"
+OUT_DIR = os.path.join(os.path.dirname(__file__), "..", "src", "focusfireplayerV2", "tables")
+
+# (action radius^2, vision radius^2) per RobotType, from the 2022 specs.
+ROBOT_TYPES = {
+    "ARCHON": (20, 34),
+    "LABORATORY": (0, 53),
+    "WATCHTOWER": (20, 34),
+    "MINER": (2, 20),
+    "BUILDER": (5, 20),
+    "SOLDIER": (13, 20),
+    "SAGE": (25, 34),
+}
+
+
+def tiles_within(r2):
+    r = int(r2 ** 0.5) + 1
+    tiles = [(dx, dy) for dx in range(-r, r + 1) for dy in range(-r, r + 1) if dx * dx + dy * dy <= r2]
+    tiles.sort(key=lambda t: (t[0] * t[0] + t[1] * t[1], t[0], t[1]))
+    return tiles
+
+
+def reach(r2):
+    r = int(r2 ** 0.5)
+    while (r + 1) * (r + 1) <= r2:
+        r += 1
+    return r
+
+
+def spans(r2):
+    r = reach(r2)
+    return [reach(r2 - dx * dx) for dx in range(-r, r + 1)]
+
+
+# Move options in the order of their Reach mask bits: Direction.allDirections() with CENTER last.
+OPTIONS = [(0, 1), (1, 1), (1, 0), (1, -1), (0, -1), (-1, -1), (-1, 0), (-1, 1), (0, 0)]
+
+# Largest |dx| or |dy| of a robot a soldier or sage can see (vision radius^2 34).
+REACH_OFFSET = 5
+
+
+def int_array(values):
+    return "{" + ", ".join(str(v) for v in values) + "}"
+
+
+def edges(r2):
+    """Per step (sx, sy), at index (sx + 1) * 3 + sy + 1, the offsets within r2 of the new tile that
+    were not within r2 of the old one."""
+    tiles = tiles_within(r2)
+    within = set(tiles)
+    return [[t for t in tiles if (t[0] + sx, t[1] + sy) not in within] if (sx, sy) != (0, 0) else []
+            for sx in (-1, 0, 1) for sy in (-1, 0, 1)]
+
+
+def offset(base, d):
+    if d == 0:
+        return base
+    return "%s %s %d" % (base, "+" if d > 0 else "-", abs(d))
+
+
+def generate_offsets():
+    radii = sorted(set(r for pair in ROBOT_TYPES.values() for r in pair if r > 0))
+    out = []
+    w = out.append
+    w("// Generated by scripts/gen_tables.py. Do not edit by hand; rerun the script instead.")
+    w("package " + PACKAGE + ";")
+    w("")
+    w("/**")
+    w(" * Tile offsets within every action and vision radius in the game.")
+    w(" *")
+    w(" * For radius^2 r, Tiles_r.DX[i], Tiles_r.DY[i] is the i-th offset, nearest first, and")
+    w(" * Disc_r.SPAN[dx + Disc_r.REACH] is the largest |dy| within the radius in column dx. Array")
+    w(" * initialisers are paid for in bytecode when their class is first touched, so each table has its own")
+    w(" * nested class and a robot only pays for the ones it uses.")
+    w(" *")
+    w(" * For vision radius^2 r, Edge_r.DX[(sx + 1) * 3 + sy + 1], Edge_r.DY[...] are the offsets that")
+    w(" * come into vision after a step of (sx, sy).")
+    w(" */")
+    w("public strictfp class Offsets {")
+    for r2 in radii:
+        tiles = tiles_within(r2)
+        w("")
+        w("    public static final class Disc%d {" % r2)
+        w("        public static final int REACH = %d;" % reach(r2))
+        w("        public static final int[] SPAN = %s;" % int_array(spans(r2)))
+        w("    }")
+        w("")
+        w("    public static final class Tiles%d {" % r2)
+        w("        public static final int[] DX = %s;" % int_array(t[0] for t in tiles))
+        w("        public static final int[] DY = %s;" % int_array(t[1] for t in tiles))
+        w("    }")
+    visions = sorted(set(pair[1] for pair in ROBOT_TYPES.values()))
+    for r2 in visions:
+        steps = edges(r2)
+        w("")
+        w("    public static final class Edge%d {" % r2)
+        w("        public static final int[][] DX = {%s};" % ", ".join(int_array(t[0] for t in e) for e in steps))
+        w("        public static final int[][] DY = {%s};" % ", ".join(int_array(t[1] for t in e) for e in steps))
+        w("    }")
+    for method, holder, field in (("span", "Disc", "SPAN"), ("dx", "Tiles", "DX"), ("dy", "Tiles", "DY")):
+        w("")
+        w("    /**")
+        w("     * @return the %s table for this radius^2, or null if no robot type has that radius." % field)
+        w("     */")
+        w("    public static int[] %s(int radiusSquared) {" % method)
+        w("        switch (radiusSquared) {")
+        for r2 in radii:
+            w("            case %d: return %s%d.%s;" % (r2, holder, r2, field))
+        w("            default: return null;")
+        w("        }")
+        w("    }")
+    for method, field in (("edgeDx", "DX"), ("edgeDy", "DY")):
+        w("")
+        w("    /**")
+        w("     * @return the Edge %s table for this vision radius^2, or null if no robot type has that radius." % field)
+        w("     */")
+        w("    public static int[][] %s(int radiusSquared) {" % method)
+        w("        switch (radiusSquared) {")
+        for r2 in visions:
+            w("            case %d: return Edge%d.%s;" % (r2, r2, field))
+        w("            default: return null;")
+        w("        }")
+        w("    }")
+    w("}")
+    return "Offsets", "\n".join(out) + "\n"
+
+
+def generate_mining():
+    r2 = ROBOT_TYPES["MINER"][0]
+    tiles = tiles_within(r2)
+    out = []
+    w = out.append
+    w("// Generated by scripts/gen_tables.py. Do not edit by hand; rerun the script instead.")
+    w("package " + PACKAGE + ";")
+    w("")
+    w("import battlecode.common.*;")
+    w("")
+    w("/**")
+    w(" * The miner's mining step unrolled over the %d tiles within its action radius^2 %d, standing tile" % (len(tiles), r2))
+    w(" * first. Gold is mined out; lead is mined down to a floor. Stops as soon as the action cooldown is")
+    w(" * spent.")
+    w(" */")
+    w("public strictfp class Mining {")
+    w("")
+    w("    static int width;")
+    w("    static int height;")
+    w("")
+    w("    /**")
+    w("     * Lead and gold mined by the last {@link #mine} call.")
+    w("     */")
+    w("    public static int lead;")
+    w("    public static int gold;")
+    w("")
+    w("    public static void init(RobotController rc) {")
+    w("        width = rc.getMapWidth();")
+    w("        height = rc.getMapHeight();")
+    w("    }")
+    w("")
+    w("    /**")
+    w("     * Mines every tile in reach, leaving leadFloor lead on each.")
+    w("     */")
+    w("    public static void mine(RobotController rc, MapLocation me, int leadFloor) throws GameActionException {")
+    w("        lead = 0;")
+    w("        gold = 0;")
+    w("        int x = me.x;")
+    w("        int y = me.y;")
+    w("        MapLocation t;")
+    w("        int n;")
+    for i, (dx, dy) in enumerate(tiles):
+        guards = []
+        if dx < 0:
+            guards.append("x >= %d" % -dx)
+        if dx > 0:
+            guards.append("x < width - %d" % dx)
+        if dy < 0:
+            guards.append("y >= %d" % -dy)
+        if dy > 0:
+            guards.append("y < height - %d" % dy)
+        indent = "        "
+        w("")
+        if i > 0:
+            w(indent + "if (!rc.isActionReady()) return;")
+        if guards:
+            w(indent + "if (" + " && ".join(guards) + ") {")
+            indent += "    "
+        w(indent + ("t = me;" if (dx, dy) == (0, 0) else "t = new MapLocation(%s, %s);" % (offset("x", dx), offset("y", dy))))
+        w(indent + "while (rc.canMineGold(t)) {")
+        w(indent + "    rc.mineGold(t);")
+        w(indent + "    gold++;")
+        w(indent + "}")
+        w(indent + "for (n = rc.senseLead(t) - leadFloor; n > 0 && rc.canMineLead(t); n--) {")
+        w(indent + "    rc.mineLead(t);")
+        w(indent + "    lead++;")
+        w(indent + "}")
+        if guards:
+            w("        }")
+    w("    }")
+    w("}")
+    return "Mining", "\n".join(out) + "\n"
+
+
+def generate_reach():
+    radii = sorted(set(pair[0] for pair in ROBOT_TYPES.values() if pair[0] > 0))
+    side = 2 * REACH_OFFSET + 1
+    out = []
+    w = out.append
+    w("// Generated by scripts/gen_tables.py. Do not edit by hand; rerun the script instead.")
+    w("package " + PACKAGE + ";")
+    w("")
+    w("/**")
+    w(" * Which move options put a robot within an action radius.")
+    w(" *")
+    w(" * For a robot at offset (dx, dy) from us, |dx|, |dy| <= OFFSET, bit k of")
+    w(" * Within_r.MASK[index(dx, dy)] is set if it is within radius^2 r of the tile move option k takes")
+    w(" * us to. Options are the eight directions in Direction.allDirections() order, then staying put")
+    w(" * (bit 8). Distance is symmetric, so the same mask says whether the robot could hit that tile.")
+    w(" */")
+    w("public strictfp class Reach {")
+    w("")
+    w("    public static final int OFFSET = %d;" % REACH_OFFSET)
+    w("    public static final int OPTIONS = %d;" % len(OPTIONS))
+    w("    public static final int STAY = %d;" % (len(OPTIONS) - 1))
+    for r2 in radii:
+        masks = []
+        for dx in range(-REACH_OFFSET, REACH_OFFSET + 1):
+            for dy in range(-REACH_OFFSET, REACH_OFFSET + 1):
+                m = 0
+                for k, (ox, oy) in enumerate(OPTIONS):
+                    if (dx - ox) ** 2 + (dy - oy) ** 2 <= r2:
+                        m |= 1 << k
+                masks.append(m)
+        w("")
+        w("    public static final class Within%d {" % r2)
+        w("        public static final int[] MASK = %s;" % int_array(masks))
+        w("    }")
+    w("")
+    w("    /**")
+    w("     * @return the index of offset (dx, dy) into a MASK table, or -1 if it is out of the tables.")
+    w("     */")
+    w("    public static int index(int dx, int dy) {")
+    w("        if (dx < -OFFSET || dx > OFFSET || dy < -OFFSET || dy > OFFSET) {")
+    w("            return -1;")
+    w("        }")
+    w("        return (dx + OFFSET) * %d + dy + OFFSET;" % side)
+    w("    }")
+    w("")
+    w("    /**")
+    w("     * @return the MASK table for this action radius^2, or null if no robot type has that radius.")
+    w("     */")
+    w("    public static int[] within(int radiusSquared) {")
+    w("        switch (radiusSquared) {")
+    for r2 in radii:
+        w("            case %d: return Within%d.MASK;" % (r2, r2))
+    w("            default: return null;")
+    w("        }")
+    w("    }")
+    w("}")
+    return "Reach", "\n".join(out) + "\n"
+
+
+def main():
+    os.makedirs(OUT_DIR, exist_ok=True)
+    for cls, src in (generate_offsets(), generate_mining(), generate_reach()):
+        path = os.path.join(OUT_DIR, cls + ".java")
+        with open(path, "w") as f:
+            f.write(src)
+        print("wrote " + os.path.normpath(path))
+
+
+if __name__ == "__main__":
+    main()
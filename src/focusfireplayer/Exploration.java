@@ -0,0 +1,89 @@
+package focusfireplayer;
+
+import battlecode.common.*;
+
+/**
+ * Which parts of the map the team has looked at.
+ *
+ * The map is cut into {@link #CHUNKS}x{@link #CHUNKS} chunks with one visited bit each, kept in the
+ * shared array from {@link #FIRST_SLOT}: chunk c is bit c of the two slots read as one int. A chunk
+ * counts as visited once a robot has stood within {@link #VISIT_RADIUS_SQUARED} of its centre. When
+ * every chunk is visited the bits are cleared and exploring starts over.
+ *
+ * Robots that would otherwise move at random call {@link #direction(RobotController)} to head for the
+ * nearest chunk nobody has visited.
+ */
+public strictfp class Exploration {
+
+    static final int CHUNKS = 5;
+
+    /**
+     * First of the two shared-array slots; RobotPlayer uses 0 to 3 and Relocation 6 and 7.
+     */
+    static final int FIRST_SLOT = 4;
+
+    static final int VISIT_RADIUS_SQUARED = 8;
+
+    private static final int ALL = (1 << (CHUNKS * CHUNKS)) - 1;
+
+    private static int chunkWidth;
+    private static int chunkHeight;
+    private static int mapWidth;
+    private static int mapHeight;
+
+    static void init(RobotController rc) {
+        mapWidth = rc.getMapWidth();
+        mapHeight = rc.getMapHeight();
+        chunkWidth = (mapWidth + CHUNKS - 1) / CHUNKS;
+        chunkHeight = (mapHeight + CHUNKS - 1) / CHUNKS;
+    }
+
+    private static MapLocation center(int chunk) {
+        return new MapLocation(Math.min(mapWidth - 1, (chunk % CHUNKS) * chunkWidth + chunkWidth / 2),
+                Math.min(mapHeight - 1, (chunk / CHUNKS) * chunkHeight + chunkHeight / 2));
+    }
+
+    private static int visited(RobotController rc) throws GameActionException {
+        return rc.readSharedArray(FIRST_SLOT) | (rc.readSharedArray(FIRST_SLOT + 1) << 16);
+    }
+
+    /**
+     * Marks the chunk we stand in visited if we are near its centre. Call once per turn.
+     */
+    static void update(RobotController rc) throws GameActionException {
+        MapLocation me = rc.getLocation();
+        int chunk = (me.y / chunkHeight) * CHUNKS + me.x / chunkWidth;
+        int bits = visited(rc);
+        if ((bits & (1 << chunk)) != 0 || me.distanceSquaredTo(center(chunk)) > VISIT_RADIUS_SQUARED) {
+            return;
+        }
+        bits |= 1 << chunk;
+        if (bits == ALL) {
+            bits = 0;
+        }
+        rc.writeSharedArray(FIRST_SLOT, bits & 0xFFFF);
+        rc.writeSharedArray(FIRST_SLOT + 1, bits >>> 16);
+    }
+
+    /**
+     * @return the direction towards the nearest unvisited chunk, or a random one if there is none.
+     */
+    static Direction direction(RobotController rc) throws GameActionException {
+        MapLocation me = rc.getLocation();
+        int bits = visited(rc);
+        MapLocation best = null;
+        for (int chunk = 0; chunk < CHUNKS * CHUNKS; chunk++) {
+            if ((bits & (1 << chunk)) != 0) {
+                continue;
+            }
+            MapLocation center = center(chunk);
+            if (best == null || me.distanceSquaredTo(center) < me.distanceSquaredTo(best)) {
+                best = center;
+            }
+        }
+        if (best == null || best.equals(me)) {
+            return Rng.direction();
+        }
+        return me.directionTo(best);
+    }
+}
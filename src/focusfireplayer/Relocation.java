@@ -0,0 +1,90 @@
+package focusfireplayer;
+
+import battlecode.common.*;
+
+/**
+ * Moves an archon off heavy rubble.
+ *
+ * An archon's action cooldown is multiplied by (10 + rubble) / 10, so one on heavy rubble builds far
+ * less often. Every {@link #EVALUATE_PERIOD} rounds an archon in turret mode looks for the tile
+ * within {@link #RADIUS_SQUARED} with the least rubble. If it has at least {@link #MIN_RUBBLE_SAVED}
+ * less than ours, the archon transforms to portable, walks there and transforms back.
+ *
+ * Only one archon relocates at a time. The mover's ID is kept in {@link #MOVER_SLOT} and the round it
+ * set off in {@link #MOVER_SLOT} + 1. A claim older than {@link #MAX_ROUNDS} counts as free, in case
+ * the mover died on the way.
+ */
+public strictfp class Relocation {
+
+    /**
+     * First of the two shared-array slots; Exploration uses 4 and 5.
+     */
+    static final int MOVER_SLOT = 6;
+
+    static final int EVALUATE_PERIOD = 20;
+    static final int RADIUS_SQUARED = 8;
+    static final int MIN_RUBBLE_SAVED = 20;
+    static final int MAX_ROUNDS = 200;
+
+    private static MapLocation target;
+    private static int nextEvaluation = 2;
+
+    /**
+     * Starts, continues or finishes a relocation. Call at the top of the archon's turn.
+     *
+     * @return true if we are portable and cannot build this turn.
+     */
+    static boolean step(RobotController rc) throws GameActionException {
+        int round = rc.getRoundNum();
+        if (rc.getMode() == RobotMode.PORTABLE) {
+            travel(rc, round);
+            return rc.getMode() == RobotMode.PORTABLE;
+        }
+        if (round < nextEvaluation || !rc.isTransformReady()) {
+            return false;
+        }
+        nextEvaluation = round + EVALUATE_PERIOD;
+        if (rc.readSharedArray(MOVER_SLOT) != 0 && round - rc.readSharedArray(MOVER_SLOT + 1) <= MAX_ROUNDS) {
+            return false;
+        }
+        MapLocation me = rc.getLocation();
+        MapLocation best = null;
+        int bestRubble = rc.senseRubble(me) - MIN_RUBBLE_SAVED;
+        for (MapLocation loc : rc.getAllLocationsWithinRadiusSquared(me, RADIUS_SQUARED)) {
+            int rubble = rc.senseRubble(loc);
+            if (rubble <= bestRubble && !rc.isLocationOccupied(loc)) {
+                bestRubble = rubble - 1;
+                best = loc;
+            }
+        }
+        if (best == null || !rc.canTransform()) {
+            return false;
+        }
+        rc.transform();
+        rc.writeSharedArray(MOVER_SLOT, rc.getID());
+        rc.writeSharedArray(MOVER_SLOT + 1, round);
+        target = best;
+        return true;
+    }
+
+    private static void travel(RobotController rc, int round) throws GameActionException {
+        MapLocation me = rc.getLocation();
+        boolean mine = rc.readSharedArray(MOVER_SLOT) == rc.getID();
+        if (target != null && !me.equals(target) && mine && round - rc.readSharedArray(MOVER_SLOT + 1) <= MAX_ROUNDS) {
+            Direction dir = me.directionTo(target);
+            if (rc.canMove(dir)) {
+                rc.move(dir);
+            }
+            if (!rc.getLocation().equals(target)) {
+                return;
+            }
+        }
+        if (rc.canTransform()) {
+            rc.transform();
+            target = null;
+            if (mine) {
+                rc.writeSharedArray(MOVER_SLOT, 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package focusfireplayer;
+
+import battlecode.common.*;
+
+/**
+ * Per-robot xorshift random numbers.
+ *
+ * java.util.Random costs dozens of bytecodes a draw (a bounded nextInt goes through an AtomicLong
+ * compare-and-set), and with one fixed seed every robot of a type walks the same pattern. This is a
+ * 32-bit xorshift: three shifts and xors, no calls, no branches. {@link #seed} mixes the robot's ID
+ * and spawn round, so robots spread out while a replay of the same match stays reproducible.
+ */
+public strictfp class Rng {
+
+    private static int state = 0x6597;
+
+    /**
+     * Seeds the generator for this robot. Call once, before the first draw.
+     */
+    static void seed(int id, int round) {
+        // Multiply by odd constants so nearby IDs and rounds land far apart.
+        int s = id * 0x9E3779B9 ^ round * 0x85EBCA6B;
+        state = s == 0 ? 0x6597 : s;
+        next();
+        next();
+    }
+
+    /**
+     * @return 32 random bits.
+     */
+    static int next() {
+        int x = state ^ (state << 13);
+        x ^= x >>> 17;
+        return state = x ^ (x << 5);
+    }
+
+    /**
+     * @return a random int in [0, bound), for bound > 0.
+     */
+    static int nextInt(int bound) {
+        // The high bits are the best mixed; scale them instead of taking a remainder.
+        return (int) (((next() >>> 1) * (long) bound) >>> 31);
+    }
+
+    static boolean nextBoolean() {
+        return next() < 0;
+    }
+
+    /**
+     * @return one of the eight {@link RobotPlayer#directions}, from the top three bits.
+     */
+    static Direction direction() {
+        return RobotPlayer.directions[next() >>> 29];
+    }
+
+    /**
+     * Picks an index with probability proportional to its weight.
+     *
+     * @param weights non-negative weights, of which the first n count
+     * @param total sum of those weights, > 0
+     * @return the index picked
+     */
+    static int weighted(int[] weights, int n, int total) {
+        int r = nextInt(total);
+        for (int i = n; --i >= 0; ) {
+            r -= weights[i];
+            if (r < 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+}
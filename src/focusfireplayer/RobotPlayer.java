@@ -3,7 +3,6 @@ package focusfireplayer;
 import battlecode.common.*;
 
 import java.awt.*;
-import java.util.Random;
 
 /**
  * RobotPlayer is the class that describes your main robot strategy.
@@ -20,14 +19,6 @@ public strictfp class RobotPlayer {
     static int turnCount = 0;
     private static int maxInt = 65535;
 
-    /**
-     * A random number generator.
-     * We will use this RNG to make some random moves. The Random class is provided by the java.util.Random
-     * import at the top of this file. Here, we *seed* the RNG with a constant number (6147); this makes sure
-     * we get the same sequence of numbers every time this code is run. This is very useful for debugging!
-     */
-    static final Random rng = new Random(6597);
-
     /**
      * Array containing all the possible movement directions.
      */
@@ -52,6 +43,10 @@ public strictfp class RobotPlayer {
     @SuppressWarnings("unused")
     public static void run(RobotController rc) throws GameActionException {
 
+        // Random moves come from Rng, seeded per robot so robots do not all walk the same way.
+        Rng.seed(rc.getID(), rc.getRoundNum());
+        Exploration.init(rc);
+
         while (true) {
             // This code runs during the entire lifespan of the robot, which is why it is in an infinite
             // loop. If we ever leave this loop and return from run(), the robot dies! At the end of the
@@ -61,6 +56,8 @@ public strictfp class RobotPlayer {
 
             // Try/catch blocks stop unhandled exceptions, which cause your robot to explode.
             try {
+                Exploration.update(rc);
+
                 // The same run() function is called for every robot on your team, even if they are
                 // different types. Here, we separate the control depending on the RobotType, so we can
                 // use different strategies on different robots. If you wish, you are free to rewrite
@@ -128,9 +125,13 @@ public strictfp class RobotPlayer {
      * This code is wrapped inside the infinite loop in run(), so it is called once per turn.
      */
     static void runArchon(RobotController rc) throws GameActionException {
+        // A portable archon cannot build.
+        if (Relocation.step(rc)) {
+            return;
+        }
         // TODO(*): Refactor to include other RobotType's
         // Pick a direction to build in.
-        Direction dir = directions[rng.nextInt(directions.length)];
+        Direction dir = Rng.direction();
         if (turnCount < 150) {
             // Let's try to build a miner.
             rc.setIndicatorString("Trying to build a miner");
@@ -186,7 +187,8 @@ public strictfp class RobotPlayer {
             }
         }
 
-        Direction dir = RobotPlayer.directions[RobotPlayer.rng.nextInt(RobotPlayer.directions.length)];
+        // Otherwise head for the nearest part of the map nobody has looked at yet.
+        Direction dir = Exploration.direction(rc);
         if (rc.canMove(dir)) {
             rc.move(dir);
         }
@@ -263,8 +265,8 @@ public strictfp class RobotPlayer {
             }
         }
 
-        // Also try to move randomly.
-        Direction dir = directions[rng.nextInt(directions.length)];
+        // Also go and look where nobody has been yet.
+        Direction dir = Exploration.direction(rc);
         if (rc.canMove(dir) && rc.readSharedArray(2) == maxInt) {
             rc.move(dir);
             System.out.println("I moved!");
@@ -305,14 +307,14 @@ public strictfp class RobotPlayer {
      * This code is wrapped inside the infinite loop in run(), so it is called once per turn.
      */
     static void runBuilder(RobotController rc) throws GameActionException {
-        Direction dir = directions[rng.nextInt(directions.length)];
+        Direction dir = Rng.direction();
         // TODO(*): Refactor to include other RobotType's
         if (rc.getTeamGoldAmount(rc.getTeam()) >= 50) {
             if (rc.canBuildRobot(RobotType.SAGE, dir)) {
                 rc.buildRobot(RobotType.SAGE, dir);
             }
         }
-        if (rng.nextBoolean()) {
+        if (Rng.nextBoolean()) {
             rc.setIndicatorString("Trying to build a laboratory");
             if (rc.canBuildRobot(RobotType.LABORATORY, dir)) {
                 rc.buildRobot(RobotType.LABORATORY, dir);
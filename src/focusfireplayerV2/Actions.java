@@ -0,0 +1,145 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+
+/**
+ * Guarded actions: every engine action goes through a canX check first, so a turn never unwinds
+ * through a GameActionException in normal play. Building the exception and printing its trace costs
+ * far more than the check.
+ *
+ * Cooldown readiness is read once at the top of the turn and dropped as soon as an action spends it,
+ * so a role that tries eight build directions or a dozen targets on cooldown pays one boolean test
+ * each instead of an engine call.
+ */
+public strictfp class Actions {
+
+    static RobotController rc;
+
+    // Cooldowns as of the last action this turn. Valid after update().
+    private static boolean movementReady;
+    private static boolean actionReady;
+
+    static void init(RobotController robotController) {
+        rc = robotController;
+    }
+
+    /**
+     * Starts a new turn. Call after {@link WorldSnapshot#update()}.
+     */
+    static void update() {
+        movementReady = rc.isMovementReady();
+        actionReady = rc.isActionReady();
+    }
+
+    public static boolean movementReady() {
+        return movementReady;
+    }
+
+    public static boolean actionReady() {
+        return actionReady;
+    }
+
+    /**
+     * @return true if we moved; {@link WorldSnapshot#me} is already updated.
+     */
+    public static boolean tryMove(Direction dir) throws GameActionException {
+        if (!movementReady || dir == null || !rc.canMove(dir)) {
+            return false;
+        }
+        rc.move(dir);
+        movementReady = rc.isMovementReady();
+        WorldSnapshot.moved();
+        return true;
+    }
+
+    /**
+     * @return true if we attacked loc.
+     */
+    public static boolean tryAttack(MapLocation loc) throws GameActionException {
+        if (!actionReady || !rc.canAttack(loc)) {
+            return false;
+        }
+        rc.attack(loc);
+        actionReady = rc.isActionReady();
+        return true;
+    }
+
+    /**
+     * @return true if we built type towards dir.
+     */
+    public static boolean tryBuild(RobotType type, Direction dir) throws GameActionException {
+        if (!actionReady || !rc.canBuildRobot(type, dir)) {
+            return false;
+        }
+        rc.buildRobot(type, dir);
+        actionReady = rc.isActionReady();
+        return true;
+    }
+
+    /**
+     * Tries every direction, starting at {@link RobotPlayer#directions}[start].
+     *
+     * @return the direction we built towards, or null.
+     */
+    public static Direction tryBuildAround(RobotType type, int start) throws GameActionException {
+        Direction[] directions = RobotPlayer.directions;
+        for (int i = directions.length; --i >= 0 && actionReady; ) {
+            Direction dir = directions[(start + i) % directions.length];
+            if (tryBuild(type, dir)) {
+                return dir;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return true if we repaired the robot at loc.
+     */
+    public static boolean tryRepair(MapLocation loc) throws GameActionException {
+        if (!actionReady || !rc.canRepair(loc)) {
+            return false;
+        }
+        rc.repair(loc);
+        actionReady = rc.isActionReady();
+        return true;
+    }
+
+    /**
+     * @return true if we envisioned anomaly.
+     */
+    public static boolean tryEnvision(AnomalyType anomaly) throws GameActionException {
+        if (!actionReady || !rc.canEnvision(anomaly)) {
+            return false;
+        }
+        rc.envision(anomaly);
+        actionReady = rc.isActionReady();
+        return true;
+    }
+
+    /**
+     * Switches a building between turret and portable mode.
+     *
+     * @return true if we transformed.
+     */
+    public static boolean tryTransform() throws GameActionException {
+        if (!rc.canTransform()) {
+            return false;
+        }
+        rc.transform();
+        movementReady = rc.isMovementReady();
+        actionReady = rc.isActionReady();
+        return true;
+    }
+
+    /**
+     * @return true if we transmuted lead into gold.
+     */
+    public static boolean tryTransmute() throws GameActionException {
+        if (!actionReady || !rc.canTransmute()) {
+            return false;
+        }
+        rc.transmute();
+        actionReady = rc.isActionReady();
+        return true;
+    }
+}
@@ -0,0 +1,193 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+
+/**
+ * Every enemy archon the team knows about, kept in the shared array.
+ *
+ * Each of the {@link #CAPACITY} entries takes three words starting at {@link Comms#ARCHON_REGISTRY}:
+ * the archon's ID, a Comms location word, and a status word
+ * {@code dead(1) | confidence(2) | round(11)}. An all-zero entry is free.
+ *
+ * Any robot that senses an archon updates its entry in place via {@link #update()}, so the cost is
+ * proportional to what is in vision rather than to the registry. Entries whose tile is in vision but
+ * empty are marked dead; entries nobody has confirmed for {@link #STALE_ROUNDS} are dropped.
+ */
+public strictfp class ArchonRegistry {
+
+    static final int CAPACITY = 4;
+    static final int WORDS_PER_ENTRY = 3;
+
+    // Confidence levels, highest wins. Lower levels are overwritten by anything better.
+    static final int PREDICTED = 1;
+    static final int REPORTED = 2;
+    static final int SENSED = 3;
+
+    /**
+     * Rounds without a confirmation before an entry is dropped as stale.
+     */
+    static final int STALE_ROUNDS = 300;
+
+    private static final int DEAD = 1 << 13;
+    private static final int CONFIDENCE_SHIFT = 11;
+    private static final int CONFIDENCE_MASK = 0x3;
+    private static final int ROUND_MASK = 0x7FF;
+
+    static int id(int i) throws GameActionException {
+        return WorldSnapshot.readShared(Comms.ARCHON_REGISTRY + WORDS_PER_ENTRY * i);
+    }
+
+    static int location(int i) throws GameActionException {
+        return WorldSnapshot.readShared(Comms.ARCHON_REGISTRY + WORDS_PER_ENTRY * i + 1);
+    }
+
+    static int status(int i) throws GameActionException {
+        return WorldSnapshot.readShared(Comms.ARCHON_REGISTRY + WORDS_PER_ENTRY * i + 2);
+    }
+
+    static boolean isDead(int status) {
+        return (status & DEAD) != 0;
+    }
+
+    static int confidence(int status) {
+        return (status >> CONFIDENCE_SHIFT) & CONFIDENCE_MASK;
+    }
+
+    static int lastSeen(int status) {
+        return status & ROUND_MASK;
+    }
+
+    private static int packStatus(boolean dead, int confidence, int round) {
+        return (dead ? DEAD : 0) | (confidence << CONFIDENCE_SHIFT) | (round & ROUND_MASK);
+    }
+
+    private static int age(int status) {
+        return (WorldSnapshot.round - lastSeen(status)) & ROUND_MASK;
+    }
+
+    private static void write(int i, int id, int location, int status) throws GameActionException {
+        int base = Comms.ARCHON_REGISTRY + WORDS_PER_ENTRY * i;
+        WorldSnapshot.writeShared(base, id);
+        WorldSnapshot.writeShared(base + 1, location);
+        WorldSnapshot.writeShared(base + 2, status);
+    }
+
+    /**
+     * Folds this turn's vision into the registry: upserts every sensed archon, kills entries whose tile
+     * we can see but is empty, and drops stale ones.
+     */
+    static void update() throws GameActionException {
+        WorldSnapshot.senseRobots();
+        RobotInfo[] enemies = WorldSnapshot.enemies;
+        for (int i = WorldSnapshot.enemyCount; --i >= 0; ) {
+            RobotInfo r = enemies[i];
+            if (r.type == RobotType.ARCHON) {
+                if (Profiler.ENABLED && Profiler.archonFoundRound == 0) Profiler.archonFoundRound = WorldSnapshot.round;
+                record(r.ID, Comms.packLocation(r.location), SENSED);
+            }
+        }
+
+        MapLocation me = WorldSnapshot.me;
+        int vision = WorldSnapshot.type.visionRadiusSquared;
+        for (int i = CAPACITY; --i >= 0; ) {
+            int location = location(i);
+            if (location == 0) {
+                continue;
+            }
+            int status = status(i);
+            if (age(status) > STALE_ROUNDS) {
+                write(i, 0, 0, 0);
+                continue;
+            }
+            if (isDead(status) || lastSeen(status) == (WorldSnapshot.round & ROUND_MASK)) {
+                continue;
+            }
+            int dx = Comms.x(location) - me.x;
+            int dy = Comms.y(location) - me.y;
+            if (dx * dx + dy * dy <= vision) {
+                // We can see the tile and update() found no archon on it.
+                write(i, id(i), location, packStatus(true, confidence(status), WorldSnapshot.round));
+            }
+        }
+    }
+
+    /**
+     * Inserts or refreshes the entry for an archon. id is 0 when unknown, e.g. for a predicted
+     * position; such entries are matched by location and replaced by the first real sighting. An
+     * unknown id matches any entry on its tile, so a guess never duplicates an archon already known
+     * there under its real ID.
+     */
+    static void record(int id, int location, int confidence) throws GameActionException {
+        int round = WorldSnapshot.round;
+        int free = -1;
+        int weakest = -1;
+        int weakestConfidence = confidence;
+        for (int i = CAPACITY; --i >= 0; ) {
+            int entryId = id(i);
+            int entryLocation = location(i);
+            if (entryLocation == 0) {
+                free = i;
+                continue;
+            }
+            if (id == 0 ? Comms.sameLocation(entryLocation, location)
+                    : entryId == id || (entryId == 0 && Comms.sameLocation(entryLocation, location))) {
+                int status = status(i);
+                // A guess never revives a dead entry; a sighting does.
+                if (id == 0 ? isDead(status) || confidence < confidence(status)
+                        : confidence < confidence(status) && !isDead(status)) {
+                    return;
+                }
+                write(i, id, location, packStatus(false, confidence, round));
+                return;
+            }
+            int c = confidence(status(i));
+            if (entryId == 0 && c < weakestConfidence) {
+                weakestConfidence = c;
+                weakest = i;
+            }
+        }
+        if (free < 0) {
+            // Full: only a better-founded entry may evict a guess.
+            free = weakest;
+        }
+        if (free >= 0) {
+            write(free, id, location, packStatus(false, confidence, round));
+        }
+    }
+
+    /**
+     * Marks the archon at location dead, e.g. right before landing the killing blow.
+     */
+    static void markDead(MapLocation loc) throws GameActionException {
+        int location = Comms.packLocation(loc);
+        for (int i = CAPACITY; --i >= 0; ) {
+            if (Comms.sameLocation(location(i), location)) {
+                int status = status(i);
+                write(i, id(i), location(i), packStatus(true, confidence(status), WorldSnapshot.round));
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the packed location of the closest live entry, or 0 if there is none.
+     */
+    static int nearestLive(MapLocation from) throws GameActionException {
+        int best = 0;
+        int bestDist = Integer.MAX_VALUE;
+        for (int i = CAPACITY; --i >= 0; ) {
+            int location = location(i);
+            if (location == 0 || isDead(status(i))) {
+                continue;
+            }
+            int dx = Comms.x(location) - from.x;
+            int dy = Comms.y(location) - from.y;
+            int d = dx * dx + dy * dy;
+            if (d < bestDist) {
+                bestDist = d;
+                best = location;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,217 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+import focusfireplayerV2.tables.Offsets;
+
+/**
+ * Where builders put buildings, and what they build.
+ *
+ * Build sites form a lattice around our nearest archon's starting tile: every offset with both
+ * coordinates even, from {@link #MIN_RING} to {@link #MAX_RING} squared distance out. No two sites
+ * are adjacent, so every building keeps free tiles on all sides and units can walk between them,
+ * and the ring right around the archon stays clear for spawning. Sites on more than
+ * {@link #MAX_RUBBLE} rubble are skipped: rubble slows a turret's attacks just as it does a
+ * soldier's. Sites are tried nearest the archon first.
+ *
+ * The site a builder is working towards is leased in one of the {@link #LEASES} slots at
+ * {@link Comms#BUILD_SITES}, stamped and renewed exactly like a {@link MinerClaims} claim, so other
+ * builders pick different sites and a dead builder's lease lapses on its own. Builders beyond the
+ * first {@link #LEASES} still skip every leased site, but hold none themselves.
+ */
+public strictfp class BuildPlanner {
+
+    static final int MIN_RING = 4;
+    static final int MAX_RING = 20;
+
+    static final int MAX_RUBBLE = 25;
+
+    /**
+     * Sites the team can hold leases on at once.
+     */
+    static final int LEASES = 3;
+
+    /**
+     * Site this builder is working towards, or null.
+     */
+    static MapLocation site;
+
+    private static int mySlot = -1;
+    private static int myWord;
+
+    // Live leases of other builders, valid up to takenCount after readLeases().
+    private static final int[] taken = new int[LEASES];
+    private static int takenCount;
+
+    /**
+     * @return true if (dx, dy) from an archon is a build site.
+     */
+    static boolean isSite(int dx, int dy) {
+        int d = dx * dx + dy * dy;
+        return (dx & 1) == 0 && (dy & 1) == 0 && d >= MIN_RING && d <= MAX_RING;
+    }
+
+    /**
+     * @return the packed starting location of our archon nearest to from, or 0 if none registered.
+     */
+    static int nearestArchon(MapLocation from) throws GameActionException {
+        int best = 0;
+        int bestDist = Integer.MAX_VALUE;
+        for (int i = 4; --i >= 0; ) {
+            int word = WorldSnapshot.readShared(Comms.OUR_ARCHONS + i);
+            if (word == 0) {
+                continue;
+            }
+            int dx = Comms.x(word) - from.x;
+            int dy = Comms.y(word) - from.y;
+            int d = dx * dx + dy * dy;
+            if (d < bestDist) {
+                bestDist = d;
+                best = word;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Collects the live leases of other builders into taken, and frees the slots of lapsed ones before
+     * their epoch wraps round.
+     */
+    private static void readLeases() throws GameActionException {
+        takenCount = 0;
+        int epoch = MinerClaims.epoch(WorldSnapshot.round);
+        for (int i = LEASES; --i >= 0; ) {
+            if (i == mySlot) {
+                continue;
+            }
+            int word = WorldSnapshot.readShared(Comms.BUILD_SITES + i);
+            if (word == 0) {
+                continue;
+            }
+            if (MinerClaims.isLive(word, epoch)) {
+                taken[takenCount++] = word;
+            } else {
+                WorldSnapshot.writeShared(Comms.BUILD_SITES + i, 0);
+            }
+        }
+    }
+
+    /**
+     * @return true if another builder holds a live lease on loc. Valid after readLeases().
+     */
+    private static boolean isTaken(MapLocation loc) {
+        int word = Comms.packLocation(loc);
+        for (int i = takenCount; --i >= 0; ) {
+            if (Comms.sameLocation(taken[i], word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if loc can still take a building, as far as we can tell from here.
+     */
+    private static boolean usable(RobotController rc, MapLocation loc) throws GameActionException {
+        if (loc.x < 0 || loc.y < 0 || loc.x >= WorldSnapshot.mapWidth || loc.y >= WorldSnapshot.mapHeight) {
+            return false;
+        }
+        if (isTaken(loc)) {
+            return false;
+        }
+        if (!rc.canSenseLocation(loc)) {
+            // Unknown until we get there.
+            return true;
+        }
+        return rc.senseRubble(loc) <= MAX_RUBBLE && !rc.canSenseRobotAtLocation(loc);
+    }
+
+    /**
+     * Keeps the current site if it is still usable, else picks the free site nearest our nearest
+     * archon, and leases it.
+     *
+     * @return the site, or null if there is none.
+     */
+    static MapLocation pickSite(RobotController rc) throws GameActionException {
+        readLeases();
+        if (site != null && usable(rc, site)) {
+            lease(site);
+            return site;
+        }
+        site = null;
+        int archon = nearestArchon(WorldSnapshot.me);
+        if (archon == 0) {
+            return null;
+        }
+        int ax = Comms.x(archon);
+        int ay = Comms.y(archon);
+        int[] dx = Offsets.Tiles20.DX;
+        int[] dy = Offsets.Tiles20.DY;
+        for (int i = 0; i < dx.length; i++) {
+            if (!isSite(dx[i], dy[i])) {
+                continue;
+            }
+            MapLocation loc = new MapLocation(ax + dx[i], ay + dy[i]);
+            if (usable(rc, loc)) {
+                site = loc;
+                lease(loc);
+                return loc;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Leases loc for us, moving our lease if we held one elsewhere. Costs one write per epoch while
+     * the site stays the same.
+     */
+    private static void lease(MapLocation loc) throws GameActionException {
+        int epoch = MinerClaims.epoch(WorldSnapshot.round);
+        int word = MinerClaims.stamp(loc, epoch);
+        if (mySlot >= 0) {
+            int current = WorldSnapshot.readShared(Comms.BUILD_SITES + mySlot);
+            if (current == word) {
+                return;
+            }
+            // Still ours unless someone took the slot over after our lease ran out.
+            if (current == myWord) {
+                WorldSnapshot.writeShared(Comms.BUILD_SITES + mySlot, word);
+                myWord = word;
+                return;
+            }
+            mySlot = -1;
+        }
+        for (int i = LEASES; --i >= 0; ) {
+            if (!MinerClaims.isLive(WorldSnapshot.readShared(Comms.BUILD_SITES + i), epoch)) {
+                WorldSnapshot.writeShared(Comms.BUILD_SITES + i, word);
+                mySlot = i;
+                myWord = word;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gives up our site, e.g. once it is built on.
+     */
+    static void release() throws GameActionException {
+        if (mySlot >= 0) {
+            if (WorldSnapshot.readShared(Comms.BUILD_SITES + mySlot) == myWord) {
+                WorldSnapshot.writeShared(Comms.BUILD_SITES + mySlot, 0);
+            }
+            mySlot = -1;
+        }
+        site = null;
+    }
+
+    /**
+     * @return what to put on the next site: a laboratory if the team has none, lead to spare and is
+     * not defending, otherwise a watchtower.
+     */
+    static RobotType chooseType(int lead, int laboratories, int directive) {
+        if (laboratories == 0 && directive != Coordinator.DEFEND
+                && lead >= RobotType.LABORATORY.buildCostLead + RobotType.WATCHTOWER.buildCostLead) {
+            return RobotType.LABORATORY;
+        }
+        return RobotType.WATCHTOWER;
+    }
+}
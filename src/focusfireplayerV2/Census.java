@@ -0,0 +1,167 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+import focusfireplayerV2.tables.Mining;
+
+/**
+ * Team-wide unit counts and income, tallied in the shared array every round.
+ *
+ * Every robot adds itself to the bank for the current round once per turn, and miners add the lead
+ * they mined on their last turn. There are two banks of {@link #WORDS} words at {@link Comms#CENSUS},
+ * used on alternate rounds, so the bank for last round is complete and stays readable for a whole
+ * round while this round's bank fills up. Each bank carries a 2-bit round stamp; the first robot to
+ * report in a round finds the stamp stale and starts the bank afresh, so nothing ever clears it.
+ *
+ * Bank layout:
+ * <ul>
+ *     <li>{@code miners(7) | soldiers(7) | stamp(2)}</li>
+ *     <li>{@code builders(5) | sages(5) | watchtowers(3) | archons(3)}</li>
+ *     <li>{@code lead mined(12) | laboratories(4)}</li>
+ * </ul>
+ * Counts saturate at their field's maximum.
+ */
+public strictfp class Census {
+
+    static final int WORDS = 3;
+
+    private static final int STAMP_MASK = 0x3;
+
+    // Field positions as (shift, mask) pairs within their word.
+    private static final int MINER_SHIFT = 9;
+    private static final int SOLDIER_SHIFT = 2;
+    private static final int WIDE_MASK = 0x7F;
+    private static final int BUILDER_SHIFT = 11;
+    private static final int SAGE_SHIFT = 6;
+    private static final int TOWER_SHIFT = 3;
+    private static final int MEDIUM_MASK = 0x1F;
+    private static final int NARROW_MASK = 0x7;
+    private static final int INCOME_SHIFT = 4;
+    private static final int INCOME_MASK = 0xFFF;
+    private static final int LAB_MASK = 0xF;
+
+    // Last round's totals. Valid after readLast().
+    static int miners;
+    static int soldiers;
+    static int builders;
+    static int sages;
+    static int watchtowers;
+    static int laboratories;
+    static int archons;
+    static int income;
+
+    /**
+     * Archons that reported before us this round; for archons only, valid after report().
+     */
+    static int rank;
+
+    private static int bank(int round) {
+        return Comms.CENSUS + WORDS * (round & 1);
+    }
+
+    static int miners(int word0) {
+        return (word0 >> MINER_SHIFT) & WIDE_MASK;
+    }
+
+    static int soldiers(int word0) {
+        return (word0 >> SOLDIER_SHIFT) & WIDE_MASK;
+    }
+
+    static int builders(int word1) {
+        return (word1 >> BUILDER_SHIFT) & MEDIUM_MASK;
+    }
+
+    static int sages(int word1) {
+        return (word1 >> SAGE_SHIFT) & MEDIUM_MASK;
+    }
+
+    static int watchtowers(int word1) {
+        return (word1 >> TOWER_SHIFT) & NARROW_MASK;
+    }
+
+    static int archons(int word1) {
+        return word1 & NARROW_MASK;
+    }
+
+    static int income(int word2) {
+        return (word2 >> INCOME_SHIFT) & INCOME_MASK;
+    }
+
+    static int laboratories(int word2) {
+        return word2 & LAB_MASK;
+    }
+
+    /**
+     * @return word with the field at shift (of width mask) raised by amount, saturating.
+     */
+    private static int add(int word, int shift, int mask, int amount) {
+        int value = Math.min(mask, ((word >> shift) & mask) + amount);
+        return (word & ~(mask << shift)) | (value << shift);
+    }
+
+    /**
+     * Adds this robot to the current round's bank. Call once per turn.
+     */
+    static void report() throws GameActionException {
+        int round = WorldSnapshot.round;
+        int base = bank(round);
+        int stamp = round & STAMP_MASK;
+        int w0 = WorldSnapshot.readShared(base);
+        // Bank 0 is first used on round 2 and bank 1 on round 1, so an all-zero bank is always stale.
+        boolean fresh = (w0 & STAMP_MASK) != stamp;
+        int w1 = fresh ? 0 : WorldSnapshot.readShared(base + 1);
+        int w2 = fresh ? 0 : WorldSnapshot.readShared(base + 2);
+        if (fresh) {
+            w0 = stamp;
+        }
+
+        int n0 = w0;
+        int n1 = w1;
+        int n2 = w2;
+        switch (WorldSnapshot.type) {
+            case MINER:
+                n0 = add(w0, MINER_SHIFT, WIDE_MASK, 1);
+                n2 = add(w2, INCOME_SHIFT, INCOME_MASK, Mining.lead);
+                break;
+            case SOLDIER:       n0 = add(w0, SOLDIER_SHIFT, WIDE_MASK, 1);      break;
+            case BUILDER:       n1 = add(w1, BUILDER_SHIFT, MEDIUM_MASK, 1);    break;
+            case SAGE:          n1 = add(w1, SAGE_SHIFT, MEDIUM_MASK, 1);       break;
+            case WATCHTOWER:    n1 = add(w1, TOWER_SHIFT, NARROW_MASK, 1);      break;
+            case LABORATORY:    n2 = add(w2, 0, LAB_MASK, 1);                   break;
+            case ARCHON:
+                rank = archons(w1);
+                n1 = add(w1, 0, NARROW_MASK, 1);
+                break;
+        }
+        // A fresh bank overwrites all three words, stale values included. Unchanged words cost
+        // nothing to write.
+        WorldSnapshot.writeShared(base, n0);
+        WorldSnapshot.writeShared(base + 1, n1);
+        WorldSnapshot.writeShared(base + 2, n2);
+    }
+
+    /**
+     * Loads last round's totals into the static fields.
+     *
+     * @return false, with every total 0, if nobody reported last round (e.g. on round 1).
+     */
+    static boolean readLast() throws GameActionException {
+        int round = WorldSnapshot.round - 1;
+        int base = bank(round);
+        int w0 = WorldSnapshot.readShared(base);
+        if (round < 1 || (w0 & STAMP_MASK) != (round & STAMP_MASK)) {
+            miners = soldiers = builders = sages = watchtowers = laboratories = archons = income = 0;
+            return false;
+        }
+        int w1 = WorldSnapshot.readShared(base + 1);
+        int w2 = WorldSnapshot.readShared(base + 2);
+        miners = miners(w0);
+        soldiers = soldiers(w0);
+        builders = builders(w1);
+        sages = sages(w1);
+        watchtowers = watchtowers(w1);
+        archons = archons(w1);
+        income = income(w2);
+        laboratories = laboratories(w2);
+        return true;
+    }
+}
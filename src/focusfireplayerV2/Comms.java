@@ -0,0 +1,230 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+
+/**
+ * Layout and encoding of the shared array.
+ *
+ * Every value is a 16-bit word that is zero when empty, so the array needs no initialisation pass and
+ * a freshly built robot can never wipe what others wrote. A location word is
+ * {@code valid(1) | type(3) | x(6) | y(6)}. Encoding and decoding work on ints only and never
+ * allocate.
+ *
+ * Slots below {@link #RING_START}, and the last slot, are typed, one meaning each. The rest form a
+ * ring of {@link #RING_CAPACITY} enemy sightings, so every robot can report what it sees without
+ * overwriting the only other report: one location word per entry, then a 4-bit round stamp per
+ * entry packed four to a slot at {@link #RING_STAMPS}. A stamp is the round halved mod 16, so it
+ * wraps every 32 rounds; {@link #readSightings} clears entries older than {@link #MAX_SIGHTING_AGE}
+ * before that, and the leading archon reads the ring every round. The ring has a fixed size; typed
+ * blocks added later fit around it.
+ */
+public strictfp class Comms {
+
+    // Typed slots.
+    static final int ARCHON_REGISTRY = 0; // ArchonRegistry.CAPACITY * ArchonRegistry.WORDS_PER_ENTRY slots
+    static final int OUR_ARCHONS = 12; // 4 slots, starting location of each of our archons
+    static final int SYMMETRY = 16;
+    static final int RESOURCE_ZONES = 17; // ResourceMap.ZONE_WORDS slots, eight zones each
+    static final int CLAIMS = 21; // MinerClaims.CAPACITY slots
+    static final int FOCUS_TARGETS = 31; // Targeting.REGIONS slots
+    static final int FOCUS_STAMPS = 35;
+    static final int CENSUS = 36; // 2 * Census.WORDS slots, one bank per round parity
+    static final int BUILD_SITES = 42; // BuildPlanner.LEASES slots
+    static final int ECONOMY = 45; // GoldEconomy word: lead reserve and sage demand
+    static final int EXPLORED = 46; // Exploration.WORDS slots, one bit per chunk
+
+    // Ring of sightings: RING_CAPACITY location words, then their stamps four to a slot.
+    static final int RING_START = 48;
+    static final int RING_CAPACITY = 12;
+    static final int RING_STAMPS = RING_START + RING_CAPACITY;
+
+    static final int COORDINATION = 63; // Coordinator word: leader, directive and relocating archon
+
+    /**
+     * Sightings any one robot may consider per turn, duplicates included. Bounds the bytecode spent on
+     * a crowd in vision and stops one robot from flushing the whole ring: RING_CAPACITY is four times
+     * this, so the last four reporters' sightings all stay standing.
+     */
+    static final int MAX_REPORTS_PER_TURN = 3;
+
+    /**
+     * Oldest sighting, in rounds, anyone may ask for; older ones are cleared before their stamps wrap.
+     */
+    static final int MAX_SIGHTING_AGE = 24;
+
+    static final int STAMP_ROUNDS = 2;
+    static final int STAMP_MASK = 0xF;
+    private static final int EXPIRED_STAMPS = MAX_SIGHTING_AGE / STAMP_ROUNDS;
+
+    private static final int VALID = 1 << 15;
+    private static final int TYPE_SHIFT = 12;
+    private static final int X_SHIFT = 6;
+    private static final int COORD_MASK = 0x3F;
+    private static final int TYPE_MASK = 0x7;
+    private static final int LOCATION_MASK = (COORD_MASK << X_SHIFT) | COORD_MASK;
+
+    private static final RobotType[] TYPES = RobotType.values();
+
+    // Sightings decoded by readSightings() and their ages in stamps; valid up to sightingCount.
+    static final int[] sightingWords = new int[RING_CAPACITY];
+    static final int[] sightingAges = new int[RING_CAPACITY];
+    static int sightingCount;
+
+    // Round and maxAge sightingWords was filled for; reset when we write to the ring.
+    private static int sightingRound = -1;
+    private static int sightingMaxAge;
+
+    private static int reportRound = -1;
+    private static int reportsThisTurn;
+
+    static int packLocation(int x, int y) {
+        return VALID | (x << X_SHIFT) | y;
+    }
+
+    static int packLocation(MapLocation loc) {
+        return VALID | (loc.x << X_SHIFT) | loc.y;
+    }
+
+    static int packRobot(RobotInfo r) {
+        return VALID | (r.type.ordinal() << TYPE_SHIFT) | (r.location.x << X_SHIFT) | r.location.y;
+    }
+
+    static boolean isValid(int word) {
+        return (word & VALID) != 0;
+    }
+
+    static int x(int word) {
+        return (word >> X_SHIFT) & COORD_MASK;
+    }
+
+    static int y(int word) {
+        return word & COORD_MASK;
+    }
+
+    static RobotType type(int word) {
+        return TYPES[(word >> TYPE_SHIFT) & TYPE_MASK];
+    }
+
+    /**
+     * @return true if both words name the same tile, ignoring the type bits.
+     */
+    static boolean sameLocation(int a, int b) {
+        return ((a ^ b) & LOCATION_MASK) == 0;
+    }
+
+    static int stamp(int round) {
+        return (round / STAMP_ROUNDS) & STAMP_MASK;
+    }
+
+    /**
+     * Allocates a MapLocation; keep it out of loops and compare packed words instead.
+     */
+    static MapLocation toLocation(int word) {
+        return new MapLocation((word >> X_SHIFT) & COORD_MASK, word & COORD_MASK);
+    }
+
+    /**
+     * Writes a sighting of r over the oldest or an empty entry of the ring, unless someone already
+     * reported that tile with the current stamp or we have used up our reports for the turn.
+     *
+     * Callers should offer the most important robots first.
+     *
+     * @return true if the sighting was written.
+     */
+    static boolean reportEnemy(RobotInfo r) throws GameActionException {
+        int round = WorldSnapshot.round;
+        if (reportRound != round) {
+            reportRound = round;
+            reportsThisTurn = 0;
+        }
+        if (reportsThisTurn >= MAX_REPORTS_PER_TURN) {
+            return false;
+        }
+        reportsThisTurn++;
+        int word = packRobot(r);
+        int now = stamp(round);
+        int oldest = 0;
+        int oldestAge = -1;
+        for (int w = RING_CAPACITY / 4; --w >= 0; ) {
+            int stamps = WorldSnapshot.readShared(RING_STAMPS + w);
+            for (int j = 4; --j >= 0; ) {
+                int i = 4 * w + j;
+                int current = WorldSnapshot.readShared(RING_START + i);
+                // An empty entry counts as older than any stamp.
+                int age = STAMP_MASK + 1;
+                if (current != 0) {
+                    age = (now - (stamps >> (4 * j))) & STAMP_MASK;
+                    if (age == 0 && sameLocation(current, word)) {
+                        return false;
+                    }
+                }
+                if (age > oldestAge) {
+                    oldestAge = age;
+                    oldest = i;
+                }
+            }
+        }
+        int index = RING_STAMPS + oldest / 4;
+        int shift = 4 * (oldest & 3);
+        sightingRound = -1;
+        WorldSnapshot.writeShared(RING_START + oldest, word);
+        WorldSnapshot.writeShared(index, (WorldSnapshot.readShared(index) & ~(STAMP_MASK << shift)) | (now << shift));
+        return true;
+    }
+
+    /**
+     * Copies every sighting at most maxAge rounds old into sightingWords/sightingAges, and clears the
+     * entries older than MAX_SIGHTING_AGE. A second call in the same round reuses the first one's copy
+     * unless we reported a sighting in between.
+     *
+     * @param maxAge at most MAX_SIGHTING_AGE; ages are counted in whole stamps
+     * @return the number of sightings copied, also left in sightingCount.
+     */
+    static int readSightings(int maxAge) throws GameActionException {
+        int round = WorldSnapshot.round;
+        if (sightingRound == round && sightingMaxAge == maxAge) {
+            return sightingCount;
+        }
+        sightingRound = round;
+        sightingMaxAge = maxAge;
+        int now = stamp(round);
+        int maxStamps = maxAge / STAMP_ROUNDS;
+        int n = 0;
+        for (int w = RING_CAPACITY / 4; --w >= 0; ) {
+            int stamps = WorldSnapshot.readShared(RING_STAMPS + w);
+            for (int j = 4; --j >= 0; ) {
+                int slot = RING_START + 4 * w + j;
+                int word = WorldSnapshot.readShared(slot);
+                if (word == 0) {
+                    continue;
+                }
+                int age = (now - (stamps >> (4 * j))) & STAMP_MASK;
+                if (age > EXPIRED_STAMPS) {
+                    WorldSnapshot.writeShared(slot, 0);
+                } else if (age <= maxStamps) {
+                    sightingWords[n] = word;
+                    sightingAges[n] = age;
+                    n++;
+                }
+            }
+        }
+        sightingCount = n;
+        return n;
+    }
+
+    /**
+     * @return the packed location of the most recent sighting at most maxAge rounds old, or 0.
+     */
+    static int freshestSighting(int maxAge) throws GameActionException {
+        int n = readSightings(maxAge);
+        int best = 0;
+        int bestAge = STAMP_MASK + 1;
+        for (int i = n; --i >= 0; ) {
+            if (sightingAges[i] < bestAge) {
+                bestAge = sightingAges[i];
+                best = sightingWords[i];
+            }
+        }
+        return best;
+    }
+}
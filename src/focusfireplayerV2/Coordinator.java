@@ -0,0 +1,252 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+
+/**
+ * Team-wide strategy, decided by one archon and read by every robot.
+ *
+ * An archon's index is the {@link Comms#OUR_ARCHONS} slot it registered its starting tile in. The
+ * leader owns {@link Comms#COORDINATION},
+ * {@code valid(1) | leader(2) | directive(2) | mover(3) | round(8)}, and rewrites it every turn, so
+ * the round (mod 256) doubles as a heartbeat. The first archon to act on round 1
+ * finds the word empty and becomes leader. If the leader dies, its heartbeat goes stale, and once it
+ * is more than {@link #LEADER_TIMEOUT} rounds old the next archon to act takes over. Build turns
+ * rotate between the live archons in {@link ProductionPlanner#myTurn}.
+ *
+ * mover is one more than the index of the archon that is relocating (see {@link Relocation}), or 0,
+ * so at most one archon is ever away from its post. Any archon may claim it while it is 0 and the
+ * leader's heartbeat is live, so a claim never passes for a heartbeat itself; the leader
+ * keeps it when rewriting the word, and clears it in case the mover died on the way: when the team
+ * loses an archon, or when the same archon has held it for longer than {@link #MAX_MOVE_ROUNDS}.
+ *
+ * Directives:
+ * <ul>
+ *     <li>ECO: build what {@link ProductionPlanner} finds best.</li>
+ *     <li>RUSH, early on small maps: miners are capped and soldiers valued as if under threat.</li>
+ *     <li>DEFEND, when armed enemies were sighted near one of our archons: soldiers are valued higher,
+ *     an archon with enemies in sight builds out of turn, builders put up watchtowers and idle
+ *     soldiers walk home.</li>
+ * </ul>
+ * {@link #decide} only reads its arguments, so it can be driven from tests.
+ */
+public strictfp class Coordinator {
+
+    static final int ECO = 0;
+    static final int RUSH = 1;
+    static final int DEFEND = 2;
+
+    /**
+     * Rounds the leader's heartbeat may lag before another archon takes over. Archons act in a fixed
+     * order, so a live leader's word is at most one round old.
+     */
+    static final int LEADER_TIMEOUT = 2;
+
+    /**
+     * Maps up to this many tiles are rushed for the first RUSH_ROUNDS rounds.
+     */
+    static final int RUSH_MAX_AREA = 25 * 25;
+    static final int RUSH_ROUNDS = 200;
+
+    /**
+     * Armed sightings within DEFEND_RADIUS_SQUARED of any of our archons that call for DEFEND.
+     */
+    static final int DEFEND_SIGHTINGS = 2;
+    static final int DEFEND_RADIUS_SQUARED = 100;
+
+    /**
+     * Sightings added to {@link ProductionPlanner#threat()} under RUSH and DEFEND.
+     */
+    static final int RUSH_THREAT = 3;
+    static final int DEFEND_THREAT = 4;
+
+    /**
+     * Rounds an archon may hold the mover field before the leader takes it back.
+     */
+    static final int MAX_MOVE_ROUNDS = Relocation.MAX_TRIP_TURNS + Relocation.MAX_DELAY + 10;
+
+    private static final int VALID = 1 << 15;
+    private static final int LEADER_SHIFT = 13;
+    private static final int DIRECTIVE_SHIFT = 11;
+    private static final int MOVER_SHIFT = 8;
+    private static final int FIELD_MASK = 0x3;
+    private static final int MOVER_MASK = 0x7;
+    private static final int ROUND_MASK = 0xFF;
+
+    /**
+     * This archon's index, and whether it led this round. Archons only.
+     */
+    static int index;
+    static boolean leader;
+
+    /**
+     * Directive as of the last {@link #update()} or {@link #directive()}.
+     */
+    static int directive;
+
+    // Mover field as the leader last saw it, the round it first saw it, and our archon count last
+    // round. Leader only.
+    private static int moverSeen;
+    private static int moverSince;
+    private static int archonCount;
+
+    static int pack(int leader, int directive, int mover, int round) {
+        return VALID | (leader << LEADER_SHIFT) | (directive << DIRECTIVE_SHIFT) | (mover << MOVER_SHIFT)
+                | (round & ROUND_MASK);
+    }
+
+    static int leader(int word) {
+        return (word >> LEADER_SHIFT) & FIELD_MASK;
+    }
+
+    static int directive(int word) {
+        return (word >> DIRECTIVE_SHIFT) & FIELD_MASK;
+    }
+
+    /**
+     * @return the index of the relocating archon, or -1 if none is.
+     */
+    static int mover(int word) {
+        return ((word >> MOVER_SHIFT) & MOVER_MASK) - 1;
+    }
+
+    /**
+     * @return true if word is a heartbeat no more than LEADER_TIMEOUT rounds old.
+     */
+    static boolean isLive(int word, int round) {
+        return word != 0 && ((round - (word & ROUND_MASK)) & ROUND_MASK) <= LEADER_TIMEOUT;
+    }
+
+    /**
+     * @return word with the mover field set to index, or word itself if another archon holds the
+     * field or there is no live leader to keep the claim
+     */
+    static int claimMove(int word, int index, int round) {
+        if (!isLive(word, round) || mover(word) >= 0) {
+            return word;
+        }
+        return word | ((index + 1) << MOVER_SHIFT);
+    }
+
+    /**
+     * @param nearThreats armed sightings near our archons
+     * @return the directive for the team
+     */
+    static int decide(int round, int mapArea, int nearThreats) {
+        if (nearThreats >= DEFEND_SIGHTINGS) {
+            return DEFEND;
+        }
+        if (round < RUSH_ROUNDS && mapArea <= RUSH_MAX_AREA) {
+            return RUSH;
+        }
+        return ECO;
+    }
+
+    /**
+     * @return recent armed sightings within DEFEND_RADIUS_SQUARED of one of our archons.
+     */
+    static int nearThreats() throws GameActionException {
+        int n = Comms.readSightings(ProductionPlanner.THREAT_AGE);
+        int count = 0;
+        for (int i = n; --i >= 0; ) {
+            int word = Comms.sightingWords[i];
+            if (!Comms.type(word).canAttack()) {
+                continue;
+            }
+            int x = Comms.x(word);
+            int y = Comms.y(word);
+            for (int j = 4; --j >= 0; ) {
+                int home = WorldSnapshot.readShared(Comms.OUR_ARCHONS + j);
+                int dx = Comms.x(home) - x;
+                int dy = Comms.y(home) - y;
+                if (home != 0 && dx * dx + dy * dy <= DEFEND_RADIUS_SQUARED) {
+                    count++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reports armed enemies in sight, then leads if the leader's word is ours, empty or stale, and
+     * otherwise follows it. Archons only; call every turn after registering.
+     */
+    static void update() throws GameActionException {
+        WorldSnapshot.senseRobots();
+        RobotInfo[] enemies = WorldSnapshot.enemies;
+        for (int i = WorldSnapshot.enemyCount; --i >= 0; ) {
+            if (Targeting.threat(enemies[i]) > 0) {
+                Comms.reportEnemy(enemies[i]);
+            }
+        }
+
+        int round = WorldSnapshot.round;
+        int word = WorldSnapshot.readShared(Comms.COORDINATION);
+        if (isLive(word, round) && leader(word) != index) {
+            leader = false;
+            directive = directive(word);
+            return;
+        }
+        leader = true;
+        directive = decide(round, WorldSnapshot.mapWidth * WorldSnapshot.mapHeight, nearThreats());
+        int mover = mover(word) + 1;
+        int archons = WorldSnapshot.rc.getArchonCount();
+        if (mover != moverSeen) {
+            moverSeen = mover;
+            moverSince = round;
+        } else if (mover != 0 && (round - moverSince > MAX_MOVE_ROUNDS || archons < archonCount)) {
+            moverSeen = mover = 0;
+        }
+        archonCount = archons;
+        WorldSnapshot.writeShared(Comms.COORDINATION, pack(index, directive, mover, round));
+    }
+
+    /**
+     * Claims the mover field for this archon, if nobody holds it and the leader is live. Archons only.
+     *
+     * @return true if we hold it now
+     */
+    static boolean claimMove() throws GameActionException {
+        int word = WorldSnapshot.readShared(Comms.COORDINATION);
+        int claimed = claimMove(word, index, WorldSnapshot.round);
+        if (claimed == word) {
+            return mover(word) == index;
+        }
+        WorldSnapshot.writeShared(Comms.COORDINATION, claimed);
+        return true;
+    }
+
+    /**
+     * @return true if this archon holds the mover field.
+     */
+    static boolean holdsMove() throws GameActionException {
+        return mover(WorldSnapshot.readShared(Comms.COORDINATION)) == index;
+    }
+
+    /**
+     * @return true if an archon other than this one holds the mover field.
+     */
+    static boolean otherMoving() throws GameActionException {
+        int mover = mover(WorldSnapshot.readShared(Comms.COORDINATION));
+        return mover >= 0 && mover != index;
+    }
+
+    /**
+     * Gives the mover field back, if we hold it.
+     */
+    static void releaseMove() throws GameActionException {
+        int word = WorldSnapshot.readShared(Comms.COORDINATION);
+        if (mover(word) == index) {
+            WorldSnapshot.writeShared(Comms.COORDINATION, word & ~(MOVER_MASK << MOVER_SHIFT));
+        }
+    }
+
+    /**
+     * @return the leader's directive, or ECO if there is no live leader.
+     */
+    static int directive() throws GameActionException {
+        int word = WorldSnapshot.readShared(Comms.COORDINATION);
+        directive = isLive(word, WorldSnapshot.round) ? directive(word) : ECO;
+        return directive;
+    }
+}
@@ -0,0 +1,125 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+
+/**
+ * Which parts of the map the team has looked at.
+ *
+ * The map is cut into {@link #CHUNKS}x{@link #CHUNKS} chunks, and the team shares one visited bit per
+ * chunk in the {@link #WORDS} slots at {@link Comms#EXPLORED}, chunk c at bit c of the words read as
+ * one little-endian int. A chunk counts as visited once any robot has stood within
+ * {@link #VISIT_RADIUS_SQUARED} of its centre, from where vision covers most of it. Once every
+ * chunk is visited the bits are cleared and a new lap starts, so idle robots never run out of places
+ * to go.
+ *
+ * Robots with nowhere better to be walk to the nearest unvisited chunk instead of wandering at random,
+ * so they spread over the map rather than circling their spawn. {@link #nearest} only reads its
+ * arguments, so it can be driven from tests.
+ */
+public strictfp class Exploration {
+
+    static final int CHUNKS = 5;
+    static final int WORDS = 2;
+
+    static final int VISIT_RADIUS_SQUARED = 8;
+
+    private static final int ALL = (1 << (CHUNKS * CHUNKS)) - 1;
+
+    static int chunkWidth;
+    static int chunkHeight;
+
+    // Centre tile of each chunk, worked out once so the scan in nearest() is a pair of array loads.
+    static final int[] centerX = new int[CHUNKS * CHUNKS];
+    static final int[] centerY = new int[CHUNKS * CHUNKS];
+
+    // Chunk nearestUnvisited() last returned, or -1.
+    private static int target = -1;
+
+    /**
+     * Chunks this robot marked visited, for the profiler.
+     */
+    static int marked;
+
+    static void init(int mapWidth, int mapHeight) {
+        chunkWidth = (mapWidth + CHUNKS - 1) / CHUNKS;
+        chunkHeight = (mapHeight + CHUNKS - 1) / CHUNKS;
+        for (int i = CHUNKS; --i >= 0; ) {
+            int x = Math.min(mapWidth - 1, i * chunkWidth + chunkWidth / 2);
+            int y = Math.min(mapHeight - 1, i * chunkHeight + chunkHeight / 2);
+            for (int j = CHUNKS; --j >= 0; ) {
+                centerX[j * CHUNKS + i] = x;
+                centerY[i * CHUNKS + j] = y;
+            }
+        }
+        target = -1;
+    }
+
+    static int chunk(int x, int y) {
+        return (y / chunkHeight) * CHUNKS + x / chunkWidth;
+    }
+
+    static int visited() throws GameActionException {
+        return WorldSnapshot.readShared(Comms.EXPLORED) | (WorldSnapshot.readShared(Comms.EXPLORED + 1) << 16);
+    }
+
+    private static void write(int bits) throws GameActionException {
+        WorldSnapshot.writeShared(Comms.EXPLORED, bits & 0xFFFF);
+        WorldSnapshot.writeShared(Comms.EXPLORED + 1, bits >>> 16);
+    }
+
+    /**
+     * Marks our chunk visited if we stand near its centre. Call once per turn.
+     */
+    static void update() throws GameActionException {
+        MapLocation me = WorldSnapshot.me;
+        int c = chunk(me.x, me.y);
+        int bits = visited();
+        if ((bits & (1 << c)) != 0) {
+            return;
+        }
+        int dx = centerX[c] - me.x;
+        int dy = centerY[c] - me.y;
+        if (dx * dx + dy * dy > VISIT_RADIUS_SQUARED) {
+            return;
+        }
+        bits |= 1 << c;
+        // The last chunk of a lap starts the next one.
+        write(bits == ALL ? 0 : bits);
+        marked++;
+    }
+
+    /**
+     * @param bits visited bits, as {@link #visited()} returns them
+     * @return the unvisited chunk whose centre is nearest (x, y), or -1 if all are visited
+     */
+    static int nearest(int bits, int x, int y) {
+        int best = -1;
+        int bestDist = Integer.MAX_VALUE;
+        for (int c = CHUNKS * CHUNKS; --c >= 0; ) {
+            if ((bits & (1 << c)) != 0) {
+                continue;
+            }
+            int dx = centerX[c] - x;
+            int dy = centerY[c] - y;
+            int d = dx * dx + dy * dy;
+            if (d < bestDist) {
+                bestDist = d;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return the location word of the nearest unvisited chunk's centre, or 0 if there is none. Keeps
+     * the chunk it last returned until someone visits it, rather than searching every turn.
+     */
+    static int nearestUnvisited(MapLocation from) throws GameActionException {
+        int bits = visited();
+        int c = target;
+        if (c < 0 || (bits & (1 << c)) != 0) {
+            c = target = nearest(bits, from.x, from.y);
+        }
+        return c < 0 ? 0 : Comms.packLocation(centerX[c], centerY[c]);
+    }
+}
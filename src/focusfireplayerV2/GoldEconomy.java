@@ -0,0 +1,134 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+
+/**
+ * When laboratories turn lead into gold.
+ *
+ * Gold only buys sages, so a laboratory transmutes while the team's gold falls short of the sages it
+ * still wants, and never below the lead the archons are saving for. Archons publish both in
+ * {@link Comms#ECONOMY} as {@code reserve / 8 (12) | sage demand (4)}; the word is zero when nobody
+ * is saving and no sage is wanted.
+ *
+ * The transmutation rate (lead per gold) rises as the laboratory's surroundings fill up, so past
+ * {@link #breakEvenRate()} a sage deals less damage per lead than the soldiers the same lead would
+ * buy. Above that rate we only transmute lead that is floating anyway.
+ * {@link #shouldTransmute} only reads its arguments, so it can be driven from tests.
+ */
+public strictfp class GoldEconomy {
+
+    /**
+     * Sages wanted with no enemy in sight, plus one per this many recent sightings (see
+     * {@link ProductionPlanner#threat()}).
+     */
+    static final int BASE_SAGES = 1;
+    static final int THREAT_PER_SAGE = 3;
+
+    /**
+     * Enemies a sage is expected to hit per action, counting its envisioned anomalies.
+     */
+    static final int SAGE_TARGETS = 2;
+
+    private static final int RESERVE_UNIT = 8;
+    private static final int DEMAND_BITS = 4;
+    private static final int DEMAND_MASK = (1 << DEMAND_BITS) - 1;
+    private static final int RESERVE_MASK = 0xFFF;
+
+    /**
+     * Last read or published lead reserve and sage demand.
+     */
+    static int reserve;
+    static int sageDemand;
+
+    /**
+     * @return damage per 100 action cooldown over lead, times 1000, for one unit of type bought at
+     * costLead.
+     */
+    private static int damagePerLead(RobotType type, int targets, int costLead) {
+        return type.getDamage(1) * targets * 100 * 1000 / type.actionCooldown / costLead;
+    }
+
+    /**
+     * @return the highest rate at which a sage still deals at least as much damage per lead as a
+     * soldier.
+     */
+    static int breakEvenRate() {
+        int soldier = damagePerLead(RobotType.SOLDIER, 1, RobotType.SOLDIER.buildCostLead);
+        int sage = damagePerLead(RobotType.SAGE, SAGE_TARGETS, RobotType.SAGE.buildCostGold);
+        return Math.max(1, sage / soldier);
+    }
+
+    /**
+     * @return how many more sages the team wants.
+     */
+    static int sageDemand(int threat, int sages) {
+        return Math.max(0, Math.min(DEMAND_MASK, BASE_SAGES + threat / THREAT_PER_SAGE - sages));
+    }
+
+    /**
+     * @param rate lead per gold at this laboratory
+     * @param lead team lead
+     * @param reserve lead the archons are saving for
+     * @param gold team gold
+     * @param demand sages still wanted
+     * @return true if a laboratory should transmute now
+     */
+    static boolean shouldTransmute(int rate, int lead, int reserve, int gold, int demand) {
+        if (rate <= 0 || gold >= demand * RobotType.SAGE.buildCostGold) {
+            return false;
+        }
+        int spare = lead - rate - reserve;
+        if (spare < 0) {
+            return false;
+        }
+        return rate <= breakEvenRate() || spare >= ProductionPlanner.LEAD_FLOAT;
+    }
+
+    static int pack(int reserve, int demand) {
+        return (Math.min(RESERVE_MASK, (reserve + RESERVE_UNIT - 1) / RESERVE_UNIT) << DEMAND_BITS)
+                | Math.min(DEMAND_MASK, demand);
+    }
+
+    /**
+     * Publishes what the archons are saving for and how many sages they want. Archons only.
+     */
+    static void publish(int reserveLead, int demand) throws GameActionException {
+        reserve = reserveLead;
+        sageDemand = demand;
+        WorldSnapshot.writeShared(Comms.ECONOMY, pack(reserveLead, demand));
+    }
+
+    /**
+     * Loads {@link #reserve} and {@link #sageDemand} from the shared array.
+     */
+    static void read() throws GameActionException {
+        int word = WorldSnapshot.readShared(Comms.ECONOMY);
+        reserve = (word >> DEMAND_BITS) * RESERVE_UNIT;
+        sageDemand = word & DEMAND_MASK;
+    }
+
+    /**
+     * Transmutes once if the economy calls for it. Laboratories only.
+     *
+     * @return true if we transmuted
+     */
+    static boolean transmute(RobotController rc) throws GameActionException {
+        if (!Actions.actionReady()) {
+            return false;
+        }
+        read();
+        int rate = rc.getTransmutationRate();
+        if (!shouldTransmute(rate, rc.getTeamLeadAmount(WorldSnapshot.us), reserve,
+                rc.getTeamGoldAmount(WorldSnapshot.us), sageDemand)) {
+            return false;
+        }
+        if (!Actions.tryTransmute()) {
+            return false;
+        }
+        if (Profiler.ENABLED) {
+            Profiler.leadTransmuted += rate;
+            Profiler.goldTransmuted++;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,224 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+import focusfireplayerV2.tables.Reach;
+
+/**
+ * Soldier fighting micro: where to stand this turn, and whether to shoot before or after moving.
+ *
+ * Each of the nine move options (eight directions and staying put) is scored by how many enemies we
+ * could shoot from there, how much damage enemies could deal to us there, how many armed allies are
+ * close enough to help, and the rubble we would stand on, which slows every later action. The
+ * per-option counts come from the {@link Reach} masks: one table load per robot rather than nine
+ * distance sums. {@link #choose} only reads its arguments, so it can be driven from tests.
+ *
+ * Ordering follows the action cooldown. If we can shoot someone from where we stand, we shoot first
+ * and then step to the safest option, since we cannot shoot again this turn anyway. If we are ready
+ * but nobody is in range, we step to the best firing position and shoot from there. If we are not
+ * ready, we only step, preferring tiles out of the enemy's reach.
+ */
+public strictfp class Micro {
+
+    /**
+     * Enemies and allies scored per call; the rest are ignored to keep the cost bounded.
+     */
+    static final int MAX_ENEMIES = 10;
+    static final int MAX_ALLIES = 8;
+
+    /**
+     * Score for an option with at least one enemy in our action radius, when we could shoot from it,
+     * and for each further enemy in range.
+     */
+    static final int SHOT_VALUE = 1000;
+    static final int TARGET_VALUE = 50;
+
+    /**
+     * Score lost per point of {@link Targeting#threat} that can reach an option.
+     */
+    static final int DANGER_WEIGHT = 10;
+
+    /**
+     * Score per armed ally within our action radius of an option, capped at MAX_SUPPORT allies.
+     */
+    static final int SUPPORT_VALUE = 40;
+    static final int MAX_SUPPORT = 3;
+
+    /**
+     * Score lost per point of rubble on an option.
+     */
+    static final int RUBBLE_WEIGHT = 4;
+
+    /**
+     * Score lost per unit of squared distance from an option to the nearest enemy, so a soldier that
+     * is out of danger still closes in.
+     */
+    static final int APPROACH_WEIGHT = 2;
+
+    // Per-option scratch for choose().
+    private static final int[] targets = new int[Reach.OPTIONS];
+    private static final int[] danger = new int[Reach.OPTIONS];
+    private static final int[] support = new int[Reach.OPTIONS];
+    private static final int[] rubble = new int[Reach.OPTIONS];
+
+    private static final Direction[] OPTIONS = Direction.allDirections();
+
+    /**
+     * Picks a move option for a robot at me with the given action radius.
+     *
+     * @param rubble rubble on each option's tile, or -1 where we cannot move
+     * @param canShoot whether we will be able to shoot after moving this turn
+     * @return the index of the best option in {@link Direction#allDirections()} order
+     */
+    static int choose(RobotInfo[] enemies, int enemyCount, RobotInfo[] allies, int allyCount,
+                      MapLocation me, int actionRadius, int[] rubble, boolean canShoot) {
+        int[] ours = Reach.within(actionRadius);
+        for (int k = Reach.OPTIONS; --k >= 0; ) {
+            targets[k] = 0;
+            danger[k] = 0;
+            support[k] = 0;
+        }
+        int nearestDx = 0;
+        int nearestDy = 0;
+        int nearest = Integer.MAX_VALUE;
+        for (int i = Math.min(enemyCount, MAX_ENEMIES); --i >= 0; ) {
+            RobotInfo e = enemies[i];
+            int dx = e.location.x - me.x;
+            int dy = e.location.y - me.y;
+            int index = Reach.index(dx, dy);
+            if (index < 0) {
+                continue;
+            }
+            int d = dx * dx + dy * dy;
+            if (d < nearest) {
+                nearest = d;
+                nearestDx = dx;
+                nearestDy = dy;
+            }
+            int inRange = ours[index];
+            int threat = Targeting.threat(e);
+            int reaches = threat > 0 ? Reach.within(e.type.actionRadiusSquared)[index] : 0;
+            for (int k = Reach.OPTIONS; --k >= 0; ) {
+                if ((inRange & (1 << k)) != 0) {
+                    targets[k]++;
+                }
+                if ((reaches & (1 << k)) != 0) {
+                    danger[k] += threat;
+                }
+            }
+        }
+        if (nearest == Integer.MAX_VALUE) {
+            return Reach.STAY;
+        }
+        for (int j = Math.min(allyCount, MAX_ALLIES); --j >= 0; ) {
+            RobotInfo a = allies[j];
+            if (a.type.getDamage(a.level) <= 0) {
+                continue;
+            }
+            int index = Reach.index(a.location.x - me.x, a.location.y - me.y);
+            if (index < 0) {
+                continue;
+            }
+            int near = ours[index];
+            for (int k = Reach.OPTIONS; --k >= 0; ) {
+                if ((near & (1 << k)) != 0) {
+                    support[k]++;
+                }
+            }
+        }
+
+        int best = Reach.STAY;
+        int bestScore = Integer.MIN_VALUE;
+        for (int k = Reach.OPTIONS; --k >= 0; ) {
+            if (rubble[k] < 0) {
+                continue;
+            }
+            int score = -DANGER_WEIGHT * danger[k] - RUBBLE_WEIGHT * rubble[k]
+                    + SUPPORT_VALUE * Math.min(support[k], MAX_SUPPORT);
+            if (canShoot && targets[k] > 0) {
+                score += SHOT_VALUE + TARGET_VALUE * (targets[k] - 1);
+            }
+            Direction option = OPTIONS[k];
+            int dx = nearestDx - option.dx;
+            int dy = nearestDy - option.dy;
+            score -= APPROACH_WEIGHT * (dx * dx + dy * dy);
+            if (score > bestScore) {
+                bestScore = score;
+                best = k;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Fights this turn if an armed enemy is in vision: shoots and moves in the order the action
+     * cooldown favours.
+     *
+     * @return false, having done nothing, if there is nobody to fight
+     */
+    static boolean fight(RobotController rc) throws GameActionException {
+        WorldSnapshot.senseRobots();
+        RobotInfo[] enemies = WorldSnapshot.enemies;
+        boolean armed = false;
+        for (int i = WorldSnapshot.enemyCount; --i >= 0; ) {
+            if (Targeting.threat(enemies[i]) > 0) {
+                armed = true;
+                break;
+            }
+        }
+        if (!armed) {
+            return false;
+        }
+
+        boolean shot = shoot(rc);
+        if (Actions.movementReady()) {
+            MapLocation me = WorldSnapshot.me;
+            for (int k = Reach.STAY; --k >= 0; ) {
+                rubble[k] = rc.canMove(OPTIONS[k]) ? rc.senseRubble(me.add(OPTIONS[k])) : -1;
+            }
+            rubble[Reach.STAY] = rc.senseRubble(me);
+            int k = choose(enemies, WorldSnapshot.enemyCount, WorldSnapshot.allies, WorldSnapshot.allyCount,
+                    me, WorldSnapshot.type.actionRadiusSquared, rubble, Actions.actionReady());
+            if (k != Reach.STAY) {
+                Actions.tryMove(OPTIONS[k]);
+            }
+        }
+        if (!shot) {
+            shoot(rc);
+        }
+        return true;
+    }
+
+    /**
+     * Shoots the best target in range of where we stand, if any. Sages pick between shooting and
+     * envisioning in {@link Sage#cast}.
+     *
+     * @return true if we shot
+     */
+    static boolean shoot(RobotController rc) throws GameActionException {
+        if (!Actions.actionReady()) {
+            return false;
+        }
+        if (WorldSnapshot.type == RobotType.SAGE) {
+            return Sage.cast(rc);
+        }
+        MapLocation me = WorldSnapshot.me;
+        int damage = WorldSnapshot.type.getDamage(rc.getLevel());
+        int focus = Targeting.focus(Targeting.region(me.x, me.y));
+        int best = Targeting.select(WorldSnapshot.enemies, WorldSnapshot.enemyCount,
+                WorldSnapshot.allies, WorldSnapshot.allyCount,
+                me, WorldSnapshot.type.actionRadiusSquared, damage, focus);
+        if (best < 0) {
+            return false;
+        }
+        RobotInfo target = WorldSnapshot.enemies[best];
+        if (!Actions.tryAttack(target.location)) {
+            return false;
+        }
+        if (target.type == RobotType.ARCHON && target.health <= damage) {
+            // This shot killed it, so nobody else should walk over
+            ArchonRegistry.markDead(target.location);
+        }
+        Targeting.publish(target);
+        return true;
+    }
+}
@@ -0,0 +1,148 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+
+/**
+ * Leases on ore deposits, so miners spread out instead of all draining the nearest tile.
+ *
+ * Each of the {@link #CAPACITY} slots at {@link Comms#CLAIMS} holds one claim:
+ * {@code valid(1) | epoch(3) | x(6) | y(6)}, where the epoch is the round divided by
+ * {@link #EPOCH_ROUNDS}. A miner renews its claim whenever the epoch ticks over, so a claim outlives
+ * its miner by at most {@link #LEASE_EPOCHS} epochs and dead miners free their deposits on their
+ * own. The epoch wraps every 8 * EPOCH_ROUNDS rounds, after which an old stamp would read as live
+ * again, so {@link #refresh()} zeroes every slot whose lease has lapsed. A claim covers the claimed
+ * tile and its eight neighbours, which is everything a miner standing next to it can reach.
+ */
+public strictfp class MinerClaims {
+
+    /**
+     * Claims the team can hold at once. Miners beyond the first ten run without a lease: they still
+     * mine, but do not keep the others off their tile.
+     */
+    static final int CAPACITY = 10;
+
+    static final int EPOCH_ROUNDS = 8;
+    static final int LEASE_EPOCHS = 2;
+
+    /**
+     * Lead left on a tile after mining. Lead only regenerates on tiles that still hold some, so never
+     * take the last unit.
+     */
+    static final int LEAD_FLOOR = 1;
+
+    private static final int VALID = 1 << 15;
+    private static final int EPOCH_SHIFT = 12;
+    private static final int EPOCH_MASK = 0x7;
+
+    /**
+     * Bit y of claimedBits[x] is set if (x, y) is covered by another miner's live claim. Valid after
+     * {@link #refresh()}.
+     */
+    static long[] claimedBits;
+
+    // Columns touched by the last refresh(), so it can clear them again cheaply.
+    private static final int[] dirtyColumns = new int[3 * CAPACITY];
+    private static int dirtyCount;
+
+    private static int mySlot = -1;
+    private static int myWord;
+
+    static void init() {
+        claimedBits = new long[WorldSnapshot.mapWidth];
+    }
+
+    private static int epoch() {
+        return epoch(WorldSnapshot.round);
+    }
+
+    static int epoch(int round) {
+        return (round / EPOCH_ROUNDS) & EPOCH_MASK;
+    }
+
+    static int stamp(MapLocation target, int epoch) {
+        return (Comms.packLocation(target) & ~(EPOCH_MASK << EPOCH_SHIFT)) | (epoch << EPOCH_SHIFT);
+    }
+
+    static boolean isLive(int word, int epoch) {
+        return (word & VALID) != 0 && ((epoch - (word >> EPOCH_SHIFT)) & EPOCH_MASK) <= LEASE_EPOCHS;
+    }
+
+    /**
+     * @return word, or 0 if its lease has lapsed by epoch
+     */
+    static int expire(int word, int epoch) {
+        return isLive(word, epoch) ? word : 0;
+    }
+
+    /**
+     * Rebuilds claimedBits from every live claim except our own, and frees the slots of lapsed ones
+     * before their epoch wraps round.
+     */
+    static void refresh() throws GameActionException {
+        for (int i = dirtyCount; --i >= 0; ) {
+            claimedBits[dirtyColumns[i]] = 0;
+        }
+        dirtyCount = 0;
+        int epoch = epoch();
+        int width = claimedBits.length;
+        for (int i = CAPACITY; --i >= 0; ) {
+            if (i == mySlot) {
+                continue;
+            }
+            int word = WorldSnapshot.readShared(Comms.CLAIMS + i);
+            if (word == 0) {
+                continue;
+            }
+            if (!isLive(word, epoch)) {
+                WorldSnapshot.writeShared(Comms.CLAIMS + i, 0);
+                continue;
+            }
+            int x = Comms.x(word);
+            int y = Comms.y(word);
+            long rows = (7L << y) >>> 1;
+            for (int cx = Math.max(0, x - 1); cx <= x + 1 && cx < width; cx++) {
+                claimedBits[cx] |= rows;
+                dirtyColumns[dirtyCount++] = cx;
+            }
+        }
+    }
+
+    /**
+     * Claims target for us, moving our claim if we had one elsewhere. Costs one write per epoch while
+     * the target stays the same.
+     */
+    static void claim(MapLocation target) throws GameActionException {
+        int word = stamp(target, epoch());
+        if (mySlot >= 0) {
+            int current = WorldSnapshot.readShared(Comms.CLAIMS + mySlot);
+            if (current == word) {
+                return;
+            }
+            // Still ours unless someone took the slot over after our lease ran out.
+            if (current == myWord) {
+                WorldSnapshot.writeShared(Comms.CLAIMS + mySlot, word);
+                myWord = word;
+                return;
+            }
+            mySlot = -1;
+        }
+        int epoch = epoch();
+        for (int i = CAPACITY; --i >= 0; ) {
+            if (!isLive(WorldSnapshot.readShared(Comms.CLAIMS + i), epoch)) {
+                WorldSnapshot.writeShared(Comms.CLAIMS + i, word);
+                mySlot = i;
+                myWord = word;
+                return;
+            }
+        }
+    }
+
+    static void release() throws GameActionException {
+        if (mySlot >= 0) {
+            if (WorldSnapshot.readShared(Comms.CLAIMS + mySlot) == myWord) {
+                WorldSnapshot.writeShared(Comms.CLAIMS + mySlot, 0);
+            }
+            mySlot = -1;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+
+/**
+ * Decides what an archon builds, from the team's {@link Census} and what the team knows about ore
+ * and enemies.
+ *
+ * Each candidate unit is given a value in lead over {@link #HORIZON} rounds and is worth building
+ * when that value beats its cost. Miners are worth what the miners we have bring in per head, while
+ * we have fewer than the known ore can keep busy; soldiers are worth more the more enemies were
+ * sighted recently, the later the game gets and the more lead sits unspent; a builder is only worth
+ * it once lead is piling up. The best unit by value per lead wins. If it is not affordable yet the
+ * archon saves for it rather than spending on something worse.
+ *
+ * Sages cost gold rather than lead, so an archon builds one whenever the team has the gold; what the
+ * archons are saving lead for and how many sages they want is published for the laboratories (see
+ * {@link GoldEconomy}).
+ *
+ * {@link #choose} only reads its arguments, so it can be driven from tests. Archons take turns to
+ * build (see {@link #myTurn}) so they do not all spend the same round's lead at once.
+ */
+public strictfp class ProductionPlanner {
+
+    /**
+     * Rounds a new unit is expected to pay back over.
+     */
+    static final int HORIZON = 150;
+
+    /**
+     * Lead per round a new miner is assumed to bring in, averaged over walking and mining, until the
+     * census has enough miners to measure it. Measured yields are clamped to
+     * [MIN_MINER_YIELD, MAX_MINER_YIELD].
+     */
+    static final int MINER_YIELD = 2;
+    static final int MIN_MINER_YIELD = 1;
+    static final int MAX_MINER_YIELD = 4;
+
+    /**
+     * Miners wanted with no ore known, and per level of known ore zone (see {@link ResourceMap}).
+     */
+    static final int BASE_MINERS = 4;
+    static final int MINERS_PER_ORE_LEVEL = 2;
+
+    /**
+     * Never want more than one miner per this many tiles of map.
+     */
+    static final int TILES_PER_MINER = 40;
+
+    /**
+     * Soldiers wanted per recent enemy sighting, and the lead value of each soldier short of that.
+     */
+    static final int SOLDIERS_PER_THREAT = 2;
+    static final int THREAT_VALUE = 150;
+
+    /**
+     * Value of a soldier with no threat in sight grows by one lead every this many rounds, so
+     * eventually surplus lead turns into an army.
+     */
+    static final int ROUNDS_PER_SOLDIER_VALUE = 8;
+
+    /**
+     * Unspent lead beyond which we are floating: a builder becomes worth it, and every extra unit of
+     * lead adds to a soldier's value.
+     */
+    static final int LEAD_FLOAT = 400;
+    static final int MAX_BUILDERS = 2;
+
+    /**
+     * Age in rounds of the enemy sightings that count as a threat.
+     */
+    static final int THREAT_AGE = 20;
+
+    /**
+     * Value of the last {@link #choose} result, in lead, and the unit it picked, even if it could not
+     * be afforded yet.
+     */
+    static int bestValue;
+    static RobotType bestType;
+
+    /**
+     * @return how many miners the known ore can keep busy.
+     */
+    static int minerTarget(int oreLevels, int mapArea) {
+        return Math.min(BASE_MINERS + MINERS_PER_ORE_LEVEL * oreLevels, Math.max(BASE_MINERS, mapArea / TILES_PER_MINER));
+    }
+
+    /**
+     * @return the unit to build now, or null to build nothing this turn (nothing worth it, or saving
+     * up for the best option).
+     */
+    static RobotType choose(int round, int lead, int income, int miners, int soldiers, int builders,
+                            int threat, int oreLevels, int mapArea) {
+        int remaining = Math.min(HORIZON, GameConstants.GAME_MAX_NUMBER_OF_ROUNDS - round);
+
+        int minerValue = 0;
+        if (miners < minerTarget(oreLevels, mapArea)) {
+            int yield = miners < BASE_MINERS ? MINER_YIELD
+                    : Math.max(MIN_MINER_YIELD, Math.min(MAX_MINER_YIELD, income / miners));
+            minerValue = yield * remaining;
+        }
+
+        int soldierValue = round / ROUNDS_PER_SOLDIER_VALUE + Math.max(0, lead - LEAD_FLOAT);
+        int wanted = SOLDIERS_PER_THREAT * threat;
+        if (soldiers < wanted) {
+            soldierValue += THREAT_VALUE * (wanted - soldiers);
+        }
+
+        int builderValue = lead >= LEAD_FLOAT && builders < MAX_BUILDERS ? 2 * RobotType.BUILDER.buildCostLead : 0;
+
+        // Compare value per lead spent, as value * 1000 / cost.
+        RobotType best = null;
+        int bestRatio = 1000;
+        bestValue = 0;
+        int ratio = minerValue * 1000 / RobotType.MINER.buildCostLead;
+        if (ratio > bestRatio) {
+            bestRatio = ratio;
+            best = RobotType.MINER;
+            bestValue = minerValue;
+        }
+        ratio = soldierValue * 1000 / RobotType.SOLDIER.buildCostLead;
+        if (ratio > bestRatio) {
+            bestRatio = ratio;
+            best = RobotType.SOLDIER;
+            bestValue = soldierValue;
+        }
+        ratio = builderValue * 1000 / RobotType.BUILDER.buildCostLead;
+        if (ratio > bestRatio) {
+            best = RobotType.BUILDER;
+            bestValue = builderValue;
+        }
+        bestType = best;
+        if (best == null || best.buildCostLead > lead) {
+            return null;
+        }
+        return best;
+    }
+
+    /**
+     * @return true if it is this archon's turn to build: archons take rounds in turn, unless there is
+     * lead enough for every archon to build one.
+     */
+    static boolean myTurn(int round, int rank, int archons, int lead, int cost) {
+        return archons <= 1 || round % archons == rank || lead >= cost * archons;
+    }
+
+    /**
+     * @return the sum of the levels of every ore zone anyone has reported.
+     */
+    static int oreLevels() throws GameActionException {
+        int total = 0;
+        for (int w = ResourceMap.ZONE_WORDS; --w >= 0; ) {
+            int word = WorldSnapshot.readShared(Comms.RESOURCE_ZONES + w);
+            // Sum the eight 2-bit levels.
+            word = (word & 0x3333) + ((word >> 2) & 0x3333);
+            word = (word & 0x0F0F) + ((word >> 4) & 0x0F0F);
+            total += (word & 0xFF) + (word >> 8);
+        }
+        return total;
+    }
+
+    /**
+     * @return recent enemy sightings, counting those in our own vision twice.
+     */
+    static int threat() throws GameActionException {
+        WorldSnapshot.senseRobots();
+        return Comms.readSightings(THREAT_AGE) + 2 * WorldSnapshot.enemyCount;
+    }
+
+    /**
+     * Plans this archon's build from last round's census and the {@link Coordinator}'s directive.
+     * The leader also publishes the lead reserve and sage demand. Call after
+     * {@link Coordinator#update()}.
+     *
+     * @return the unit to build this turn, or null.
+     */
+    static RobotType plan(RobotController rc) throws GameActionException {
+        Census.readLast();
+        int lead = rc.getTeamLeadAmount(WorldSnapshot.us);
+        int threat = threat();
+        int oreLevels = oreLevels();
+        if (Coordinator.directive == Coordinator.RUSH) {
+            oreLevels = 0;
+            threat += Coordinator.RUSH_THREAT;
+        } else if (Coordinator.directive == Coordinator.DEFEND) {
+            threat += Coordinator.DEFEND_THREAT;
+        }
+        RobotType type = choose(WorldSnapshot.round, lead, Census.income, Census.miners, Census.soldiers, Census.builders,
+                threat, oreLevels, WorldSnapshot.mapWidth * WorldSnapshot.mapHeight);
+        if (Coordinator.leader) {
+            GoldEconomy.publish(bestType == null ? 0 : bestType.buildCostLead,
+                    GoldEconomy.sageDemand(threat, Census.sages));
+        }
+        // Under attack, the archon that can see the enemy does not wait for its turn.
+        boolean urgent = Coordinator.directive == Coordinator.DEFEND && WorldSnapshot.enemyCount > 0;
+        int gold = rc.getTeamGoldAmount(WorldSnapshot.us);
+        if (gold >= RobotType.SAGE.buildCostGold) {
+            return urgent || myTurn(WorldSnapshot.round, Census.rank, rc.getArchonCount(), gold, RobotType.SAGE.buildCostGold)
+                    ? RobotType.SAGE : null;
+        }
+        if (type == null || !(urgent || myTurn(WorldSnapshot.round, Census.rank, rc.getArchonCount(), lead, type.buildCostLead))) {
+            return null;
+        }
+        return type;
+    }
+}
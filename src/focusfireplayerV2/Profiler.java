@@ -0,0 +1,225 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+import focusfireplayerV2.pathing.Pathfinder;
+
+/**
+ * Bytecode accounting for a single robot.
+ *
+ * Every call site is written as {@code if (Profiler.ENABLED) Profiler.begin(...)}. ENABLED is a
+ * compile-time constant, so with it set to false javac drops those blocks entirely and a tournament
+ * build pays zero bytecode for the instrumentation.
+ *
+ * Each phase keeps a count, total, max, the number of samples that ran past the end of the turn, and
+ * a fixed-width histogram, all in preallocated int arrays so sampling never allocates. Statics are
+ * per robot in Battlecode, so the summary printed by {@link #dump()} covers one robot of one type;
+ * aggregate across robots from the match output.
+ */
+public strictfp class Profiler {
+
+    /**
+     * Flip to true to compile the profiler into the player.
+     */
+    static final boolean ENABLED = false;
+
+    // Phases. TURN wraps the runX() dispatch, the rest are sub-phases inside the roles.
+    static final int TURN = 0;
+    static final int SENSE = 1;
+    static final int COMMS = 2;
+    static final int MOVE = 3;
+    static final int ATTACK = 4;
+    static final int MINE = 5;
+    static final int BUILD = 6;
+    static final int PATH = 7;
+    static final int BACKGROUND = 8;
+    static final int PHASE_COUNT = 9;
+
+    static final String[] PHASE_NAMES = {
+            "turn",
+            "sense",
+            "comms",
+            "move",
+            "attack",
+            "mine",
+            "build",
+            "path",
+            "background",
+    };
+
+    /**
+     * Histogram bucket width in bytecodes. 41 buckets cover the archon's 20000 limit with one
+     * overflow bucket on top.
+     */
+    private static final int BUCKET_WIDTH = 500;
+    private static final int BUCKETS = 41;
+
+    /**
+     * Rounds between summaries. Most games end before the last round, and a robot is not told when it
+     * dies, so the summary is also printed periodically.
+     */
+    private static final int DUMP_PERIOD = 500;
+
+    private static RobotController rc;
+    private static int bytecodeLimit;
+    private static int spawnRound;
+
+    // Resources this robot has mined, bumped by the miner at each mineLead/mineGold.
+    static int leadMined;
+    static int goldMined;
+
+    // Gold economy: lead spent on and gold made by this laboratory's transmutations, and the
+    // expected damage this sage's actions dealt.
+    static int leadTransmuted;
+    static int goldTransmuted;
+    static int sageDamage;
+
+    // Round this robot first sensed an enemy archon, and first knew of ore worth mining; 0 if never.
+    static int archonFoundRound;
+    static int oreFoundRound;
+
+    // Units this archon built.
+    static int unitsBuilt;
+
+    // Exceptions that unwound a whole turn, bumped by RobotPlayer.run's catch. Should stay 0.
+    static int exceptions;
+
+    // Shared-array writes that reached the engine, and those WorldSnapshot's buffer made unnecessary
+    // (unchanged values, or slots written again before the flush).
+    static int sharedWrites;
+    static int sharedWritesSaved;
+
+    private static final int[] startBytecode = new int[PHASE_COUNT];
+    private static final int[] startRound = new int[PHASE_COUNT];
+
+    private static final int[] count = new int[PHASE_COUNT];
+    private static final int[] total = new int[PHASE_COUNT];
+    private static final int[] max = new int[PHASE_COUNT];
+    private static final int[] overruns = new int[PHASE_COUNT];
+    private static final int[] histogram = new int[PHASE_COUNT * BUCKETS];
+
+    static void init(RobotController robotController) {
+        rc = robotController;
+        bytecodeLimit = rc.getType().bytecodeLimit;
+        spawnRound = rc.getRoundNum();
+    }
+
+    static void begin(int phase) {
+        startRound[phase] = rc.getRoundNum();
+        startBytecode[phase] = Clock.getBytecodeNum();
+    }
+
+    static void end(int phase) {
+        int now = Clock.getBytecodeNum();
+        int rounds = rc.getRoundNum() - startRound[phase];
+        int used = now - startBytecode[phase];
+        if (rounds > 0) {
+            // The phase ran past the bytecode limit and the engine ended our turn under us.
+            used += rounds * bytecodeLimit;
+            overruns[phase]++;
+        }
+        record(phase, used);
+    }
+
+    /**
+     * Called once per turn right before Clock.yield().
+     */
+    static void endTurn() {
+        int round = rc.getRoundNum();
+        if (round % DUMP_PERIOD == 0 || round >= GameConstants.GAME_MAX_NUMBER_OF_ROUNDS) {
+            dump();
+        }
+    }
+
+    static void record(int phase, int used) {
+        count[phase]++;
+        total[phase] += used;
+        if (used > max[phase]) {
+            max[phase] = used;
+        }
+        int bucket = used / BUCKET_WIDTH;
+        if (bucket >= BUCKETS) {
+            bucket = BUCKETS - 1;
+        }
+        histogram[phase * BUCKETS + bucket]++;
+    }
+
+    /**
+     * Prints one line per phase that has samples: count, mean, p50/p90 (bucket upper bounds), max
+     * and how many samples overran the turn.
+     */
+    static void dump() {
+        String header = "[prof] " + rc.getType() + " #" + rc.getID() + " r" + rc.getRoundNum() + " ";
+        for (int phase = 0; phase < PHASE_COUNT; phase++) {
+            int n = count[phase];
+            if (n == 0) {
+                continue;
+            }
+            System.out.println(header + PHASE_NAMES[phase]
+                    + " n=" + n
+                    + " avg=" + (total[phase] / n)
+                    + " p50=" + percentile(phase, 50)
+                    + " p90=" + percentile(phase, 90)
+                    + " max=" + max[phase]
+                    + " over=" + overruns[phase]);
+        }
+        if (leadMined > 0 || goldMined > 0) {
+            int rounds = Math.max(1, rc.getRoundNum() - spawnRound);
+            System.out.println(header + "income"
+                    + " lead=" + leadMined
+                    + " gold=" + goldMined
+                    + " leadPer100=" + (leadMined * 100 / rounds));
+        }
+        if (goldTransmuted > 0) {
+            System.out.println(header + "transmute"
+                    + " lead=" + leadTransmuted
+                    + " gold=" + goldTransmuted
+                    + " leadPerGold=" + (leadTransmuted / goldTransmuted));
+        }
+        if (sageDamage > 0) {
+            System.out.println(header + "sage damage=" + sageDamage
+                    + " per100=" + (sageDamage * 100 / Math.max(1, rc.getRoundNum() - spawnRound)));
+        }
+        if (Exploration.marked > 0 || archonFoundRound > 0 || oreFoundRound > 0) {
+            System.out.println(header + "explore"
+                    + " chunks=" + Exploration.marked
+                    + " archonFound=" + archonFoundRound
+                    + " oreFound=" + oreFoundRound);
+        }
+        if (unitsBuilt > 0 || Relocation.moves > 0) {
+            System.out.println(header + "production"
+                    + " built=" + unitsBuilt
+                    + " per100=" + (unitsBuilt * 100 / Math.max(1, rc.getRoundNum() - spawnRound))
+                    + " moves=" + Relocation.moves
+                    + " portable=" + Relocation.portableRounds);
+        }
+        if (sharedWrites > 0 || sharedWritesSaved > 0) {
+            int turns = Math.max(1, rc.getRoundNum() - spawnRound);
+            System.out.println(header + "shared"
+                    + " writes=" + sharedWrites
+                    + " saved=" + sharedWritesSaved
+                    + " savedBytecodePerTurn=" + (sharedWritesSaved * WorldSnapshot.SHARED_WRITE_COST / turns));
+        }
+        if (exceptions > 0) {
+            System.out.println(header + "exceptions n=" + exceptions
+                    + " per100=" + (exceptions * 100 / Math.max(1, rc.getRoundNum() - spawnRound)));
+        }
+        if (Pathfinder.arrivals > 0) {
+            System.out.println(header + "arrive"
+                    + " n=" + Pathfinder.arrivals
+                    + " avgTurns=" + (Pathfinder.arrivalTurns / Pathfinder.arrivals));
+        }
+    }
+
+    private static int percentile(int phase, int p) {
+        int target = (count[phase] * p + 99) / 100;
+        int seen = 0;
+        int base = phase * BUCKETS;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += histogram[base + b];
+            if (seen >= target) {
+                return (b + 1) * BUCKET_WIDTH;
+            }
+        }
+        return max[phase];
+    }
+}
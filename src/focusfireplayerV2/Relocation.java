@@ -0,0 +1,313 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+import focusfireplayerV2.pathing.Pathfinder;
+import focusfireplayerV2.tables.Offsets;
+
+/**
+ * Moves an archon off a tile that slows its production: heavy rubble, enemy fire or a long way from
+ * ore.
+ *
+ * An archon's action cooldown is multiplied by (10 + rubble) / 10, so one on 50 rubble builds a sixth
+ * as often as one on bare ground. Every {@link #EVALUATE_PERIOD} rounds a settled archon scores the
+ * tiles within {@link Offsets.Tiles20} of its starting tile, build sites excepted (see
+ * {@link BuildPlanner#isSite}), by {@link #value}: the units it could build there over
+ * {@link #HORIZON} rounds, no more than its share of the team's lead pays for, less the threat of
+ * armed enemies that reach the tile and a little for its distance from the lead in sight. Values are
+ * in tenths of a unit.
+ *
+ * Moving costs two transforms and the walk, during which nothing is built. If the best tile is still
+ * {@link #MIN_GAIN} units better after that ({@link #worthMoving}), the archon claims the mover field
+ * of {@link Comms#COORDINATION} (see {@link Coordinator#claimMove}), transforms to portable, walks
+ * there and transforms back, then gives the field back. Only one archon relocates at a time, so the
+ * team never loses more than one archon's production at once. Trips longer than
+ * {@link #MAX_TRIP_TURNS} are not considered; one that runs {@link #MAX_DELAY} rounds late, or whose
+ * field the leader took back, ends wherever the archon stands.
+ *
+ * {@link #value}, {@link #tripTurns}, {@link #tripCost} and {@link #worthMoving} only read their
+ * arguments, so they can be driven from tests.
+ */
+public strictfp class Relocation {
+
+    static final int EVALUATE_PERIOD = 10;
+
+    /**
+     * Rounds a move must pay back over. A transform on rubble takes as long as a build there, so a
+     * move off heavy rubble only pays back over a good part of the game. No archon sets off with fewer
+     * rounds left.
+     */
+    static final int HORIZON = 300;
+
+    /**
+     * Turns one transform takes on a tile with no rubble.
+     */
+    static final int TRANSFORM_TURNS = 10;
+
+    /**
+     * Units a move must gain over HORIZON, after paying for the trip.
+     */
+    static final int MIN_GAIN = 3;
+
+    /**
+     * Threat (see {@link Targeting#threat}) on a tile that counts as one unit lost, and squared
+     * distance from the lead in sight that does.
+     */
+    static final int THREAT_PER_UNIT = 10;
+    static final int ORE_DISTANCE_PER_UNIT = 40;
+
+    /**
+     * Enemies and lead deposits counted per evaluation; the rest are ignored to keep the cost bounded.
+     */
+    static final int MAX_ENEMIES = 8;
+    static final int MAX_LEAD = 20;
+
+    /**
+     * Longest trip considered, and rounds a trip may run over its estimate before it is given up.
+     */
+    static final int MAX_TRIP_TURNS = 200;
+    static final int MAX_DELAY = 30;
+
+    /**
+     * Tile we are walking to, or null while settled.
+     */
+    static MapLocation target;
+
+    private static int deadline;
+
+    // Round 1 is the archons' busiest turn (see Symmetry#registerArchon), so the first look is on round 2.
+    private static int nextEvaluation = 2;
+
+    // Trip turns to the tile the last choose() returned.
+    private static int bestTurns;
+
+    /**
+     * Relocations started by this archon, and rounds it spent portable, for the profiler.
+     */
+    static int moves;
+    static int portableRounds;
+
+    /**
+     * @param affordable units the archon's share of lead pays for over HORIZON, in tenths
+     * @return tenths of a unit built over HORIZON on a tile with this rubble, less the penalties
+     */
+    static int value(int rubble, int threat, int oreDistance, int affordable) {
+        int builds = HORIZON * 10 * GameConstants.COOLDOWN_LIMIT * 10
+                / (RobotType.ARCHON.actionCooldown * (10 + rubble));
+        return Math.min(builds, affordable) - threat * 10 / THREAT_PER_UNIT
+                - oreDistance * 10 / ORE_DISTANCE_PER_UNIT;
+    }
+
+    /**
+     * @param need tenths of a unit a tile must build over HORIZON
+     * @return the most rubble a tile can have and still build that many, or -1 if none can
+     */
+    static int maxRubble(int need) {
+        if (need <= 0) {
+            return GameConstants.MAX_RUBBLE;
+        }
+        return Math.max(-1, HORIZON * 10 * GameConstants.COOLDOWN_LIMIT * 10
+                / (RobotType.ARCHON.actionCooldown * need) - 10);
+    }
+
+    /**
+     * @param steps moves between the tiles
+     * @return turns from transforming on a tile with rubble from to transforming back on one with
+     * rubble to, walking over tiles as bad as the worse of the two
+     */
+    static int tripTurns(int from, int to, int steps) {
+        int transforms = TRANSFORM_TURNS * (20 + from + to) / 10;
+        int walk = steps * RobotType.ARCHON.movementCooldown * (10 + Math.max(from, to))
+                / (10 * GameConstants.COOLDOWN_LIMIT);
+        return transforms + walk;
+    }
+
+    /**
+     * @param production value of our tile without penalties
+     * @return what we would have built here over tripTurns, in tenths of a unit
+     */
+    static int tripCost(int production, int tripTurns) {
+        return tripTurns * production / HORIZON;
+    }
+
+    /**
+     * @return true if a tile of value there is worth leaving one of value here for, at tripCost
+     */
+    static boolean worthMoving(int here, int there, int tripCost) {
+        return there - tripCost >= here + MIN_GAIN * 10;
+    }
+
+    /**
+     * Evaluates, starts, continues or finishes a relocation. Archons only; call every turn after
+     * {@link Coordinator#update()}.
+     *
+     * @return true if we are portable and cannot build this turn
+     */
+    static boolean step(RobotController rc) throws GameActionException {
+        if (rc.getMode() == RobotMode.PORTABLE) {
+            if (Profiler.ENABLED) portableRounds++;
+            travel(rc);
+            return rc.getMode() == RobotMode.PORTABLE;
+        }
+        int round = WorldSnapshot.round;
+        if (round < nextEvaluation || !rc.isTransformReady()
+                || round + HORIZON > GameConstants.GAME_MAX_NUMBER_OF_ROUNDS) {
+            return false;
+        }
+        nextEvaluation = round + EVALUATE_PERIOD;
+        // Under attack, the archon in sight of the enemy keeps building.
+        if ((Coordinator.directive == Coordinator.DEFEND && WorldSnapshot.enemyCount > 0)
+                || Coordinator.otherMoving()) {
+            return false;
+        }
+        MapLocation best = choose(rc);
+        if (best == null || !Coordinator.claimMove()) {
+            return false;
+        }
+        if (!Actions.tryTransform()) {
+            Coordinator.releaseMove();
+            return false;
+        }
+        target = best;
+        deadline = round + bestTurns + MAX_DELAY;
+        if (Profiler.ENABLED) moves++;
+        return true;
+    }
+
+    /**
+     * @return the tile worth moving to, or null to stay
+     */
+    private static MapLocation choose(RobotController rc) throws GameActionException {
+        int start = WorldSnapshot.readShared(Comms.OUR_ARCHONS + Coordinator.index);
+        if (start == 0) {
+            return null;
+        }
+        int sx = Comms.x(start);
+        int sy = Comms.y(start);
+        MapLocation me = WorldSnapshot.me;
+
+        // Our share of the lead: what is banked, and what the team mined last round plus passive income.
+        int archons = Math.max(1, rc.getArchonCount());
+        int affordable = (rc.getTeamLeadAmount(WorldSnapshot.us)
+                + HORIZON * (Census.income + GameConstants.PASSIVE_LEAD_INCREASE)) * 10
+                / (archons * RobotType.MINER.buildCostLead);
+
+        int oreX = 0;
+        int oreY = 0;
+        MapLocation[] lead = WorldSnapshot.senseLead();
+        int leadCount = Math.min(lead.length, MAX_LEAD);
+        for (int i = leadCount; --i >= 0; ) {
+            oreX += lead[i].x;
+            oreY += lead[i].y;
+        }
+        if (leadCount > 0) {
+            oreX /= leadCount;
+            oreY /= leadCount;
+        }
+
+        int hereRubble = rc.senseRubble(me);
+        int production = value(hereRubble, 0, 0, affordable);
+        int here = value(hereRubble, threatAt(me.x, me.y), oreDistance(me.x, me.y, oreX, oreY, leadCount),
+                affordable);
+        // A tile must build this much even if it were safe, next to the ore and one step away, which
+        // rules out most tiles on their rubble alone.
+        int need = here + MIN_GAIN * 10 + tripCost(production, tripTurns(hereRubble, 0, 1));
+        int maxRubble = maxRubble(need);
+        if (need > affordable || maxRubble < 0) {
+            return null;
+        }
+        int vision = WorldSnapshot.type.visionRadiusSquared;
+        MapLocation best = null;
+        int bestValue = Integer.MIN_VALUE;
+        int[] dx = Offsets.Tiles20.DX;
+        int[] dy = Offsets.Tiles20.DY;
+        int width = WorldSnapshot.mapWidth;
+        int height = WorldSnapshot.mapHeight;
+        for (int i = dx.length; --i >= 0; ) {
+            int x = sx + dx[i];
+            int y = sy + dy[i];
+            int mx = x - me.x;
+            int my = y - me.y;
+            int d = mx * mx + my * my;
+            if (x < 0 || y < 0 || x >= width || y >= height || d == 0 || d > vision) {
+                continue;
+            }
+            MapLocation loc = new MapLocation(x, y);
+            int rubble = rc.senseRubble(loc);
+            if (rubble > maxRubble || BuildPlanner.isSite(dx[i], dy[i])) {
+                continue;
+            }
+            int steps = Math.max(Math.abs(mx), Math.abs(my));
+            int turns = tripTurns(hereRubble, rubble, steps);
+            if (turns > MAX_TRIP_TURNS) {
+                continue;
+            }
+            int cost = tripCost(production, turns);
+            // Threat only lowers a value, so skip the enemy scan for tiles that lose without it.
+            int bound = value(rubble, 0, oreDistance(x, y, oreX, oreY, leadCount), affordable);
+            if (bound - cost <= bestValue || !worthMoving(here, bound, cost)) {
+                continue;
+            }
+            int v = bound - threatAt(x, y) * 10 / THREAT_PER_UNIT;
+            if (v - cost > bestValue && worthMoving(here, v, cost) && !rc.isLocationOccupied(loc)) {
+                bestValue = v - cost;
+                bestTurns = turns;
+                best = loc;
+            }
+        }
+        return best;
+    }
+
+    private static int oreDistance(int x, int y, int oreX, int oreY, int leadCount) {
+        if (leadCount == 0) {
+            return 0;
+        }
+        int dx = oreX - x;
+        int dy = oreY - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * @return summed threat of the armed enemies in sight that reach (x, y)
+     */
+    private static int threatAt(int x, int y) {
+        RobotInfo[] enemies = WorldSnapshot.enemies;
+        int threat = 0;
+        for (int i = Math.min(WorldSnapshot.enemyCount, MAX_ENEMIES); --i >= 0; ) {
+            RobotInfo e = enemies[i];
+            int dx = e.location.x - x;
+            int dy = e.location.y - y;
+            if (dx * dx + dy * dy <= e.type.actionRadiusSquared) {
+                threat += Targeting.threat(e);
+            }
+        }
+        return threat;
+    }
+
+    /**
+     * Walks towards {@link #target}, and transforms back once there, once a building stands on it, or
+     * once the trip has run out of time or lost the mover field. A droid in the way is waited out.
+     */
+    private static void travel(RobotController rc) throws GameActionException {
+        MapLocation me = WorldSnapshot.me;
+        boolean settle = target == null || me.equals(target)
+                || WorldSnapshot.round > deadline || !Coordinator.holdsMove();
+        if (!settle && me.isAdjacentTo(target)) {
+            RobotInfo blocker = rc.senseRobotAtLocation(target);
+            if (blocker != null && !blocker.type.isBuilding()) {
+                // Stepping round it would cost a move on rubble; it will be gone next turn.
+                return;
+            }
+            settle = blocker != null;
+        }
+        if (!settle) {
+            Pathfinder.moveToward(target);
+            if (!WorldSnapshot.me.equals(target)) {
+                return;
+            }
+        }
+        if (Actions.tryTransform()) {
+            target = null;
+            Coordinator.releaseMove();
+        }
+    }
+}
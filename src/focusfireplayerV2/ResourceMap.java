@@ -0,0 +1,378 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+import focusfireplayerV2.tables.Offsets;
+
+/**
+ * Where the lead and gold are.
+ *
+ * Each robot keeps its own tile-level memory as one bitmask column per x (bit y set if the tile held
+ * ore when last seen), so deposits stay known after they drop out of vision. The team shares a
+ * coarse summary: the map is cut into {@link #ZONES}x{@link #ZONES} zones, each with a 2-bit level
+ * in the {@link Comms#RESOURCE_ZONES} slots, eight zones per slot in row-major order.
+ *
+ * {@link #update()} works incrementally: after a step it senses only the tiles that just came into
+ * vision, about one edge of the disc. Every {@link #RESCAN_ROUNDS}, or after a jump, it clears the
+ * columns in vision and refills them from senseNearbyLocationsWithLead/Gold instead, to catch
+ * deposits mined out while in sight. Zone levels are counted from the robot's whole memory of a
+ * zone, not just the part in vision, and published as new deposits turn up. Shared levels only go
+ * up from sensing; a miner that reaches a zone and finds nothing clears it with {@link #clearZone}.
+ */
+public strictfp class ResourceMap {
+
+    /**
+     * Lead below this is not worth walking to; matches the old > 15 check.
+     */
+    static final int MIN_LEAD = 16;
+
+    /**
+     * Tiles with MIN_LEAD in one zone for it to count as rich.
+     */
+    static final int RICH_TILES = 4;
+
+    static final int RESCAN_ROUNDS = 10;
+
+    static final int ZONES = 5;
+
+    /**
+     * Shared slots the zone levels take, at eight 2-bit levels per slot.
+     */
+    static final int ZONE_WORDS = (ZONES * ZONES + 7) / 8;
+
+    /**
+     * Farthest deposit, in tiles, {@link #nearestDeposit} looks for. Anything farther is left to the
+     * shared zones, so the column walk is bounded even when every remembered deposit is claimed.
+     */
+    static final int SEARCH_RADIUS = 12;
+
+    // Zone levels.
+    static final int NONE = 0;
+    static final int LEAD = 1;
+    static final int RICH = 2;
+    static final int GOLD = 3;
+
+    static long[] leadBits;
+    static long[] goldBits;
+    static int zoneWidth;
+    static int zoneHeight;
+
+    // Centre of each column and row of zones, clamped to the map.
+    private static int[] zoneCenterX;
+    private static int[] zoneCenterY;
+
+    /**
+     * Bit x set if column x of leadBits or goldBits has a deposit, so a robot that knows of none pays
+     * nothing to look and the search only visits columns worth looking at. Maps are at most 60 wide.
+     */
+    static long leadColumns;
+    static long goldColumns;
+
+    // visionSpan[dx + visionReach] is the largest |dy| in vision at that dx.
+    private static int visionReach;
+    private static int[] visionSpan;
+    private static int[][] edgeDx;
+    private static int[][] edgeDy;
+
+    // What a full scan found per column, before it is merged in. All zero between scans.
+    private static long[] freshLead;
+    private static long[] freshGold;
+
+    private static MapLocation scannedAt;
+    private static int scannedRound = -RESCAN_ROUNDS;
+
+    static void init() {
+        int width = WorldSnapshot.mapWidth;
+        int height = WorldSnapshot.mapHeight;
+        leadBits = new long[width];
+        goldBits = new long[width];
+        freshLead = new long[width];
+        freshGold = new long[width];
+        leadColumns = 0;
+        goldColumns = 0;
+        zoneWidth = (width + ZONES - 1) / ZONES;
+        zoneHeight = (height + ZONES - 1) / ZONES;
+        zoneCenterX = new int[ZONES];
+        zoneCenterY = new int[ZONES];
+        for (int z = ZONES; --z >= 0; ) {
+            zoneCenterX[z] = Math.min(width - 1, z * zoneWidth + zoneWidth / 2);
+            zoneCenterY[z] = Math.min(height - 1, z * zoneHeight + zoneHeight / 2);
+        }
+
+        visionSpan = Offsets.span(WorldSnapshot.type.visionRadiusSquared);
+        visionReach = visionSpan.length / 2;
+        edgeDx = null;
+        edgeDy = null;
+    }
+
+    static void update() throws GameActionException {
+        MapLocation me = WorldSnapshot.me;
+        int round = WorldSnapshot.round;
+        if (round - scannedRound >= RESCAN_ROUNDS || scannedAt == null || me.distanceSquaredTo(scannedAt) > 2) {
+            scanAll(me);
+            scannedRound = round;
+        } else if (!me.equals(scannedAt)) {
+            scanNew(me, scannedAt);
+        }
+        scannedAt = me;
+    }
+
+    /**
+     * @return a mask of bits lo to hi inclusive, 0 if hi < lo
+     */
+    static long range(int lo, int hi) {
+        if (hi < lo) {
+            return 0;
+        }
+        return ((2L << hi) - 1) & ~((1L << lo) - 1);
+    }
+
+    /**
+     * Replaces the part in vision of every column that held or now holds a deposit with what is
+     * there now, and raises the shared level of the zone of each deposit we did not already know
+     * about.
+     */
+    private static void scanAll(MapLocation me) throws GameActionException {
+        long[] freshLead = ResourceMap.freshLead;
+        long[] freshGold = ResourceMap.freshGold;
+        long columns = 0;
+        MapLocation[] lead = WorldSnapshot.rc.senseNearbyLocationsWithLead(
+                WorldSnapshot.type.visionRadiusSquared, MIN_LEAD);
+        for (int i = lead.length; --i >= 0; ) {
+            MapLocation t = lead[i];
+            freshLead[t.x] |= 1L << t.y;
+            columns |= 1L << t.x;
+        }
+        MapLocation[] gold = WorldSnapshot.senseGold();
+        for (int i = gold.length; --i >= 0; ) {
+            MapLocation t = gold[i];
+            freshGold[t.x] |= 1L << t.y;
+            columns |= 1L << t.x;
+        }
+        columns |= (leadColumns | goldColumns)
+                & range(Math.max(0, me.x - visionReach), Math.min(WorldSnapshot.mapWidth - 1, me.x + visionReach));
+
+        long[] leadBits = ResourceMap.leadBits;
+        long[] goldBits = ResourceMap.goldBits;
+        int height = WorldSnapshot.mapHeight;
+        while (columns != 0) {
+            int x = Long.numberOfTrailingZeros(columns);
+            columns &= columns - 1;
+            int span = visionSpan[x - me.x + visionReach];
+            long keep = ~range(Math.max(0, me.y - span), Math.min(height - 1, me.y + span));
+            long column = leadBits[x];
+            long fresh = freshLead[x];
+            long added = fresh & ~column;
+            if ((leadBits[x] = (column & keep) | fresh) == 0) {
+                leadColumns &= ~(1L << x);
+            } else {
+                leadColumns |= 1L << x;
+            }
+            column = goldBits[x];
+            fresh = freshGold[x];
+            added |= fresh & ~column;
+            if ((goldBits[x] = (column & keep) | fresh) == 0) {
+                goldColumns &= ~(1L << x);
+            } else {
+                goldColumns |= 1L << x;
+            }
+            freshLead[x] = 0;
+            freshGold[x] = 0;
+            // Rarely more than one zone per column, so publish each at most once.
+            int zone = -1;
+            while (added != 0) {
+                int y = Long.numberOfTrailingZeros(added);
+                added &= added - 1;
+                if (y / zoneHeight != zone) {
+                    zone = y / zoneHeight;
+                    publish(x / zoneWidth, zone);
+                }
+            }
+        }
+    }
+
+    /**
+     * Senses the tiles that came into vision with our step from from to me (see
+     * {@link Offsets.Edge20}), and raises the shared level of the zone of each new deposit. Gold is
+     * rare enough to take from the cached list instead; gold mined out in sight waits for the next
+     * full scan.
+     */
+    private static void scanNew(MapLocation me, MapLocation from) throws GameActionException {
+        if (edgeDx == null) {
+            // Loaded on the first step rather than in init(): the tables cost ~800 bytecode to
+            // initialise, and the first turn already pays for every other class.
+            edgeDx = Offsets.edgeDx(WorldSnapshot.type.visionRadiusSquared);
+            edgeDy = Offsets.edgeDy(WorldSnapshot.type.visionRadiusSquared);
+        }
+        int step = (me.x - from.x + 1) * 3 + me.y - from.y + 1;
+        int[] dx = edgeDx[step];
+        int[] dy = edgeDy[step];
+        int width = WorldSnapshot.mapWidth;
+        int height = WorldSnapshot.mapHeight;
+        RobotController rc = WorldSnapshot.rc;
+        for (int i = dx.length; --i >= 0; ) {
+            int x = me.x + dx[i];
+            int y = me.y + dy[i];
+            if (x < 0 || y < 0 || x >= width || y >= height) {
+                continue;
+            }
+            long bit = 1L << y;
+            if (rc.senseLead(new MapLocation(x, y)) >= MIN_LEAD) {
+                if ((leadBits[x] & bit) == 0) {
+                    leadBits[x] |= bit;
+                    leadColumns |= 1L << x;
+                    publish(x / zoneWidth, y / zoneHeight);
+                }
+            } else if ((leadBits[x] & bit) != 0 && (leadBits[x] &= ~bit) == 0) {
+                leadColumns &= ~(1L << x);
+            }
+        }
+        MapLocation[] gold = WorldSnapshot.senseGold();
+        for (int i = gold.length; --i >= 0; ) {
+            MapLocation t = gold[i];
+            long bit = 1L << t.y;
+            if ((goldBits[t.x] & bit) == 0) {
+                goldBits[t.x] |= bit;
+                goldColumns |= 1L << t.x;
+                publish(t.x / zoneWidth, t.y / zoneHeight);
+            }
+        }
+    }
+
+    /**
+     * Raises the shared level of zone (zx, zy) to what we remember of it.
+     */
+    private static void publish(int zx, int zy) throws GameActionException {
+        int z = zy * ZONES + zx;
+        int index = Comms.RESOURCE_ZONES + (z >> 3);
+        int word = WorldSnapshot.readShared(index);
+        int level = knownLevel(zx, zy);
+        int shift = (z & 7) << 1;
+        if (level > ((word >> shift) & 3)) {
+            WorldSnapshot.writeShared(index, (word & ~(3 << shift)) | (level << shift));
+        }
+    }
+
+    /**
+     * @return the level of zone (zx, zy) counted over every tile of it this robot remembers
+     */
+    static int knownLevel(int zx, int zy) {
+        int xMin = zx * zoneWidth;
+        int xMax = Math.min(leadBits.length, xMin + zoneWidth) - 1;
+        long columns = range(xMin, xMax);
+        if ((goldColumns & columns) == 0 && (leadColumns & columns) == 0) {
+            return NONE;
+        }
+        int y = zy * zoneHeight;
+        long mask = range(y, Math.min(WorldSnapshot.mapHeight - 1, y + zoneHeight - 1));
+        int lead = 0;
+        for (int x = xMax; x >= xMin; x--) {
+            if ((goldBits[x] & mask) != 0) {
+                return GOLD;
+            }
+            lead += Long.bitCount(leadBits[x] & mask);
+        }
+        return lead >= RICH_TILES ? RICH : lead > 0 ? LEAD : NONE;
+    }
+
+    /**
+     * @return the closest tile within SEARCH_RADIUS this robot has seen gold on, or failing that lead,
+     * or null. Tiles whose bit is set in exclude (same layout as leadBits) are skipped.
+     */
+    static MapLocation nearestDeposit(MapLocation from, long[] exclude) {
+        MapLocation best = goldColumns != 0 ? nearestIn(goldBits, goldColumns, exclude, from) : null;
+        return best != null || leadColumns == 0 ? best : nearestIn(leadBits, leadColumns, exclude, from);
+    }
+
+    /**
+     * Visits only the columns within SEARCH_RADIUS that hold a deposit, and skips those that cannot
+     * beat the best found so far.
+     */
+    private static MapLocation nearestIn(long[] bits, long columns, long[] exclude, MapLocation from) {
+        int bestX = -1;
+        int bestY = -1;
+        int bestDist = SEARCH_RADIUS * SEARCH_RADIUS + 1;
+        columns &= range(Math.max(0, from.x - SEARCH_RADIUS), Math.min(bits.length - 1, from.x + SEARCH_RADIUS));
+        while (columns != 0) {
+            int x = Long.numberOfTrailingZeros(columns);
+            columns &= columns - 1;
+            int dx = x - from.x;
+            if (dx * dx >= bestDist) {
+                continue;
+            }
+            long column = bits[x] & ~exclude[x];
+            if (column == 0) {
+                continue;
+            }
+            long below = column & ((2L << from.y) - 1);
+            long above = column >>> from.y;
+            if (below != 0) {
+                int y = 63 - Long.numberOfLeadingZeros(below);
+                int d = dx * dx + (from.y - y) * (from.y - y);
+                if (d < bestDist) {
+                    bestDist = d;
+                    bestX = x;
+                    bestY = y;
+                }
+            }
+            if (above != 0) {
+                int y = from.y + Long.numberOfTrailingZeros(above);
+                int d = dx * dx + (y - from.y) * (y - from.y);
+                if (d < bestDist) {
+                    bestDist = d;
+                    bestX = x;
+                    bestY = y;
+                }
+            }
+        }
+        return bestX < 0 ? null : new MapLocation(bestX, bestY);
+    }
+
+    static int zoneLevel(int zx, int zy) throws GameActionException {
+        int z = zy * ZONES + zx;
+        return (WorldSnapshot.readShared(Comms.RESOURCE_ZONES + (z >> 3)) >> ((z & 7) << 1)) & 3;
+    }
+
+    /**
+     * @return the centre of the best zone anyone has reported ore in, trading a level for about one
+     * zone of distance, or null if nothing is known.
+     */
+    static MapLocation bestZone(MapLocation from) throws GameActionException {
+        int bestX = -1;
+        int bestY = -1;
+        int bestScore = Integer.MAX_VALUE;
+        int zoneSize = zoneWidth * zoneWidth + zoneHeight * zoneHeight;
+        for (int w = ZONE_WORDS; --w >= 0; ) {
+            int word = WorldSnapshot.readShared(Comms.RESOURCE_ZONES + w);
+            // Visits only the zones with a level.
+            while (word != 0) {
+                int shift = Integer.numberOfTrailingZeros(word) & ~1;
+                int z = (w << 3) + (shift >> 1);
+                int cx = zoneCenterX[z % ZONES];
+                int cy = zoneCenterY[z / ZONES];
+                int score = (cx - from.x) * (cx - from.x) + (cy - from.y) * (cy - from.y)
+                        - ((word >> shift) & 3) * zoneSize;
+                if (score < bestScore) {
+                    bestScore = score;
+                    bestX = cx;
+                    bestY = cy;
+                }
+                word &= ~(3 << shift);
+            }
+        }
+        return bestX < 0 ? null : new MapLocation(bestX, bestY);
+    }
+
+    static boolean sameZone(MapLocation a, MapLocation b) {
+        return a.x / zoneWidth == b.x / zoneWidth && a.y / zoneHeight == b.y / zoneHeight;
+    }
+
+    /**
+     * Marks the zone holding loc as empty, for a miner that went there and found nothing.
+     */
+    static void clearZone(MapLocation loc) throws GameActionException {
+        int z = loc.y / zoneHeight * ZONES + loc.x / zoneWidth;
+        int index = Comms.RESOURCE_ZONES + (z >> 3);
+        int word = WorldSnapshot.readShared(index);
+        WorldSnapshot.writeShared(index, word & ~(3 << ((z & 7) << 1)));
+    }
+}
@@ -1,16 +1,19 @@
 package focusfireplayerV2;
 
 import battlecode.common.*;
+import focusfireplayerV2.pathing.Pathfinder;
+import focusfireplayerV2.tables.Mining;
 
 import java.util.Map;
-import java.util.Random;
 
 public strictfp class RobotPlayer {
 
     static int turnCount = 0;
-    private static final int maxInt = 65535;
 
-    static final Random rng = new Random(6597);
+    /**
+     * Oldest enemy sighting, in rounds, that an idle soldier will still walk towards.
+     */
+    static final int SIGHTING_MAX_AGE = 20;
 
     /**
      * Array containing all the possible movement directions.
@@ -29,9 +32,26 @@ public strictfp class RobotPlayer {
     @SuppressWarnings("unused")
     public static void run(RobotController rc) throws GameActionException {
 
+        if (Profiler.ENABLED) Profiler.init(rc);
+        WorldSnapshot.init(rc);
+        Rng.seed(rc.getID(), rc.getRoundNum());
+        Actions.init(rc);
+        Pathfinder.init(rc);
+        ResourceMap.init();
+        Exploration.init(WorldSnapshot.mapWidth, WorldSnapshot.mapHeight);
+        MinerClaims.init();
+        Mining.init(rc);
+        Scheduler.add(new Symmetry.Scan());
+
         while (true) {
             turnCount++;
+            if (Profiler.ENABLED) Profiler.begin(Profiler.TURN);
             try {
+                WorldSnapshot.update();
+                Actions.update();
+                Census.report();
+                Exploration.update();
+
                 // Run each robot type
                 switch (rc.getType()) {
                     case ARCHON:        runArchon(rc);      break;
@@ -43,20 +63,27 @@ public strictfp class RobotPlayer {
                     case SAGE:          runSage(rc);        break;
                 }
 
-                /*
-                    0-1 shared Archon array
-                 */
-                if(turnCount == 1) {
-                    for (int k = 0; k < 64; k++) {
-                        rc.writeSharedArray(k, maxInt);
-                    }
-                }
+                if (Profiler.ENABLED) Profiler.begin(Profiler.BACKGROUND);
+                Scheduler.run();
+                if (Profiler.ENABLED) Profiler.end(Profiler.BACKGROUND);
 
             } catch (Exception e) {
+                // Every action is guarded (see Actions), so reaching here is a bug; count it.
+                if (Profiler.ENABLED) Profiler.exceptions++;
                 System.out.println(rc.getType() + " Exception");
                 e.printStackTrace();
 
             } finally {
+                try {
+                    WorldSnapshot.flushShared();
+                } catch (GameActionException e) {
+                    if (Profiler.ENABLED) Profiler.exceptions++;
+                    e.printStackTrace();
+                }
+                if (Profiler.ENABLED) {
+                    Profiler.end(Profiler.TURN);
+                    Profiler.endTurn();
+                }
                 Clock.yield();
             }
         }
@@ -64,124 +91,177 @@ public strictfp class RobotPlayer {
 
     static void runArchon(RobotController rc) throws GameActionException {
 
-        Direction dir = directions[rng.nextInt(directions.length)];
-        if (turnCount < 50 || (turnCount > 500 && turnCount < 550)) {
-            // Let's try to build a miner.
-            rc.setIndicatorString("Trying to build a miner");
-            if (rc.canBuildRobot(RobotType.MINER, dir)) {
-                rc.buildRobot(RobotType.MINER, dir);
-            }
-        } else {
-            // Let's try to build a soldier.
-            rc.setIndicatorString("Trying to build a soldier");
-            if (rc.canBuildRobot(RobotType.SOLDIER, dir)) {
-                rc.buildRobot(RobotType.SOLDIER, dir);
-            }
+        if (Profiler.ENABLED) Profiler.begin(Profiler.COMMS);
+        if (turnCount == 1) {
+            Coordinator.index = Symmetry.registerArchon();
         }
-
+        Coordinator.update();
+        if (WorldSnapshot.round <= Symmetry.EARLY_ROUNDS) {
+            // The archons' wide vision is what finds empty start tiles and early lead.
+            Symmetry.update();
+        }
+        if (Profiler.ENABLED) Profiler.end(Profiler.COMMS);
+
+        if (Profiler.ENABLED) Profiler.begin(Profiler.MOVE);
+        boolean portable = Relocation.step(rc);
+        if (Profiler.ENABLED) Profiler.end(Profiler.MOVE);
+
+        // Plan even while portable: the leader publishes the gold economy from here.
+        if (Profiler.ENABLED) Profiler.begin(Profiler.BUILD);
+        RobotType type = ProductionPlanner.plan(rc);
+        if (portable) {
+            rc.setIndicatorString("Relocating to " + Relocation.target);
+        } else if (type != null) {
+            rc.setIndicatorString("Building a " + type);
+            Direction built = Actions.tryBuildAround(type, Rng.nextInt(directions.length));
+            if (Profiler.ENABLED && built != null) Profiler.unitsBuilt++;
+        }
+        if (Profiler.ENABLED) Profiler.end(Profiler.BUILD);
     }
 
     static void runMiner(RobotController rc) throws GameActionException {
 
         // Try to mine on squares around us.
-        MapLocation me = rc.getLocation();
-        for (int dx = -1; dx <= 1; dx++) {
-            for (int dy = -1; dy <= 1; dy++) {
-                MapLocation mineLocation = new MapLocation(me.x + dx, me.y + dy);
-                // Notice that the Miner's action cooldown is very low.
-                // You can mine multiple times per turn!
-                while (rc.canMineGold(mineLocation)) {
-                    rc.mineGold(mineLocation);
-                }
-                while (rc.canMineLead(mineLocation) && rc.senseLead(mineLocation) > 1) {
-                    rc.mineLead(mineLocation);
-                }
-            }
+        if (Profiler.ENABLED) Profiler.begin(Profiler.MINE);
+        // Notice that the Miner's action cooldown is very low.
+        // You can mine multiple times per turn!
+        Mining.mine(rc, WorldSnapshot.me, MinerClaims.LEAD_FLOOR);
+        if (Profiler.ENABLED) {
+            Profiler.leadMined += Mining.lead;
+            Profiler.goldMined += Mining.gold;
         }
 
-        // Scout for resources and move towards them
-        int visionRadius = rc.getType().visionRadiusSquared;
-        MapLocation[] nearbyLocations = rc.getAllLocationsWithinRadiusSquared(me, visionRadius);
-        MapLocation oreLocation = null;
+        if (Profiler.ENABLED) Profiler.end(Profiler.MINE);
 
-        for (MapLocation loc : nearbyLocations) {
-            if (rc.senseGold(loc) > 0 || rc.senseLead(loc) > 15) {
-                oreLocation = loc;
+        // Scout for resources and move towards them: a deposit we have seen, else a zone someone
+        // else reported
+        if (Profiler.ENABLED) Profiler.begin(Profiler.SENSE);
+        ResourceMap.update();
+        MinerClaims.refresh();
+        MapLocation oreLocation = ResourceMap.nearestDeposit(WorldSnapshot.me, MinerClaims.claimedBits);
+        if (oreLocation != null) {
+            if (Profiler.ENABLED && Profiler.oreFoundRound == 0) Profiler.oreFoundRound = WorldSnapshot.round;
+            MinerClaims.claim(oreLocation);
+        } else {
+            MinerClaims.release();
+            oreLocation = ResourceMap.bestZone(WorldSnapshot.me);
+            if (oreLocation != null && ResourceMap.sameZone(oreLocation, WorldSnapshot.me)) {
+                // We are standing in it and see nothing
+                ResourceMap.clearZone(oreLocation);
+                oreLocation = null;
             }
         }
-
-        if (oreLocation != null) {
-            Direction toMove = me.directionTo(oreLocation);
-            if (rc.canMove(toMove)) {
-                rc.move(toMove);
+        if (Profiler.ENABLED) Profiler.end(Profiler.SENSE);
+
+        if (Profiler.ENABLED) Profiler.begin(Profiler.MOVE);
+        if (oreLocation == null) {
+            // No ore known anywhere: look where nobody has been yet
+            int chunk = Exploration.nearestUnvisited(WorldSnapshot.me);
+            if (chunk != 0) {
+                oreLocation = Comms.toLocation(chunk);
             }
         }
-
-        Direction dir = RobotPlayer.directions[RobotPlayer.rng.nextInt(RobotPlayer.directions.length)];
-        if (rc.canMove(dir)) {
-            rc.move(dir);
+        if (oreLocation != null) {
+            if (Profiler.ENABLED) Profiler.begin(Profiler.PATH);
+            Pathfinder.moveToward(oreLocation);
+            if (Profiler.ENABLED) Profiler.end(Profiler.PATH);
+        } else {
+            Actions.tryMove(Rng.direction());
         }
+        if (Profiler.ENABLED) Profiler.end(Profiler.MOVE);
 
-        int radius = rc.getType().actionRadiusSquared;
-        Team opponent = rc.getTeam().opponent();
-        RobotInfo[] enemies = rc.senseNearbyRobots(radius, opponent);
-
-        if(rc.readSharedArray(2) == maxInt){
-            for(RobotInfo enemy : enemies){
-                if(enemy.getType() == (RobotType.ARCHON)){
-                    rc.setIndicatorDot(enemy.location, 0, 200, 200);
-                    rc.setIndicatorString("!!!Archon found!!!");
-                    rc.writeSharedArray(2, enemy.location.x);
-                    rc.writeSharedArray(3, enemy.location.y);
-                }
-            }
-        }
+        if (Profiler.ENABLED) Profiler.begin(Profiler.COMMS);
+        ArchonRegistry.update();
+        Symmetry.update();
+        if (Profiler.ENABLED) Profiler.end(Profiler.COMMS);
     }
 
     static void runSoldier(RobotController rc) throws GameActionException {
 
-        int radius = rc.getType().actionRadiusSquared;
-        Team opponent = rc.getTeam().opponent();
-        RobotInfo[] enemies = rc.senseNearbyRobots(radius, opponent);
-
-        // If archon is sensed write it to the array
-        for(RobotInfo ri : enemies){
-            if(ri.type == (RobotType.ARCHON)){
-                rc.writeSharedArray(0,ri.location.x);
-                rc.writeSharedArray(1, ri.location.y);
+        if (Profiler.ENABLED) Profiler.begin(Profiler.SENSE);
+        WorldSnapshot.senseRobots();
+        RobotInfo[] enemies = WorldSnapshot.enemies;
+        if (Profiler.ENABLED) Profiler.end(Profiler.SENSE);
+
+        // Record any archon we see in the registry, and report whatever else we see
+        if (Profiler.ENABLED) Profiler.begin(Profiler.COMMS);
+        ArchonRegistry.update();
+        Symmetry.update();
+        for (int i = WorldSnapshot.enemyCount; --i >= 0; ) {
+            if (enemies[i].type != RobotType.ARCHON) {
+                Comms.reportEnemy(enemies[i]);
             }
         }
-
-        // Move to or Attack archon if its found, if not attack nearest enemy
-        if(rc.readSharedArray(0) != maxInt){
-            MapLocation archonLocation = new MapLocation(rc.readSharedArray(0), rc.readSharedArray(1));
-            if(rc.canAttack(archonLocation)){
-                if(rc.senseRobotAtLocation(archonLocation).health <= 3){
-                    // If the archon is about to die remove it from the array
-                    rc.writeSharedArray(0,maxInt);
-                    rc.writeSharedArray(1, maxInt);
+        if (Profiler.ENABLED) Profiler.end(Profiler.COMMS);
+
+        // Fight armed enemies in vision. Otherwise move to or Attack the nearest live archon if one
+        // is known, if not attack nearest enemy
+        if (Profiler.ENABLED) Profiler.begin(Profiler.ATTACK);
+        if (Micro.fight(rc)) {
+            if (Profiler.ENABLED) Profiler.end(Profiler.ATTACK);
+            return;
+        }
+        int archonWord = ArchonRegistry.nearestLive(WorldSnapshot.me);
+        if(archonWord != 0){
+            MapLocation archonLocation = Comms.toLocation(archonWord);
+            if(WorldSnapshot.me.isWithinDistanceSquared(archonLocation, WorldSnapshot.type.actionRadiusSquared)){
+                Pathfinder.arrived(archonLocation);
+                RobotInfo archon = WorldSnapshot.enemyAt(archonLocation);
+                if(archon != null && archon.health <= WorldSnapshot.type.getDamage(rc.getLevel())
+                        && Actions.actionReady()){
+                    // This shot kills it, so nobody else should walk over
+                    ArchonRegistry.markDead(archonLocation);
                 }
-                rc.attack(archonLocation);
+                Actions.tryAttack(archonLocation);
             }else {
-                rc.move(rc.getLocation().directionTo(archonLocation));
+                if (Profiler.ENABLED) Profiler.begin(Profiler.PATH);
+                Pathfinder.moveToward(archonLocation);
+                if (Profiler.ENABLED) Profiler.end(Profiler.PATH);
+            }
+        } else {
+            MapLocation me = WorldSnapshot.me;
+            if (!Micro.shoot(rc)) {
+                // Nothing in range: head for the team's focus target, else the latest enemy someone
+                // else reported, else for where an enemy archon may have started, or failing that
+                // for the nearest part of the map nobody has looked at.
+                int sighting = Targeting.nearestFocus(me);
+                if (sighting == 0 && Coordinator.directive() == Coordinator.DEFEND) {
+                    // An archon is under attack: come home unless already there
+                    int home = BuildPlanner.nearestArchon(me);
+                    if (home != 0 && me.distanceSquaredTo(Comms.toLocation(home)) > Coordinator.DEFEND_RADIUS_SQUARED) {
+                        sighting = home;
+                    }
+                }
+                if (sighting == 0) {
+                    sighting = Comms.freshestSighting(SIGHTING_MAX_AGE);
+                }
+                if (sighting == 0) {
+                    sighting = Symmetry.nearestPrediction(WorldSnapshot.me);
+                }
+                if (sighting == 0) {
+                    sighting = Exploration.nearestUnvisited(me);
+                }
+                if (sighting != 0) {
+                    archonWord = sighting;
+                    if (Profiler.ENABLED) Profiler.begin(Profiler.PATH);
+                    Pathfinder.moveToward(Comms.toLocation(sighting));
+                    if (Profiler.ENABLED) Profiler.end(Profiler.PATH);
+                }
             }
-        } else if (enemies.length > 0){
-            rc.attack(enemies[0].location);
         }
+        if (Profiler.ENABLED) Profiler.end(Profiler.ATTACK);
 
-        // Also try to move randomly.
-        Direction dir = directions[rng.nextInt(directions.length)];
-        if(rc.canMove(dir)){
-            rc.move(dir);
+        // Wander randomly while there is nowhere to path to.
+        if (Profiler.ENABLED) Profiler.begin(Profiler.MOVE);
+        if (archonWord == 0) {
+            Actions.tryMove(Rng.direction());
         }
+        if (Profiler.ENABLED) Profiler.end(Profiler.MOVE);
     }
 
     static void runLaboratory(RobotController rc) throws GameActionException {
-        // TODO(*): Complete this method
-        // Check if laboratory can transmute lead to gold.
-        if (rc.canTransmute()) {
-            rc.transmute();
-        }
+        // Turn lead into gold while the team wants sages and the rate is worth it
+        GoldEconomy.transmute(rc);
     }
 
     /**
@@ -189,42 +269,50 @@ public strictfp class RobotPlayer {
      * This code is wrapped inside the infinite loop in run(), so it is called once per turn.
      */
     static void runWatchtower(RobotController rc) throws GameActionException {
-        // Attacks enemies that too close
-        int radius = rc.getType().actionRadiusSquared;
-        Team opponent = rc.getTeam().opponent();
-        RobotInfo[] enemies = rc.senseNearbyRobots(radius, opponent);
-        if (enemies.length > 0) {
-            MapLocation toAttack = enemies[0].location;
-            if (rc.canAttack(toAttack)) {
-                rc.attack(toAttack);
-            }
-        }
+        // Shoot the best target in range, scored the way soldiers score theirs
+        WorldSnapshot.senseRobots();
+        Micro.shoot(rc);
     }
 
     static void runBuilder(RobotController rc) throws GameActionException {
-        Direction dir = directions[rng.nextInt(directions.length)];
-        // TODO(*): Refactor to include other RobotType's
-        if (rc.getTeamGoldAmount(rc.getTeam()) >= 50) {
-            if (rc.canBuildRobot(RobotType.SAGE, dir)) {
-                rc.buildRobot(RobotType.SAGE, dir);
+        // Repair the most damaged building in reach; this also finishes prototypes.
+        WorldSnapshot.senseRobots();
+        RobotInfo damaged = null;
+        int radius = WorldSnapshot.type.actionRadiusSquared;
+        for (int i = WorldSnapshot.allyCount; --i >= 0; ) {
+            RobotInfo a = WorldSnapshot.allies[i];
+            if (a.type.isBuilding() && a.health < a.type.getMaxHealth(a.level)
+                    && WorldSnapshot.me.isWithinDistanceSquared(a.location, radius)
+                    && (damaged == null || a.health < damaged.health)) {
+                damaged = a;
             }
         }
-        if (rng.nextBoolean()) {
-            rc.setIndicatorString("Trying to build a laboratory");
-            if (rc.canBuildRobot(RobotType.LABORATORY, dir)) {
-                rc.buildRobot(RobotType.LABORATORY, dir);
+        if (damaged != null) {
+            Actions.tryRepair(damaged.location);
+        }
+
+        // Walk to the next lattice site and build on it once adjacent.
+        MapLocation site = BuildPlanner.pickSite(rc);
+        if (site == null) {
+            return;
+        }
+        MapLocation me = WorldSnapshot.me;
+        if (me.isAdjacentTo(site)) {
+            Census.readLast();
+            RobotType type = BuildPlanner.chooseType(rc.getTeamLeadAmount(WorldSnapshot.us), Census.laboratories,
+                    Coordinator.directive());
+            rc.setIndicatorString("Building a " + type + " at " + site);
+            if (Actions.tryBuild(type, me.directionTo(site))) {
+                BuildPlanner.release();
             }
         } else {
-            // Let's try to build a watchtower.
-            rc.setIndicatorString("Trying to build a watchtower");
-            if (rc.canBuildRobot(RobotType.WATCHTOWER, dir)) {
-                rc.buildRobot(RobotType.WATCHTOWER, dir);
-            }
+            Pathfinder.moveToward(site);
         }
     }
 
     static void runSage(RobotController rc) throws GameActionException {
-        // TODO(*): Finish method
+        // Sages move like soldiers; Micro.shoot hands them to Sage.cast to choose their action
+        runSoldier(rc);
     }
 
 }
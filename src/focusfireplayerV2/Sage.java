@@ -0,0 +1,113 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+
+/**
+ * Sage action choice: a plain attack on the best target, or an envisioned anomaly over everything
+ * in the action radius, whichever deals the most expected damage.
+ *
+ * An attack deals the sage's damage to one target. A Charge takes {@link #CHARGE_PERCENT} of max
+ * health from every enemy droid in range and a Fury {@link #FURY_PERCENT} from every enemy building
+ * in turret mode. Damage is capped at each robot's health, so overkill counts for nothing. All three
+ * spend the same action cooldown, so comparing damage per action is comparing damage per turn.
+ * {@link #choose} only reads its arguments, so it can be driven from tests.
+ */
+public strictfp class Sage {
+
+    /**
+     * Share of max health, in percent, a sage's Charge and Fury take.
+     */
+    static final int CHARGE_PERCENT = 22;
+    static final int FURY_PERCENT = 10;
+
+    /**
+     * Enemies counted per call; the rest are ignored to keep the cost bounded.
+     */
+    static final int MAX_ENEMIES = 12;
+
+    /**
+     * Expected damage of the last {@link #choose} result, and the index of the enemy to attack when
+     * it chose an attack.
+     */
+    static int bestDamage;
+    static int target;
+
+    /**
+     * @return damage an ability taking percent of max health deals to r
+     */
+    static int anomalyDamage(RobotInfo r, int percent) {
+        return Math.min(r.health, r.type.getMaxHealth(r.level) * percent / 100);
+    }
+
+    /**
+     * Picks an action for a sage at me.
+     *
+     * @param target index of the enemy an attack would hit (see {@link Targeting#select}), or -1
+     * @return CHARGE or FURY to envision, or null to attack {@link #target} (if it is not -1)
+     */
+    static AnomalyType choose(RobotInfo[] enemies, int enemyCount, MapLocation me, int actionRadius,
+                              int damage, int target) {
+        Sage.target = target;
+        bestDamage = target < 0 ? 0 : Math.min(damage, enemies[target].health);
+        int charge = 0;
+        int fury = 0;
+        for (int i = Math.min(enemyCount, MAX_ENEMIES); --i >= 0; ) {
+            RobotInfo e = enemies[i];
+            if (!me.isWithinDistanceSquared(e.location, actionRadius)) {
+                continue;
+            }
+            if (!e.type.isBuilding()) {
+                charge += anomalyDamage(e, CHARGE_PERCENT);
+            } else if (e.mode == RobotMode.TURRET) {
+                fury += anomalyDamage(e, FURY_PERCENT);
+            }
+        }
+        AnomalyType best = null;
+        if (charge > bestDamage) {
+            bestDamage = charge;
+            best = AnomalyType.CHARGE;
+        }
+        if (fury > bestDamage) {
+            bestDamage = fury;
+            best = AnomalyType.FURY;
+        }
+        return best;
+    }
+
+    /**
+     * Attacks or envisions, whichever deals more damage from where we stand.
+     *
+     * @return true if we acted
+     */
+    static boolean cast(RobotController rc) throws GameActionException {
+        if (!Actions.actionReady()) {
+            return false;
+        }
+        MapLocation me = WorldSnapshot.me;
+        int radius = WorldSnapshot.type.actionRadiusSquared;
+        int damage = WorldSnapshot.type.getDamage(rc.getLevel());
+        int best = Targeting.select(WorldSnapshot.enemies, WorldSnapshot.enemyCount,
+                WorldSnapshot.allies, WorldSnapshot.allyCount,
+                me, radius, damage, Targeting.focus(Targeting.region(me.x, me.y)));
+        AnomalyType anomaly = choose(WorldSnapshot.enemies, WorldSnapshot.enemyCount, me, radius, damage, best);
+        if (anomaly != null) {
+            if (!Actions.tryEnvision(anomaly)) {
+                return false;
+            }
+        } else {
+            if (best < 0) {
+                return false;
+            }
+            RobotInfo enemy = WorldSnapshot.enemies[best];
+            if (!Actions.tryAttack(enemy.location)) {
+                return false;
+            }
+            if (enemy.type == RobotType.ARCHON && enemy.health <= damage) {
+                ArchonRegistry.markDead(enemy.location);
+            }
+            Targeting.publish(enemy);
+        }
+        if (Profiler.ENABLED) Profiler.sageDamage += bestDamage;
+        return true;
+    }
+}
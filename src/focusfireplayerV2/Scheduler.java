@@ -0,0 +1,73 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+
+/**
+ * Spends the bytecode a turn leaves over on background work.
+ *
+ * Roles rarely use their whole budget, and whatever is left at Clock.yield() is lost. Work that can
+ * be done a little at a time (scanning tiles, filling tables) is written as a {@link Task} that
+ * keeps its own cursor between calls. {@link #run()} is the last thing a turn does: it steps the
+ * registered tasks in turn until they are all done for this turn or fewer than {@link #MARGIN}
+ * bytecodes are left beyond what the end-of-turn shared-array flush will cost, so a chunk never
+ * pushes the turn over its limit.
+ */
+public strictfp class Scheduler {
+
+    /**
+     * A resumable computation. Each call to {@link #step()} does one chunk of at most
+     * {@link #MAX_STEP_COST} bytecodes and saves where it got to.
+     */
+    interface Task {
+        /**
+         * @return false if there is nothing more to do this turn.
+         */
+        boolean step() throws GameActionException;
+    }
+
+    /**
+     * Most bytecode a single step may cost.
+     */
+    static final int MAX_STEP_COST = 600;
+
+    /**
+     * Bytecode left before the next step is skipped: a step, plus the scheduler loop and the yield.
+     */
+    static final int MARGIN = MAX_STEP_COST + 100;
+
+    static final int MAX_TASKS = 4;
+
+    private static final Task[] tasks = new Task[MAX_TASKS];
+    private static int taskCount;
+
+    /**
+     * Task to step first next time, so a task early in the list cannot starve the others.
+     */
+    private static int next;
+
+    static void add(Task task) {
+        tasks[taskCount++] = task;
+    }
+
+    /**
+     * Steps tasks round-robin until none has anything left this turn or the budget runs low. Call
+     * right before Clock.yield().
+     */
+    static void run() throws GameActionException {
+        if (taskCount == 0 || WorldSnapshot.rc.getRoundNum() != WorldSnapshot.round) {
+            // Already overran into another round; do not make it worse.
+            return;
+        }
+        int busy = (1 << taskCount) - 1;
+        int i = next;
+        while (busy != 0 && Clock.getBytecodesLeft() > MARGIN + WorldSnapshot.flushCost()) {
+            if ((busy & (1 << i)) != 0 && !tasks[i].step()) {
+                busy &= ~(1 << i);
+            }
+            if (++i == taskCount) {
+                i = 0;
+            }
+        }
+        next = i;
+    }
+}
@@ -0,0 +1,340 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+import focusfireplayerV2.tables.Offsets;
+
+/**
+ * Works out which of the three possible map symmetries we are playing on, and so where the enemy
+ * archons started.
+ *
+ * Each archon writes its starting location to {@link Comms#OUR_ARCHONS} on its first turn. The
+ * enemy archons started at the mirror images of those tiles under the true symmetry. The candidates
+ * still alive are a bitmask in {@link Comms#SYMMETRY}, shared by the whole team, and robots clear
+ * bits whenever what they sense contradicts a candidate:
+ * <ul>
+ *     <li>a tile and its mirror image are both in vision and have different rubble;</li>
+ *     <li>in the first {@link #EARLY_ROUNDS} rounds, one of the two holds lead and the other none;</li>
+ *     <li>in the first {@link #EARLY_ROUNDS} rounds, before any archon can have moved, a predicted
+ *     archon tile is in vision and holds no enemy archon.</li>
+ * </ul>
+ * Lead only counts early because mining changes it: later, a deposit mined out on one side would
+ * look like a contradiction. Archons check every turn of the early rounds, when their wide vision
+ * sees the most start tiles; miners and soldiers check every turn. With bytecode to spare,
+ * {@link Scan} also remembers the rubble, and lead if seen early, of every tile the robot has seen
+ * and compares each against its remembered mirror, which catches contradictions the two tiles never
+ * show at the same time.
+ *
+ * The last candidate is never eliminated. Once one is left, its predictions are seeded into
+ * {@link ArchonRegistry} at {@link ArchonRegistry#PREDICTED} confidence.
+ */
+public strictfp class Symmetry {
+
+    // Candidate bits. A set bit in the shared word means that candidate has been ruled out.
+    static final int ROTATIONAL = 1;
+    static final int HORIZONTAL = 2; // mirrored left-right: x flips
+    static final int VERTICAL = 4; // mirrored top-bottom: y flips
+    static final int ALL = ROTATIONAL | HORIZONTAL | VERTICAL;
+
+    /**
+     * Set once the surviving candidate's predictions have been written to the registry.
+     */
+    private static final int SEEDED = 8;
+
+    /**
+     * Until this round an empty predicted start tile rules its candidate out. No archon can have left
+     * its starting tile yet: the transform to portable alone puts at least
+     * {@link Relocation#TRANSFORM_TURNS} turns on its movement cooldown. Later, only rubble counts.
+     */
+    static final int EARLY_ROUNDS = Relocation.TRANSFORM_TURNS;
+
+    /**
+     * Tile pairs compared per turn.
+     */
+    private static final int RUBBLE_CHECKS = 6;
+
+    // Offsets sampled for rubble checks, spread over a radius^2 20 vision.
+    private static final int[] CHECK_DX = {0, 3, -3, 1, -2, 2};
+    private static final int[] CHECK_DY = {0, 1, -1, -3, 3, -2};
+
+    private static final int MAX_ARCHONS = 4;
+
+    /**
+     * Called by each archon on its first turn.
+     *
+     * @return the slot we registered in, counted from {@link Comms#OUR_ARCHONS}: our index among the
+     * team's archons.
+     */
+    static int registerArchon() throws GameActionException {
+        int word = Comms.packLocation(WorldSnapshot.me);
+        for (int i = 0; i < MAX_ARCHONS; i++) {
+            int slot = Comms.OUR_ARCHONS + i;
+            int existing = WorldSnapshot.readShared(slot);
+            if (existing == word) {
+                return i;
+            }
+            if (existing == 0) {
+                WorldSnapshot.writeShared(slot, word);
+                return i;
+            }
+        }
+        return MAX_ARCHONS - 1;
+    }
+
+    static int mirrorX(int symmetry, int x) {
+        return symmetry == VERTICAL ? x : WorldSnapshot.mapWidth - 1 - x;
+    }
+
+    static int mirrorY(int symmetry, int y) {
+        return symmetry == HORIZONTAL ? y : WorldSnapshot.mapHeight - 1 - y;
+    }
+
+    /**
+     * @return the candidates not yet ruled out, as a mask of ROTATIONAL/HORIZONTAL/VERTICAL.
+     */
+    static int candidates() throws GameActionException {
+        return ~WorldSnapshot.readShared(Comms.SYMMETRY) & ALL;
+    }
+
+    /**
+     * @param state the {@link Comms#SYMMETRY} word
+     * @return state with symmetry ruled out, or state unchanged if symmetry is the last candidate
+     */
+    static int eliminated(int state, int symmetry) {
+        if ((~(state | symmetry) & ALL) == 0) {
+            return state;
+        }
+        return state | symmetry;
+    }
+
+    private static void eliminate(int symmetry) throws GameActionException {
+        WorldSnapshot.writeShared(Comms.SYMMETRY, eliminated(WorldSnapshot.readShared(Comms.SYMMETRY), symmetry));
+    }
+
+    /**
+     * Checks what we can see this turn against the live candidates: every one against the predicted
+     * start tiles early on, and one a turn, in turn, against rubble and early lead. Costs a few reads
+     * once a single candidate is left.
+     */
+    static void update() throws GameActionException {
+        int state = WorldSnapshot.readShared(Comms.SYMMETRY);
+        int live = ~state & ALL;
+        if (live == ROTATIONAL || live == HORIZONTAL || live == VERTICAL) {
+            if ((state & SEEDED) == 0) {
+                seed(live);
+                WorldSnapshot.writeShared(Comms.SYMMETRY, state | SEEDED);
+            }
+            return;
+        }
+
+        MapLocation me = WorldSnapshot.me;
+        int vision = WorldSnapshot.type.visionRadiusSquared;
+        int round = WorldSnapshot.round;
+        if (round <= EARLY_ROUNDS) {
+            for (int symmetry = VERTICAL; symmetry > 0; symmetry >>= 1) {
+                if ((live & symmetry) != 0 && refutedByEmptyStart(symmetry, me, vision)) {
+                    eliminate(symmetry);
+                }
+            }
+            live = candidates();
+        }
+
+        int symmetry = ROTATIONAL << (round % 3);
+        while ((live & symmetry) == 0) {
+            symmetry = symmetry == VERTICAL ? ROTATIONAL : symmetry << 1;
+        }
+        // A tile near us and its mirror can both be in vision only if our own mirror is close.
+        int mx = mirrorX(symmetry, me.x) - me.x;
+        int my = mirrorY(symmetry, me.y) - me.y;
+        if (mx * mx + my * my > 4 * vision) {
+            return;
+        }
+        // Allocates one MapLocation per check, which is why the checks are capped.
+        RobotController rc = WorldSnapshot.rc;
+        boolean early = round <= EARLY_ROUNDS;
+        for (int i = RUBBLE_CHECKS; --i >= 0; ) {
+            MapLocation t = me.translate(CHECK_DX[i], CHECK_DY[i]);
+            MapLocation m = new MapLocation(mirrorX(symmetry, t.x), mirrorY(symmetry, t.y));
+            if (rc.canSenseLocation(t) && rc.canSenseLocation(m)
+                    && (rc.senseRubble(t) != rc.senseRubble(m)
+                    || early && (rc.senseLead(t) == 0) != (rc.senseLead(m) == 0))) {
+                eliminate(symmetry);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return true if one of the tiles this symmetry puts an enemy archon on is in vision but holds no
+     * enemy archon.
+     */
+    private static boolean refutedByEmptyStart(int symmetry, MapLocation me, int vision) throws GameActionException {
+        for (int i = MAX_ARCHONS; --i >= 0; ) {
+            int word = WorldSnapshot.readShared(Comms.OUR_ARCHONS + i);
+            if (word == 0) {
+                continue;
+            }
+            int x = mirrorX(symmetry, Comms.x(word));
+            int y = mirrorY(symmetry, Comms.y(word));
+            int dx = x - me.x;
+            int dy = y - me.y;
+            if (dx * dx + dy * dy <= vision) {
+                RobotInfo r = WorldSnapshot.enemyAt(new MapLocation(x, y));
+                if (r == null || r.type != RobotType.ARCHON) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void seed(int symmetry) throws GameActionException {
+        for (int i = MAX_ARCHONS; --i >= 0; ) {
+            int word = WorldSnapshot.readShared(Comms.OUR_ARCHONS + i);
+            if (word != 0) {
+                int x = mirrorX(symmetry, Comms.x(word));
+                int y = mirrorY(symmetry, Comms.y(word));
+                ArchonRegistry.record(0, Comms.packLocation(x, y), ArchonRegistry.PREDICTED);
+            }
+        }
+    }
+
+    /**
+     * @return the packed location of the closest predicted enemy archon start under any live
+     * candidate, or 0 if our archons have not registered yet. Also 0 once a single candidate is left:
+     * its predictions live in the registry from then on.
+     */
+    static int nearestPrediction(MapLocation from) throws GameActionException {
+        int live = candidates();
+        if (live == ROTATIONAL || live == HORIZONTAL || live == VERTICAL) {
+            return 0;
+        }
+        int best = 0;
+        int bestDist = Integer.MAX_VALUE;
+        for (int i = MAX_ARCHONS; --i >= 0; ) {
+            int word = WorldSnapshot.readShared(Comms.OUR_ARCHONS + i);
+            if (word == 0) {
+                continue;
+            }
+            for (int symmetry = VERTICAL; symmetry > 0; symmetry >>= 1) {
+                if ((live & symmetry) == 0) {
+                    continue;
+                }
+                int x = mirrorX(symmetry, Comms.x(word));
+                int y = mirrorY(symmetry, Comms.y(word));
+                int dx = x - from.x;
+                int dy = y - from.y;
+                int d = dx * dx + dy * dy;
+                if (d < bestDist) {
+                    bestDist = d;
+                    best = Comms.packLocation(x, y);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Background task (see {@link Scheduler}): walks the vision disc around wherever we stand, nearest
+     * tile first, recording rubble per tile, and whether it held lead if seen in the early rounds, and
+     * ruling out every candidate under which a recorded tile and its recorded mirror disagree. The cursor carries over between turns, so a robot on
+     * the move still covers its whole vision over a few turns. A robot that has not moved since its
+     * last full lap has nothing new to see and the task sleeps until it moves.
+     */
+    static final class Scan implements Scheduler.Task {
+
+        /**
+         * Tiles sensed per step.
+         */
+        static final int TILES_PER_STEP = 2;
+
+        private static final int RUBBLE_MASK = 0xFF;
+        private static final int NO_LEAD = 1 << 8;
+        private static final int LEAD = 2 << 8;
+
+        private final int[] dx = Offsets.dx(WorldSnapshot.type.visionRadiusSquared);
+        private final int[] dy = Offsets.dy(WorldSnapshot.type.visionRadiusSquared);
+
+        // Per tile at x * mapHeight + y, 0 if never seen: rubble + 1, plus NO_LEAD or LEAD if seen
+        // in the early rounds. Allocated here, during the robot's setup, rather than in a step whose
+        // budget cannot cover zeroing up to 3600 ints.
+        private final int[] seen = new int[WorldSnapshot.mapWidth * WorldSnapshot.mapHeight];
+        private int cursor;
+
+        // Tiles looked at this turn, to stop after one lap of the disc.
+        private int scanned;
+        private int scannedRound;
+
+        // Where we stood for the whole of the last completed lap, or null.
+        private MapLocation lapStart;
+        private int lapCount;
+        private MapLocation idleAt;
+
+        public boolean step() throws GameActionException {
+            int live = candidates();
+            if (live == ROTATIONAL || live == HORIZONTAL || live == VERTICAL) {
+                return false;
+            }
+            MapLocation me = WorldSnapshot.me;
+            if (me.equals(idleAt)) {
+                return false;
+            }
+            if (scannedRound != WorldSnapshot.round) {
+                scannedRound = WorldSnapshot.round;
+                scanned = 0;
+            }
+            int n = dx.length;
+            if (scanned >= n) {
+                return false;
+            }
+            if (!me.equals(lapStart)) {
+                lapStart = me;
+                lapCount = 0;
+            }
+            int width = WorldSnapshot.mapWidth;
+            int height = WorldSnapshot.mapHeight;
+            RobotController rc = WorldSnapshot.rc;
+            boolean early = WorldSnapshot.round <= EARLY_ROUNDS;
+            for (int left = Math.min(TILES_PER_STEP, n - scanned); --left >= 0; ) {
+                int x = me.x + dx[cursor];
+                int y = me.y + dy[cursor];
+                if (++cursor == n) {
+                    cursor = 0;
+                }
+                scanned++;
+                if (++lapCount == n) {
+                    idleAt = me;
+                }
+                if (x < 0 || y < 0 || x >= width || y >= height || seen[x * height + y] != 0) {
+                    continue;
+                }
+                MapLocation loc = new MapLocation(x, y);
+                int tile = rc.senseRubble(loc) + 1;
+                if (early) {
+                    tile |= rc.senseLead(loc) == 0 ? NO_LEAD : LEAD;
+                }
+                seen[x * height + y] = tile;
+                for (int symmetry = VERTICAL; symmetry > 0; symmetry >>= 1) {
+                    if ((live & symmetry) == 0) {
+                        continue;
+                    }
+                    int mirror = seen[mirrorX(symmetry, x) * height + mirrorY(symmetry, y)];
+                    if (mirror != 0 && disagree(tile, mirror)) {
+                        eliminate(symmetry);
+                        live = candidates();
+                    }
+                }
+            }
+            return scanned < n;
+        }
+
+        /**
+         * @return true if two seen entries differ in rubble, or both know about lead and differ in it.
+         */
+        static boolean disagree(int a, int b) {
+            if (((a ^ b) & RUBBLE_MASK) != 0) {
+                return true;
+            }
+            return (a & b & ~RUBBLE_MASK) == 0 && (a & ~RUBBLE_MASK) != 0 && (b & ~RUBBLE_MASK) != 0;
+        }
+    }
+}
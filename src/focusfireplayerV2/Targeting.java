@@ -0,0 +1,175 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+
+/**
+ * Picks what to shoot.
+ *
+ * Every enemy in attack range is scored in one pass by how likely the team is to kill it this turn
+ * (damage from us and allied attackers already in range, against its health), how much damage it
+ * deals, what it is worth, and how far away it is. The scoring itself only reads its arguments, so it
+ * can be driven from tests with hand-made RobotInfo arrays.
+ *
+ * The chosen target is published per map quadrant in {@link Comms#FOCUS_TARGETS}, stamped in
+ * {@link Comms#FOCUS_STAMPS}, so soldiers that cannot see it yet converge on it and soldiers that can
+ * prefer it over an equally good alternative.
+ */
+public strictfp class Targeting {
+
+    /**
+     * Enemies scored per call; the rest are ignored to keep the cost bounded.
+     */
+    static final int MAX_ENEMIES = 12;
+
+    /**
+     * Allies checked per enemy when counting who else can hit it.
+     */
+    static final int MAX_ALLIES = 8;
+
+    /**
+     * Score lost per unit of squared distance.
+     */
+    static final int DISTANCE_WEIGHT = 5;
+
+    /**
+     * Score added to the target our quadrant has already published.
+     */
+    static final int FOCUS_BONUS = 2000;
+
+    /**
+     * Rounds a published target stays current without being refreshed.
+     */
+    static final int FOCUS_TTL = 3;
+
+    static final int REGIONS = 4;
+
+    private static final int STAMP_MASK = 0xF;
+
+    /**
+     * Score of the last {@link #select} result.
+     */
+    static int bestScore;
+
+    /**
+     * Worth of killing a robot of this type beyond the damage it deals.
+     */
+    static int value(RobotType type) {
+        switch (type) {
+            case ARCHON:        return 60;
+            case WATCHTOWER:    return 30;
+            case LABORATORY:    return 20;
+            case MINER:
+            case BUILDER:       return 10;
+            default:            return 0;
+        }
+    }
+
+    /**
+     * @return damage dealt per 100 units of action cooldown, 0 for robots that do not attack.
+     */
+    static int threat(RobotInfo r) {
+        int damage = r.type.getDamage(r.level);
+        if (damage <= 0 || r.type.actionCooldown <= 0) {
+            return 0;
+        }
+        return damage * 100 / r.type.actionCooldown;
+    }
+
+    /**
+     * Scores the first enemyCount enemies and returns the index of the best one within actionRadius
+     * of me, or -1 if none is. focusWord is a Comms location word for the published target, or 0.
+     */
+    static int select(RobotInfo[] enemies, int enemyCount, RobotInfo[] allies, int allyCount,
+                      MapLocation me, int actionRadius, int damage, int focusWord) {
+        int best = -1;
+        bestScore = Integer.MIN_VALUE;
+        int n = Math.min(enemyCount, MAX_ENEMIES);
+        int allyChecks = Math.min(allyCount, MAX_ALLIES);
+        for (int i = n; --i >= 0; ) {
+            RobotInfo e = enemies[i];
+            MapLocation loc = e.location;
+            int d = me.distanceSquaredTo(loc);
+            if (d > actionRadius) {
+                continue;
+            }
+            int incoming = damage;
+            for (int j = allyChecks; --j >= 0; ) {
+                RobotInfo a = allies[j];
+                int allyDamage = a.type.getDamage(a.level);
+                if (allyDamage > 0 && a.location.distanceSquaredTo(loc) <= a.type.actionRadiusSquared) {
+                    incoming += allyDamage;
+                }
+            }
+            int health = e.health;
+            int killPct = (incoming >= health ? health : incoming) * 100 / health;
+            int score = killPct * (threat(e) + value(e.type) + 10) - DISTANCE_WEIGHT * d;
+            if (killPct == 100) {
+                // A kill this turn removes all of its future damage; finish it before anything else.
+                score += 100000;
+            }
+            if (focusWord != 0 && Comms.sameLocation(focusWord, Comms.packLocation(loc))) {
+                score += FOCUS_BONUS;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    static int region(int x, int y) {
+        return (x * 2 / WorldSnapshot.mapWidth) + 2 * (y * 2 / WorldSnapshot.mapHeight);
+    }
+
+    /**
+     * @return the live published target for a region as a Comms robot word, or 0.
+     */
+    static int focus(int region) throws GameActionException {
+        int word = WorldSnapshot.readShared(Comms.FOCUS_TARGETS + region);
+        if (word == 0) {
+            return 0;
+        }
+        int stamp = (WorldSnapshot.readShared(Comms.FOCUS_STAMPS) >> (4 * region)) & STAMP_MASK;
+        return ((WorldSnapshot.round - stamp) & STAMP_MASK) <= FOCUS_TTL ? word : 0;
+    }
+
+    /**
+     * Publishes target for its region unless another live target is already published there.
+     */
+    static void publish(RobotInfo target) throws GameActionException {
+        int region = region(target.location.x, target.location.y);
+        int word = Comms.packRobot(target);
+        int current = focus(region);
+        if (current != 0 && !Comms.sameLocation(current, word)) {
+            return;
+        }
+        WorldSnapshot.writeShared(Comms.FOCUS_TARGETS + region, word);
+        int stamps = WorldSnapshot.readShared(Comms.FOCUS_STAMPS);
+        int shift = 4 * region;
+        WorldSnapshot.writeShared(Comms.FOCUS_STAMPS,
+                (stamps & ~(STAMP_MASK << shift)) | ((WorldSnapshot.round & STAMP_MASK) << shift));
+    }
+
+    /**
+     * @return the closest live published target as a Comms robot word, or 0.
+     */
+    static int nearestFocus(MapLocation from) throws GameActionException {
+        int best = 0;
+        int bestDist = Integer.MAX_VALUE;
+        for (int region = REGIONS; --region >= 0; ) {
+            int word = focus(region);
+            if (word == 0) {
+                continue;
+            }
+            int dx = Comms.x(word) - from.x;
+            int dy = Comms.y(word) - from.y;
+            int d = dx * dx + dy * dy;
+            if (d < bestDist) {
+                bestDist = d;
+                best = word;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,218 @@
+package focusfireplayerV2;
+
+import battlecode.common.*;
+
+/**
+ * Everything a robot senses in one turn, sensed at most once.
+ *
+ * {@link #update()} runs at the top of every turn and only records cheap scalars.
+ * Robots, lead/gold and shared-array slots are filled lazily the first time a role asks for them and
+ * then served from preallocated arrays for the rest of the turn, so roles never pay for the same
+ * engine call twice.
+ *
+ * Shared-array writes are buffered too: {@link #writeShared} only updates the cached copy and marks
+ * the slot dirty, and {@link #flushShared()} writes each dirty slot once at the end of the turn.
+ * Writing a value a slot already holds costs nothing. Other robots only run between our turns, so
+ * they see exactly what they would have seen with immediate writes.
+ */
+public strictfp class WorldSnapshot {
+
+    /**
+     * Upper bound on robots in vision: one robot per tile inside the largest vision radius (53).
+     */
+    static final int MAX_ROBOTS = 169;
+
+    /**
+     * What the engine charges for one writeSharedArray call.
+     */
+    static final int SHARED_WRITE_COST = 100;
+
+    static RobotController rc;
+    static RobotType type;
+    static Team us;
+    static Team them;
+    static int mapWidth;
+    static int mapHeight;
+
+    static int round;
+    static MapLocation me;
+
+    // Robots in vision, split by team. Valid after senseRobots().
+    static RobotInfo[] robots;
+    static final RobotInfo[] enemies = new RobotInfo[MAX_ROBOTS];
+    static final RobotInfo[] allies = new RobotInfo[MAX_ROBOTS];
+    static int enemyCount;
+    static int allyCount;
+
+    // Resources in vision. Valid after senseLead() / senseGold().
+    static MapLocation[] leadLocations;
+    static MapLocation[] goldLocations;
+
+    // Shared array slots read this turn; bit i of sharedLoaded marks shared[i] as valid.
+    static final int[] shared = new int[GameConstants.SHARED_ARRAY_LENGTH];
+    private static long sharedLoaded;
+
+    // Slots written this turn and not yet flushed; bit i marks shared[i] as newer than the engine's.
+    private static long sharedDirty;
+
+    private static int robotsRound = -1;
+    private static int leadRound = -1;
+    private static int goldRound = -1;
+
+    static void init(RobotController robotController) {
+        rc = robotController;
+        type = rc.getType();
+        us = rc.getTeam();
+        them = us.opponent();
+        mapWidth = rc.getMapWidth();
+        mapHeight = rc.getMapHeight();
+    }
+
+    /**
+     * Starts a new turn. Invalidates every lazy field without touching the engine beyond two getters.
+     */
+    static void update() {
+        round = rc.getRoundNum();
+        me = rc.getLocation();
+        sharedLoaded = 0;
+    }
+
+    /**
+     * Refreshes our location after a move, and drops the robots and resources sensed before it: the
+     * robots have not moved, but our vision has, so the next sense call looks again.
+     */
+    static void moved() {
+        me = rc.getLocation();
+        robotsRound = -1;
+        leadRound = -1;
+        goldRound = -1;
+    }
+
+    static void senseRobots() {
+        if (robotsRound == round) {
+            return;
+        }
+        robotsRound = round;
+        RobotInfo[] sensed = rc.senseNearbyRobots();
+        robots = sensed;
+        int e = 0;
+        int a = 0;
+        for (int i = sensed.length; --i >= 0; ) {
+            RobotInfo r = sensed[i];
+            if (r.team == them) {
+                enemies[e++] = r;
+            } else {
+                allies[a++] = r;
+            }
+        }
+        enemyCount = e;
+        allyCount = a;
+    }
+
+    /**
+     * @return the sensed enemy with this ID, or null. Replaces rc.senseRobot(id) for robots in vision.
+     */
+    static RobotInfo enemyById(int id) {
+        senseRobots();
+        for (int i = enemyCount; --i >= 0; ) {
+            if (enemies[i].ID == id) {
+                return enemies[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the sensed enemy standing on loc, or null. Replaces rc.senseRobotAtLocation(loc).
+     */
+    static RobotInfo enemyAt(MapLocation loc) {
+        senseRobots();
+        for (int i = enemyCount; --i >= 0; ) {
+            if (enemies[i].location.equals(loc)) {
+                return enemies[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the closest sensed enemy within radiusSquared of us, or null.
+     */
+    static RobotInfo closestEnemyWithin(int radiusSquared) {
+        senseRobots();
+        RobotInfo best = null;
+        int bestDist = radiusSquared + 1;
+        for (int i = enemyCount; --i >= 0; ) {
+            int d = me.distanceSquaredTo(enemies[i].location);
+            if (d < bestDist) {
+                bestDist = d;
+                best = enemies[i];
+            }
+        }
+        return best;
+    }
+
+    static MapLocation[] senseLead() throws GameActionException {
+        if (leadRound != round) {
+            leadRound = round;
+            leadLocations = rc.senseNearbyLocationsWithLead(type.visionRadiusSquared);
+        }
+        return leadLocations;
+    }
+
+    static MapLocation[] senseGold() throws GameActionException {
+        if (goldRound != round) {
+            goldRound = round;
+            goldLocations = rc.senseNearbyLocationsWithGold(type.visionRadiusSquared);
+        }
+        return goldLocations;
+    }
+
+    static int readShared(int index) throws GameActionException {
+        long bit = 1L << index;
+        if ((sharedLoaded & bit) == 0) {
+            shared[index] = rc.readSharedArray(index);
+            sharedLoaded |= bit;
+        }
+        return shared[index];
+    }
+
+    /**
+     * Buffers a write until {@link #flushShared()}. Skipped if the slot already holds value.
+     */
+    static void writeShared(int index, int value) throws GameActionException {
+        long bit = 1L << index;
+        if (readShared(index) == value) {
+            if (Profiler.ENABLED) Profiler.sharedWritesSaved++;
+            return;
+        }
+        if ((sharedDirty & bit) != 0) {
+            // Overwrites a write that never reached the engine.
+            if (Profiler.ENABLED) Profiler.sharedWritesSaved++;
+        }
+        shared[index] = value;
+        sharedDirty |= bit;
+    }
+
+    /**
+     * @return the bytecode {@link #flushShared()} would cost now.
+     */
+    static int flushCost() {
+        return Long.bitCount(sharedDirty) * SHARED_WRITE_COST;
+    }
+
+    /**
+     * Writes every dirty slot to the engine. Call once at the end of every turn, including turns
+     * that threw, before Clock.yield().
+     */
+    static void flushShared() throws GameActionException {
+        long dirty = sharedDirty;
+        sharedDirty = 0;
+        while (dirty != 0) {
+            int index = Long.numberOfTrailingZeros(dirty);
+            dirty &= dirty - 1;
+            rc.writeSharedArray(index, shared[index]);
+            if (Profiler.ENABLED) Profiler.sharedWrites++;
+        }
+    }
+}
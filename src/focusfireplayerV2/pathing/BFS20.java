@@ -0,0 +1,1876 @@
+// Generated by scripts/gen_bfs.py. Do not edit by hand; rerun the script instead.
+package focusfireplayerV2.pathing;
+
+import battlecode.common.*;
+
+/**
+ * Unrolled rubble-weighted BFS over the 69 tiles within radius^2 20.
+ */
+public strictfp class BFS20 {
+
+    /**
+     * Estimated upper bound on the bytecode cost of one {@link #bestDirection} call.
+     */
+    public static final int BYTECODE_CEILING = 4022;
+
+    static final int RADIUS_SQUARED = 20;
+    private static final int UNREACHED = 1000000;
+    private static final int HEURISTIC = 15;
+
+    static MapLocation lp0p0;
+    static MapLocation lm1p0;
+    static int vm1p0;
+    static Direction dm1p0;
+    static MapLocation lp0m1;
+    static int vp0m1;
+    static Direction dp0m1;
+    static MapLocation lp0p1;
+    static int vp0p1;
+    static Direction dp0p1;
+    static MapLocation lp1p0;
+    static int vp1p0;
+    static Direction dp1p0;
+    static MapLocation lm1m1;
+    static int vm1m1;
+    static Direction dm1m1;
+    static MapLocation lm1p1;
+    static int vm1p1;
+    static Direction dm1p1;
+    static MapLocation lp1m1;
+    static int vp1m1;
+    static Direction dp1m1;
+    static MapLocation lp1p1;
+    static int vp1p1;
+    static Direction dp1p1;
+    static MapLocation lm2p0;
+    static int vm2p0;
+    static Direction dm2p0;
+    static MapLocation lp0m2;
+    static int vp0m2;
+    static Direction dp0m2;
+    static MapLocation lp0p2;
+    static int vp0p2;
+    static Direction dp0p2;
+    static MapLocation lp2p0;
+    static int vp2p0;
+    static Direction dp2p0;
+    static MapLocation lm2m1;
+    static int vm2m1;
+    static Direction dm2m1;
+    static MapLocation lm2p1;
+    static int vm2p1;
+    static Direction dm2p1;
+    static MapLocation lm1m2;
+    static int vm1m2;
+    static Direction dm1m2;
+    static MapLocation lm1p2;
+    static int vm1p2;
+    static Direction dm1p2;
+    static MapLocation lp1m2;
+    static int vp1m2;
+    static Direction dp1m2;
+    static MapLocation lp1p2;
+    static int vp1p2;
+    static Direction dp1p2;
+    static MapLocation lp2m1;
+    static int vp2m1;
+    static Direction dp2m1;
+    static MapLocation lp2p1;
+    static int vp2p1;
+    static Direction dp2p1;
+    static MapLocation lm2m2;
+    static int vm2m2;
+    static Direction dm2m2;
+    static MapLocation lm2p2;
+    static int vm2p2;
+    static Direction dm2p2;
+    static MapLocation lp2m2;
+    static int vp2m2;
+    static Direction dp2m2;
+    static MapLocation lp2p2;
+    static int vp2p2;
+    static Direction dp2p2;
+    static MapLocation lm3p0;
+    static int vm3p0;
+    static Direction dm3p0;
+    static MapLocation lp0m3;
+    static int vp0m3;
+    static Direction dp0m3;
+    static MapLocation lp0p3;
+    static int vp0p3;
+    static Direction dp0p3;
+    static MapLocation lp3p0;
+    static int vp3p0;
+    static Direction dp3p0;
+    static MapLocation lm3m1;
+    static int vm3m1;
+    static Direction dm3m1;
+    static MapLocation lm3p1;
+    static int vm3p1;
+    static Direction dm3p1;
+    static MapLocation lm1m3;
+    static int vm1m3;
+    static Direction dm1m3;
+    static MapLocation lm1p3;
+    static int vm1p3;
+    static Direction dm1p3;
+    static MapLocation lp1m3;
+    static int vp1m3;
+    static Direction dp1m3;
+    static MapLocation lp1p3;
+    static int vp1p3;
+    static Direction dp1p3;
+    static MapLocation lp3m1;
+    static int vp3m1;
+    static Direction dp3m1;
+    static MapLocation lp3p1;
+    static int vp3p1;
+    static Direction dp3p1;
+    static MapLocation lm3m2;
+    static int vm3m2;
+    static Direction dm3m2;
+    static MapLocation lm3p2;
+    static int vm3p2;
+    static Direction dm3p2;
+    static MapLocation lm2m3;
+    static int vm2m3;
+    static Direction dm2m3;
+    static MapLocation lm2p3;
+    static int vm2p3;
+    static Direction dm2p3;
+    static MapLocation lp2m3;
+    static int vp2m3;
+    static Direction dp2m3;
+    static MapLocation lp2p3;
+    static int vp2p3;
+    static Direction dp2p3;
+    static MapLocation lp3m2;
+    static int vp3m2;
+    static Direction dp3m2;
+    static MapLocation lp3p2;
+    static int vp3p2;
+    static Direction dp3p2;
+    static MapLocation lm4p0;
+    static int vm4p0;
+    static Direction dm4p0;
+    static MapLocation lp0m4;
+    static int vp0m4;
+    static Direction dp0m4;
+    static MapLocation lp0p4;
+    static int vp0p4;
+    static Direction dp0p4;
+    static MapLocation lp4p0;
+    static int vp4p0;
+    static Direction dp4p0;
+    static MapLocation lm4m1;
+    static int vm4m1;
+    static Direction dm4m1;
+    static MapLocation lm4p1;
+    static int vm4p1;
+    static Direction dm4p1;
+    static MapLocation lm1m4;
+    static int vm1m4;
+    static Direction dm1m4;
+    static MapLocation lm1p4;
+    static int vm1p4;
+    static Direction dm1p4;
+    static MapLocation lp1m4;
+    static int vp1m4;
+    static Direction dp1m4;
+    static MapLocation lp1p4;
+    static int vp1p4;
+    static Direction dp1p4;
+    static MapLocation lp4m1;
+    static int vp4m1;
+    static Direction dp4m1;
+    static MapLocation lp4p1;
+    static int vp4p1;
+    static Direction dp4p1;
+    static MapLocation lm3m3;
+    static int vm3m3;
+    static Direction dm3m3;
+    static MapLocation lm3p3;
+    static int vm3p3;
+    static Direction dm3p3;
+    static MapLocation lp3m3;
+    static int vp3m3;
+    static Direction dp3m3;
+    static MapLocation lp3p3;
+    static int vp3p3;
+    static Direction dp3p3;
+    static MapLocation lm4m2;
+    static int vm4m2;
+    static Direction dm4m2;
+    static MapLocation lm4p2;
+    static int vm4p2;
+    static Direction dm4p2;
+    static MapLocation lm2m4;
+    static int vm2m4;
+    static Direction dm2m4;
+    static MapLocation lm2p4;
+    static int vm2p4;
+    static Direction dm2p4;
+    static MapLocation lp2m4;
+    static int vp2m4;
+    static Direction dp2m4;
+    static MapLocation lp2p4;
+    static int vp2p4;
+    static Direction dp2p4;
+    static MapLocation lp4m2;
+    static int vp4m2;
+    static Direction dp4m2;
+    static MapLocation lp4p2;
+    static int vp4p2;
+    static Direction dp4p2;
+
+    /**
+     * @return the first step of the cheapest path towards target, or null if no step improves on
+     * standing still (boxed in, or every frontier tile is off the map).
+     */
+    public static Direction bestDirection(RobotController rc, MapLocation target) throws GameActionException {
+        lp0p0 = rc.getLocation();
+
+        lm1p0 = lp0p0.translate(-1, 0);
+        vm1p0 = UNREACHED;
+        dm1p0 = null;
+        if (rc.onTheMap(lm1p0) && !rc.isLocationOccupied(lm1p0)) {
+            vm1p0 = 10 + rc.senseRubble(lm1p0);
+            dm1p0 = Direction.WEST;
+        }
+        lp0m1 = lp0p0.translate(0, -1);
+        vp0m1 = UNREACHED;
+        dp0m1 = null;
+        if (rc.onTheMap(lp0m1) && !rc.isLocationOccupied(lp0m1)) {
+            vp0m1 = 10 + rc.senseRubble(lp0m1);
+            dp0m1 = Direction.SOUTH;
+        }
+        lp0p1 = lp0p0.translate(0, 1);
+        vp0p1 = UNREACHED;
+        dp0p1 = null;
+        if (rc.onTheMap(lp0p1) && !rc.isLocationOccupied(lp0p1)) {
+            vp0p1 = 10 + rc.senseRubble(lp0p1);
+            dp0p1 = Direction.NORTH;
+        }
+        lp1p0 = lp0p0.translate(1, 0);
+        vp1p0 = UNREACHED;
+        dp1p0 = null;
+        if (rc.onTheMap(lp1p0) && !rc.isLocationOccupied(lp1p0)) {
+            vp1p0 = 10 + rc.senseRubble(lp1p0);
+            dp1p0 = Direction.EAST;
+        }
+        lm1m1 = lp0p0.translate(-1, -1);
+        vm1m1 = UNREACHED;
+        dm1m1 = null;
+        if (rc.onTheMap(lm1m1) && !rc.isLocationOccupied(lm1m1)) {
+            vm1m1 = 10 + rc.senseRubble(lm1m1);
+            dm1m1 = Direction.SOUTHWEST;
+        }
+        lm1p1 = lp0p0.translate(-1, 1);
+        vm1p1 = UNREACHED;
+        dm1p1 = null;
+        if (rc.onTheMap(lm1p1) && !rc.isLocationOccupied(lm1p1)) {
+            vm1p1 = 10 + rc.senseRubble(lm1p1);
+            dm1p1 = Direction.NORTHWEST;
+        }
+        lp1m1 = lp0p0.translate(1, -1);
+        vp1m1 = UNREACHED;
+        dp1m1 = null;
+        if (rc.onTheMap(lp1m1) && !rc.isLocationOccupied(lp1m1)) {
+            vp1m1 = 10 + rc.senseRubble(lp1m1);
+            dp1m1 = Direction.SOUTHEAST;
+        }
+        lp1p1 = lp0p0.translate(1, 1);
+        vp1p1 = UNREACHED;
+        dp1p1 = null;
+        if (rc.onTheMap(lp1p1) && !rc.isLocationOccupied(lp1p1)) {
+            vp1p1 = 10 + rc.senseRubble(lp1p1);
+            dp1p1 = Direction.NORTHEAST;
+        }
+        lm2p0 = lp0p0.translate(-2, 0);
+        vm2p0 = UNREACHED;
+        dm2p0 = null;
+        if (rc.onTheMap(lm2p0)) {
+            if (vm2p0 > vm1p1) {
+                vm2p0 = vm1p1;
+                dm2p0 = dm1p1;
+            }
+            if (vm2p0 > vm1p0) {
+                vm2p0 = vm1p0;
+                dm2p0 = dm1p0;
+            }
+            if (vm2p0 > vm1m1) {
+                vm2p0 = vm1m1;
+                dm2p0 = dm1m1;
+            }
+            vm2p0 += 10 + rc.senseRubble(lm2p0);
+        }
+        lp0m2 = lp0p0.translate(0, -2);
+        vp0m2 = UNREACHED;
+        dp0m2 = null;
+        if (rc.onTheMap(lp0m2)) {
+            if (vp0m2 > vp0m1) {
+                vp0m2 = vp0m1;
+                dp0m2 = dp0m1;
+            }
+            if (vp0m2 > vp1m1) {
+                vp0m2 = vp1m1;
+                dp0m2 = dp1m1;
+            }
+            if (vp0m2 > vm1m1) {
+                vp0m2 = vm1m1;
+                dp0m2 = dm1m1;
+            }
+            vp0m2 += 10 + rc.senseRubble(lp0m2);
+        }
+        lp0p2 = lp0p0.translate(0, 2);
+        vp0p2 = UNREACHED;
+        dp0p2 = null;
+        if (rc.onTheMap(lp0p2)) {
+            if (vp0p2 > vp1p1) {
+                vp0p2 = vp1p1;
+                dp0p2 = dp1p1;
+            }
+            if (vp0p2 > vp0p1) {
+                vp0p2 = vp0p1;
+                dp0p2 = dp0p1;
+            }
+            if (vp0p2 > vm1p1) {
+                vp0p2 = vm1p1;
+                dp0p2 = dm1p1;
+            }
+            vp0p2 += 10 + rc.senseRubble(lp0p2);
+        }
+        lp2p0 = lp0p0.translate(2, 0);
+        vp2p0 = UNREACHED;
+        dp2p0 = null;
+        if (rc.onTheMap(lp2p0)) {
+            if (vp2p0 > vp1m1) {
+                vp2p0 = vp1m1;
+                dp2p0 = dp1m1;
+            }
+            if (vp2p0 > vp1p0) {
+                vp2p0 = vp1p0;
+                dp2p0 = dp1p0;
+            }
+            if (vp2p0 > vp1p1) {
+                vp2p0 = vp1p1;
+                dp2p0 = dp1p1;
+            }
+            vp2p0 += 10 + rc.senseRubble(lp2p0);
+        }
+        lm2m1 = lp0p0.translate(-2, -1);
+        vm2m1 = UNREACHED;
+        dm2m1 = null;
+        if (rc.onTheMap(lm2m1)) {
+            if (vm2m1 > vm2p0) {
+                vm2m1 = vm2p0;
+                dm2m1 = dm2p0;
+            }
+            if (vm2m1 > vm1p0) {
+                vm2m1 = vm1p0;
+                dm2m1 = dm1p0;
+            }
+            if (vm2m1 > vm1m1) {
+                vm2m1 = vm1m1;
+                dm2m1 = dm1m1;
+            }
+            vm2m1 += 10 + rc.senseRubble(lm2m1);
+        }
+        lm2p1 = lp0p0.translate(-2, 1);
+        vm2p1 = UNREACHED;
+        dm2p1 = null;
+        if (rc.onTheMap(lm2p1)) {
+            if (vm2p1 > vm1p1) {
+                vm2p1 = vm1p1;
+                dm2p1 = dm1p1;
+            }
+            if (vm2p1 > vm1p0) {
+                vm2p1 = vm1p0;
+                dm2p1 = dm1p0;
+            }
+            if (vm2p1 > vm2p0) {
+                vm2p1 = vm2p0;
+                dm2p1 = dm2p0;
+            }
+            vm2p1 += 10 + rc.senseRubble(lm2p1);
+        }
+        lm1m2 = lp0p0.translate(-1, -2);
+        vm1m2 = UNREACHED;
+        dm1m2 = null;
+        if (rc.onTheMap(lm1m2)) {
+            if (vm1m2 > vm1m1) {
+                vm1m2 = vm1m1;
+                dm1m2 = dm1m1;
+            }
+            if (vm1m2 > vp0m1) {
+                vm1m2 = vp0m1;
+                dm1m2 = dp0m1;
+            }
+            if (vm1m2 > vp0m2) {
+                vm1m2 = vp0m2;
+                dm1m2 = dp0m2;
+            }
+            vm1m2 += 10 + rc.senseRubble(lm1m2);
+        }
+        lm1p2 = lp0p0.translate(-1, 2);
+        vm1p2 = UNREACHED;
+        dm1p2 = null;
+        if (rc.onTheMap(lm1p2)) {
+            if (vm1p2 > vp0p2) {
+                vm1p2 = vp0p2;
+                dm1p2 = dp0p2;
+            }
+            if (vm1p2 > vp0p1) {
+                vm1p2 = vp0p1;
+                dm1p2 = dp0p1;
+            }
+            if (vm1p2 > vm1p1) {
+                vm1p2 = vm1p1;
+                dm1p2 = dm1p1;
+            }
+            vm1p2 += 10 + rc.senseRubble(lm1p2);
+        }
+        lp1m2 = lp0p0.translate(1, -2);
+        vp1m2 = UNREACHED;
+        dp1m2 = null;
+        if (rc.onTheMap(lp1m2)) {
+            if (vp1m2 > vp1m1) {
+                vp1m2 = vp1m1;
+                dp1m2 = dp1m1;
+            }
+            if (vp1m2 > vp0m2) {
+                vp1m2 = vp0m2;
+                dp1m2 = dp0m2;
+            }
+            if (vp1m2 > vp0m1) {
+                vp1m2 = vp0m1;
+                dp1m2 = dp0m1;
+            }
+            vp1m2 += 10 + rc.senseRubble(lp1m2);
+        }
+        lp1p2 = lp0p0.translate(1, 2);
+        vp1p2 = UNREACHED;
+        dp1p2 = null;
+        if (rc.onTheMap(lp1p2)) {
+            if (vp1p2 > vp1p1) {
+                vp1p2 = vp1p1;
+                dp1p2 = dp1p1;
+            }
+            if (vp1p2 > vp0p1) {
+                vp1p2 = vp0p1;
+                dp1p2 = dp0p1;
+            }
+            if (vp1p2 > vp0p2) {
+                vp1p2 = vp0p2;
+                dp1p2 = dp0p2;
+            }
+            vp1p2 += 10 + rc.senseRubble(lp1p2);
+        }
+        lp2m1 = lp0p0.translate(2, -1);
+        vp2m1 = UNREACHED;
+        dp2m1 = null;
+        if (rc.onTheMap(lp2m1)) {
+            if (vp2m1 > vp2p0) {
+                vp2m1 = vp2p0;
+                dp2m1 = dp2p0;
+            }
+            if (vp2m1 > vp1m1) {
+                vp2m1 = vp1m1;
+                dp2m1 = dp1m1;
+            }
+            if (vp2m1 > vp1p0) {
+                vp2m1 = vp1p0;
+                dp2m1 = dp1p0;
+            }
+            vp2m1 += 10 + rc.senseRubble(lp2m1);
+        }
+        lp2p1 = lp0p0.translate(2, 1);
+        vp2p1 = UNREACHED;
+        dp2p1 = null;
+        if (rc.onTheMap(lp2p1)) {
+            if (vp2p1 > vp2p0) {
+                vp2p1 = vp2p0;
+                dp2p1 = dp2p0;
+            }
+            if (vp2p1 > vp1p0) {
+                vp2p1 = vp1p0;
+                dp2p1 = dp1p0;
+            }
+            if (vp2p1 > vp1p1) {
+                vp2p1 = vp1p1;
+                dp2p1 = dp1p1;
+            }
+            vp2p1 += 10 + rc.senseRubble(lp2p1);
+        }
+        lm2m2 = lp0p0.translate(-2, -2);
+        vm2m2 = UNREACHED;
+        dm2m2 = null;
+        if (rc.onTheMap(lm2m2)) {
+            if (vm2m2 > vm2m1) {
+                vm2m2 = vm2m1;
+                dm2m2 = dm2m1;
+            }
+            if (vm2m2 > vm1m1) {
+                vm2m2 = vm1m1;
+                dm2m2 = dm1m1;
+            }
+            if (vm2m2 > vm1m2) {
+                vm2m2 = vm1m2;
+                dm2m2 = dm1m2;
+            }
+            vm2m2 += 10 + rc.senseRubble(lm2m2);
+        }
+        lm2p2 = lp0p0.translate(-2, 2);
+        vm2p2 = UNREACHED;
+        dm2p2 = null;
+        if (rc.onTheMap(lm2p2)) {
+            if (vm2p2 > vm1p2) {
+                vm2p2 = vm1p2;
+                dm2p2 = dm1p2;
+            }
+            if (vm2p2 > vm1p1) {
+                vm2p2 = vm1p1;
+                dm2p2 = dm1p1;
+            }
+            if (vm2p2 > vm2p1) {
+                vm2p2 = vm2p1;
+                dm2p2 = dm2p1;
+            }
+            vm2p2 += 10 + rc.senseRubble(lm2p2);
+        }
+        lp2m2 = lp0p0.translate(2, -2);
+        vp2m2 = UNREACHED;
+        dp2m2 = null;
+        if (rc.onTheMap(lp2m2)) {
+            if (vp2m2 > vp2m1) {
+                vp2m2 = vp2m1;
+                dp2m2 = dp2m1;
+            }
+            if (vp2m2 > vp1m2) {
+                vp2m2 = vp1m2;
+                dp2m2 = dp1m2;
+            }
+            if (vp2m2 > vp1m1) {
+                vp2m2 = vp1m1;
+                dp2m2 = dp1m1;
+            }
+            vp2m2 += 10 + rc.senseRubble(lp2m2);
+        }
+        lp2p2 = lp0p0.translate(2, 2);
+        vp2p2 = UNREACHED;
+        dp2p2 = null;
+        if (rc.onTheMap(lp2p2)) {
+            if (vp2p2 > vp2p1) {
+                vp2p2 = vp2p1;
+                dp2p2 = dp2p1;
+            }
+            if (vp2p2 > vp1p1) {
+                vp2p2 = vp1p1;
+                dp2p2 = dp1p1;
+            }
+            if (vp2p2 > vp1p2) {
+                vp2p2 = vp1p2;
+                dp2p2 = dp1p2;
+            }
+            vp2p2 += 10 + rc.senseRubble(lp2p2);
+        }
+        lm3p0 = lp0p0.translate(-3, 0);
+        vm3p0 = UNREACHED;
+        dm3p0 = null;
+        if (rc.onTheMap(lm3p0)) {
+            if (vm3p0 > vm2p1) {
+                vm3p0 = vm2p1;
+                dm3p0 = dm2p1;
+            }
+            if (vm3p0 > vm2p0) {
+                vm3p0 = vm2p0;
+                dm3p0 = dm2p0;
+            }
+            if (vm3p0 > vm2m1) {
+                vm3p0 = vm2m1;
+                dm3p0 = dm2m1;
+            }
+            vm3p0 += 10 + rc.senseRubble(lm3p0);
+        }
+        lp0m3 = lp0p0.translate(0, -3);
+        vp0m3 = UNREACHED;
+        dp0m3 = null;
+        if (rc.onTheMap(lp0m3)) {
+            if (vp0m3 > vp0m2) {
+                vp0m3 = vp0m2;
+                dp0m3 = dp0m2;
+            }
+            if (vp0m3 > vp1m2) {
+                vp0m3 = vp1m2;
+                dp0m3 = dp1m2;
+            }
+            if (vp0m3 > vm1m2) {
+                vp0m3 = vm1m2;
+                dp0m3 = dm1m2;
+            }
+            vp0m3 += 10 + rc.senseRubble(lp0m3);
+        }
+        lp0p3 = lp0p0.translate(0, 3);
+        vp0p3 = UNREACHED;
+        dp0p3 = null;
+        if (rc.onTheMap(lp0p3)) {
+            if (vp0p3 > vp1p2) {
+                vp0p3 = vp1p2;
+                dp0p3 = dp1p2;
+            }
+            if (vp0p3 > vp0p2) {
+                vp0p3 = vp0p2;
+                dp0p3 = dp0p2;
+            }
+            if (vp0p3 > vm1p2) {
+                vp0p3 = vm1p2;
+                dp0p3 = dm1p2;
+            }
+            vp0p3 += 10 + rc.senseRubble(lp0p3);
+        }
+        lp3p0 = lp0p0.translate(3, 0);
+        vp3p0 = UNREACHED;
+        dp3p0 = null;
+        if (rc.onTheMap(lp3p0)) {
+            if (vp3p0 > vp2m1) {
+                vp3p0 = vp2m1;
+                dp3p0 = dp2m1;
+            }
+            if (vp3p0 > vp2p0) {
+                vp3p0 = vp2p0;
+                dp3p0 = dp2p0;
+            }
+            if (vp3p0 > vp2p1) {
+                vp3p0 = vp2p1;
+                dp3p0 = dp2p1;
+            }
+            vp3p0 += 10 + rc.senseRubble(lp3p0);
+        }
+        lm3m1 = lp0p0.translate(-3, -1);
+        vm3m1 = UNREACHED;
+        dm3m1 = null;
+        if (rc.onTheMap(lm3m1)) {
+            if (vm3m1 > vm3p0) {
+                vm3m1 = vm3p0;
+                dm3m1 = dm3p0;
+            }
+            if (vm3m1 > vm2p0) {
+                vm3m1 = vm2p0;
+                dm3m1 = dm2p0;
+            }
+            if (vm3m1 > vm2m1) {
+                vm3m1 = vm2m1;
+                dm3m1 = dm2m1;
+            }
+            if (vm3m1 > vm2m2) {
+                vm3m1 = vm2m2;
+                dm3m1 = dm2m2;
+            }
+            vm3m1 += 10 + rc.senseRubble(lm3m1);
+        }
+        lm3p1 = lp0p0.translate(-3, 1);
+        vm3p1 = UNREACHED;
+        dm3p1 = null;
+        if (rc.onTheMap(lm3p1)) {
+            if (vm3p1 > vm2p2) {
+                vm3p1 = vm2p2;
+                dm3p1 = dm2p2;
+            }
+            if (vm3p1 > vm2p1) {
+                vm3p1 = vm2p1;
+                dm3p1 = dm2p1;
+            }
+            if (vm3p1 > vm2p0) {
+                vm3p1 = vm2p0;
+                dm3p1 = dm2p0;
+            }
+            if (vm3p1 > vm3p0) {
+                vm3p1 = vm3p0;
+                dm3p1 = dm3p0;
+            }
+            vm3p1 += 10 + rc.senseRubble(lm3p1);
+        }
+        lm1m3 = lp0p0.translate(-1, -3);
+        vm1m3 = UNREACHED;
+        dm1m3 = null;
+        if (rc.onTheMap(lm1m3)) {
+            if (vm1m3 > vm1m2) {
+                vm1m3 = vm1m2;
+                dm1m3 = dm1m2;
+            }
+            if (vm1m3 > vp0m2) {
+                vm1m3 = vp0m2;
+                dm1m3 = dp0m2;
+            }
+            if (vm1m3 > vp0m3) {
+                vm1m3 = vp0m3;
+                dm1m3 = dp0m3;
+            }
+            if (vm1m3 > vm2m2) {
+                vm1m3 = vm2m2;
+                dm1m3 = dm2m2;
+            }
+            vm1m3 += 10 + rc.senseRubble(lm1m3);
+        }
+        lm1p3 = lp0p0.translate(-1, 3);
+        vm1p3 = UNREACHED;
+        dm1p3 = null;
+        if (rc.onTheMap(lm1p3)) {
+            if (vm1p3 > vp0p3) {
+                vm1p3 = vp0p3;
+                dm1p3 = dp0p3;
+            }
+            if (vm1p3 > vp0p2) {
+                vm1p3 = vp0p2;
+                dm1p3 = dp0p2;
+            }
+            if (vm1p3 > vm1p2) {
+                vm1p3 = vm1p2;
+                dm1p3 = dm1p2;
+            }
+            if (vm1p3 > vm2p2) {
+                vm1p3 = vm2p2;
+                dm1p3 = dm2p2;
+            }
+            vm1p3 += 10 + rc.senseRubble(lm1p3);
+        }
+        lp1m3 = lp0p0.translate(1, -3);
+        vp1m3 = UNREACHED;
+        dp1m3 = null;
+        if (rc.onTheMap(lp1m3)) {
+            if (vp1m3 > vp1m2) {
+                vp1m3 = vp1m2;
+                dp1m3 = dp1m2;
+            }
+            if (vp1m3 > vp2m2) {
+                vp1m3 = vp2m2;
+                dp1m3 = dp2m2;
+            }
+            if (vp1m3 > vp0m3) {
+                vp1m3 = vp0m3;
+                dp1m3 = dp0m3;
+            }
+            if (vp1m3 > vp0m2) {
+                vp1m3 = vp0m2;
+                dp1m3 = dp0m2;
+            }
+            vp1m3 += 10 + rc.senseRubble(lp1m3);
+        }
+        lp1p3 = lp0p0.translate(1, 3);
+        vp1p3 = UNREACHED;
+        dp1p3 = null;
+        if (rc.onTheMap(lp1p3)) {
+            if (vp1p3 > vp2p2) {
+                vp1p3 = vp2p2;
+                dp1p3 = dp2p2;
+            }
+            if (vp1p3 > vp1p2) {
+                vp1p3 = vp1p2;
+                dp1p3 = dp1p2;
+            }
+            if (vp1p3 > vp0p2) {
+                vp1p3 = vp0p2;
+                dp1p3 = dp0p2;
+            }
+            if (vp1p3 > vp0p3) {
+                vp1p3 = vp0p3;
+                dp1p3 = dp0p3;
+            }
+            vp1p3 += 10 + rc.senseRubble(lp1p3);
+        }
+        lp3m1 = lp0p0.translate(3, -1);
+        vp3m1 = UNREACHED;
+        dp3m1 = null;
+        if (rc.onTheMap(lp3m1)) {
+            if (vp3m1 > vp3p0) {
+                vp3m1 = vp3p0;
+                dp3m1 = dp3p0;
+            }
+            if (vp3m1 > vp2m2) {
+                vp3m1 = vp2m2;
+                dp3m1 = dp2m2;
+            }
+            if (vp3m1 > vp2m1) {
+                vp3m1 = vp2m1;
+                dp3m1 = dp2m1;
+            }
+            if (vp3m1 > vp2p0) {
+                vp3m1 = vp2p0;
+                dp3m1 = dp2p0;
+            }
+            vp3m1 += 10 + rc.senseRubble(lp3m1);
+        }
+        lp3p1 = lp0p0.translate(3, 1);
+        vp3p1 = UNREACHED;
+        dp3p1 = null;
+        if (rc.onTheMap(lp3p1)) {
+            if (vp3p1 > vp3p0) {
+                vp3p1 = vp3p0;
+                dp3p1 = dp3p0;
+            }
+            if (vp3p1 > vp2p0) {
+                vp3p1 = vp2p0;
+                dp3p1 = dp2p0;
+            }
+            if (vp3p1 > vp2p1) {
+                vp3p1 = vp2p1;
+                dp3p1 = dp2p1;
+            }
+            if (vp3p1 > vp2p2) {
+                vp3p1 = vp2p2;
+                dp3p1 = dp2p2;
+            }
+            vp3p1 += 10 + rc.senseRubble(lp3p1);
+        }
+        lm3m2 = lp0p0.translate(-3, -2);
+        vm3m2 = UNREACHED;
+        dm3m2 = null;
+        if (rc.onTheMap(lm3m2)) {
+            if (vm3m2 > vm3m1) {
+                vm3m2 = vm3m1;
+                dm3m2 = dm3m1;
+            }
+            if (vm3m2 > vm2m1) {
+                vm3m2 = vm2m1;
+                dm3m2 = dm2m1;
+            }
+            if (vm3m2 > vm2m2) {
+                vm3m2 = vm2m2;
+                dm3m2 = dm2m2;
+            }
+            vm3m2 += 10 + rc.senseRubble(lm3m2);
+        }
+        lm3p2 = lp0p0.translate(-3, 2);
+        vm3p2 = UNREACHED;
+        dm3p2 = null;
+        if (rc.onTheMap(lm3p2)) {
+            if (vm3p2 > vm2p2) {
+                vm3p2 = vm2p2;
+                dm3p2 = dm2p2;
+            }
+            if (vm3p2 > vm2p1) {
+                vm3p2 = vm2p1;
+                dm3p2 = dm2p1;
+            }
+            if (vm3p2 > vm3p1) {
+                vm3p2 = vm3p1;
+                dm3p2 = dm3p1;
+            }
+            vm3p2 += 10 + rc.senseRubble(lm3p2);
+        }
+        lm2m3 = lp0p0.translate(-2, -3);
+        vm2m3 = UNREACHED;
+        dm2m3 = null;
+        if (rc.onTheMap(lm2m3)) {
+            if (vm2m3 > vm2m2) {
+                vm2m3 = vm2m2;
+                dm2m3 = dm2m2;
+            }
+            if (vm2m3 > vm1m2) {
+                vm2m3 = vm1m2;
+                dm2m3 = dm1m2;
+            }
+            if (vm2m3 > vm1m3) {
+                vm2m3 = vm1m3;
+                dm2m3 = dm1m3;
+            }
+            vm2m3 += 10 + rc.senseRubble(lm2m3);
+        }
+        lm2p3 = lp0p0.translate(-2, 3);
+        vm2p3 = UNREACHED;
+        dm2p3 = null;
+        if (rc.onTheMap(lm2p3)) {
+            if (vm2p3 > vm1p3) {
+                vm2p3 = vm1p3;
+                dm2p3 = dm1p3;
+            }
+            if (vm2p3 > vm1p2) {
+                vm2p3 = vm1p2;
+                dm2p3 = dm1p2;
+            }
+            if (vm2p3 > vm2p2) {
+                vm2p3 = vm2p2;
+                dm2p3 = dm2p2;
+            }
+            vm2p3 += 10 + rc.senseRubble(lm2p3);
+        }
+        lp2m3 = lp0p0.translate(2, -3);
+        vp2m3 = UNREACHED;
+        dp2m3 = null;
+        if (rc.onTheMap(lp2m3)) {
+            if (vp2m3 > vp2m2) {
+                vp2m3 = vp2m2;
+                dp2m3 = dp2m2;
+            }
+            if (vp2m3 > vp1m3) {
+                vp2m3 = vp1m3;
+                dp2m3 = dp1m3;
+            }
+            if (vp2m3 > vp1m2) {
+                vp2m3 = vp1m2;
+                dp2m3 = dp1m2;
+            }
+            vp2m3 += 10 + rc.senseRubble(lp2m3);
+        }
+        lp2p3 = lp0p0.translate(2, 3);
+        vp2p3 = UNREACHED;
+        dp2p3 = null;
+        if (rc.onTheMap(lp2p3)) {
+            if (vp2p3 > vp2p2) {
+                vp2p3 = vp2p2;
+                dp2p3 = dp2p2;
+            }
+            if (vp2p3 > vp1p2) {
+                vp2p3 = vp1p2;
+                dp2p3 = dp1p2;
+            }
+            if (vp2p3 > vp1p3) {
+                vp2p3 = vp1p3;
+                dp2p3 = dp1p3;
+            }
+            vp2p3 += 10 + rc.senseRubble(lp2p3);
+        }
+        lp3m2 = lp0p0.translate(3, -2);
+        vp3m2 = UNREACHED;
+        dp3m2 = null;
+        if (rc.onTheMap(lp3m2)) {
+            if (vp3m2 > vp3m1) {
+                vp3m2 = vp3m1;
+                dp3m2 = dp3m1;
+            }
+            if (vp3m2 > vp2m2) {
+                vp3m2 = vp2m2;
+                dp3m2 = dp2m2;
+            }
+            if (vp3m2 > vp2m1) {
+                vp3m2 = vp2m1;
+                dp3m2 = dp2m1;
+            }
+            vp3m2 += 10 + rc.senseRubble(lp3m2);
+        }
+        lp3p2 = lp0p0.translate(3, 2);
+        vp3p2 = UNREACHED;
+        dp3p2 = null;
+        if (rc.onTheMap(lp3p2)) {
+            if (vp3p2 > vp3p1) {
+                vp3p2 = vp3p1;
+                dp3p2 = dp3p1;
+            }
+            if (vp3p2 > vp2p1) {
+                vp3p2 = vp2p1;
+                dp3p2 = dp2p1;
+            }
+            if (vp3p2 > vp2p2) {
+                vp3p2 = vp2p2;
+                dp3p2 = dp2p2;
+            }
+            vp3p2 += 10 + rc.senseRubble(lp3p2);
+        }
+        lm4p0 = lp0p0.translate(-4, 0);
+        vm4p0 = UNREACHED;
+        dm4p0 = null;
+        if (rc.onTheMap(lm4p0)) {
+            if (vm4p0 > vm3p1) {
+                vm4p0 = vm3p1;
+                dm4p0 = dm3p1;
+            }
+            if (vm4p0 > vm3p0) {
+                vm4p0 = vm3p0;
+                dm4p0 = dm3p0;
+            }
+            if (vm4p0 > vm3m1) {
+                vm4p0 = vm3m1;
+                dm4p0 = dm3m1;
+            }
+            vm4p0 += 10 + rc.senseRubble(lm4p0);
+        }
+        lp0m4 = lp0p0.translate(0, -4);
+        vp0m4 = UNREACHED;
+        dp0m4 = null;
+        if (rc.onTheMap(lp0m4)) {
+            if (vp0m4 > vp0m3) {
+                vp0m4 = vp0m3;
+                dp0m4 = dp0m3;
+            }
+            if (vp0m4 > vp1m3) {
+                vp0m4 = vp1m3;
+                dp0m4 = dp1m3;
+            }
+            if (vp0m4 > vm1m3) {
+                vp0m4 = vm1m3;
+                dp0m4 = dm1m3;
+            }
+            vp0m4 += 10 + rc.senseRubble(lp0m4);
+        }
+        lp0p4 = lp0p0.translate(0, 4);
+        vp0p4 = UNREACHED;
+        dp0p4 = null;
+        if (rc.onTheMap(lp0p4)) {
+            if (vp0p4 > vp1p3) {
+                vp0p4 = vp1p3;
+                dp0p4 = dp1p3;
+            }
+            if (vp0p4 > vp0p3) {
+                vp0p4 = vp0p3;
+                dp0p4 = dp0p3;
+            }
+            if (vp0p4 > vm1p3) {
+                vp0p4 = vm1p3;
+                dp0p4 = dm1p3;
+            }
+            vp0p4 += 10 + rc.senseRubble(lp0p4);
+        }
+        lp4p0 = lp0p0.translate(4, 0);
+        vp4p0 = UNREACHED;
+        dp4p0 = null;
+        if (rc.onTheMap(lp4p0)) {
+            if (vp4p0 > vp3m1) {
+                vp4p0 = vp3m1;
+                dp4p0 = dp3m1;
+            }
+            if (vp4p0 > vp3p0) {
+                vp4p0 = vp3p0;
+                dp4p0 = dp3p0;
+            }
+            if (vp4p0 > vp3p1) {
+                vp4p0 = vp3p1;
+                dp4p0 = dp3p1;
+            }
+            vp4p0 += 10 + rc.senseRubble(lp4p0);
+        }
+        lm4m1 = lp0p0.translate(-4, -1);
+        vm4m1 = UNREACHED;
+        dm4m1 = null;
+        if (rc.onTheMap(lm4m1)) {
+            if (vm4m1 > vm4p0) {
+                vm4m1 = vm4p0;
+                dm4m1 = dm4p0;
+            }
+            if (vm4m1 > vm3p0) {
+                vm4m1 = vm3p0;
+                dm4m1 = dm3p0;
+            }
+            if (vm4m1 > vm3m1) {
+                vm4m1 = vm3m1;
+                dm4m1 = dm3m1;
+            }
+            if (vm4m1 > vm3m2) {
+                vm4m1 = vm3m2;
+                dm4m1 = dm3m2;
+            }
+            vm4m1 += 10 + rc.senseRubble(lm4m1);
+        }
+        lm4p1 = lp0p0.translate(-4, 1);
+        vm4p1 = UNREACHED;
+        dm4p1 = null;
+        if (rc.onTheMap(lm4p1)) {
+            if (vm4p1 > vm3p2) {
+                vm4p1 = vm3p2;
+                dm4p1 = dm3p2;
+            }
+            if (vm4p1 > vm3p1) {
+                vm4p1 = vm3p1;
+                dm4p1 = dm3p1;
+            }
+            if (vm4p1 > vm3p0) {
+                vm4p1 = vm3p0;
+                dm4p1 = dm3p0;
+            }
+            if (vm4p1 > vm4p0) {
+                vm4p1 = vm4p0;
+                dm4p1 = dm4p0;
+            }
+            vm4p1 += 10 + rc.senseRubble(lm4p1);
+        }
+        lm1m4 = lp0p0.translate(-1, -4);
+        vm1m4 = UNREACHED;
+        dm1m4 = null;
+        if (rc.onTheMap(lm1m4)) {
+            if (vm1m4 > vm1m3) {
+                vm1m4 = vm1m3;
+                dm1m4 = dm1m3;
+            }
+            if (vm1m4 > vp0m3) {
+                vm1m4 = vp0m3;
+                dm1m4 = dp0m3;
+            }
+            if (vm1m4 > vp0m4) {
+                vm1m4 = vp0m4;
+                dm1m4 = dp0m4;
+            }
+            if (vm1m4 > vm2m3) {
+                vm1m4 = vm2m3;
+                dm1m4 = dm2m3;
+            }
+            vm1m4 += 10 + rc.senseRubble(lm1m4);
+        }
+        lm1p4 = lp0p0.translate(-1, 4);
+        vm1p4 = UNREACHED;
+        dm1p4 = null;
+        if (rc.onTheMap(lm1p4)) {
+            if (vm1p4 > vp0p4) {
+                vm1p4 = vp0p4;
+                dm1p4 = dp0p4;
+            }
+            if (vm1p4 > vp0p3) {
+                vm1p4 = vp0p3;
+                dm1p4 = dp0p3;
+            }
+            if (vm1p4 > vm1p3) {
+                vm1p4 = vm1p3;
+                dm1p4 = dm1p3;
+            }
+            if (vm1p4 > vm2p3) {
+                vm1p4 = vm2p3;
+                dm1p4 = dm2p3;
+            }
+            vm1p4 += 10 + rc.senseRubble(lm1p4);
+        }
+        lp1m4 = lp0p0.translate(1, -4);
+        vp1m4 = UNREACHED;
+        dp1m4 = null;
+        if (rc.onTheMap(lp1m4)) {
+            if (vp1m4 > vp1m3) {
+                vp1m4 = vp1m3;
+                dp1m4 = dp1m3;
+            }
+            if (vp1m4 > vp2m3) {
+                vp1m4 = vp2m3;
+                dp1m4 = dp2m3;
+            }
+            if (vp1m4 > vp0m4) {
+                vp1m4 = vp0m4;
+                dp1m4 = dp0m4;
+            }
+            if (vp1m4 > vp0m3) {
+                vp1m4 = vp0m3;
+                dp1m4 = dp0m3;
+            }
+            vp1m4 += 10 + rc.senseRubble(lp1m4);
+        }
+        lp1p4 = lp0p0.translate(1, 4);
+        vp1p4 = UNREACHED;
+        dp1p4 = null;
+        if (rc.onTheMap(lp1p4)) {
+            if (vp1p4 > vp2p3) {
+                vp1p4 = vp2p3;
+                dp1p4 = dp2p3;
+            }
+            if (vp1p4 > vp1p3) {
+                vp1p4 = vp1p3;
+                dp1p4 = dp1p3;
+            }
+            if (vp1p4 > vp0p3) {
+                vp1p4 = vp0p3;
+                dp1p4 = dp0p3;
+            }
+            if (vp1p4 > vp0p4) {
+                vp1p4 = vp0p4;
+                dp1p4 = dp0p4;
+            }
+            vp1p4 += 10 + rc.senseRubble(lp1p4);
+        }
+        lp4m1 = lp0p0.translate(4, -1);
+        vp4m1 = UNREACHED;
+        dp4m1 = null;
+        if (rc.onTheMap(lp4m1)) {
+            if (vp4m1 > vp4p0) {
+                vp4m1 = vp4p0;
+                dp4m1 = dp4p0;
+            }
+            if (vp4m1 > vp3m2) {
+                vp4m1 = vp3m2;
+                dp4m1 = dp3m2;
+            }
+            if (vp4m1 > vp3m1) {
+                vp4m1 = vp3m1;
+                dp4m1 = dp3m1;
+            }
+            if (vp4m1 > vp3p0) {
+                vp4m1 = vp3p0;
+                dp4m1 = dp3p0;
+            }
+            vp4m1 += 10 + rc.senseRubble(lp4m1);
+        }
+        lp4p1 = lp0p0.translate(4, 1);
+        vp4p1 = UNREACHED;
+        dp4p1 = null;
+        if (rc.onTheMap(lp4p1)) {
+            if (vp4p1 > vp4p0) {
+                vp4p1 = vp4p0;
+                dp4p1 = dp4p0;
+            }
+            if (vp4p1 > vp3p0) {
+                vp4p1 = vp3p0;
+                dp4p1 = dp3p0;
+            }
+            if (vp4p1 > vp3p1) {
+                vp4p1 = vp3p1;
+                dp4p1 = dp3p1;
+            }
+            if (vp4p1 > vp3p2) {
+                vp4p1 = vp3p2;
+                dp4p1 = dp3p2;
+            }
+            vp4p1 += 10 + rc.senseRubble(lp4p1);
+        }
+        lm3m3 = lp0p0.translate(-3, -3);
+        vm3m3 = UNREACHED;
+        dm3m3 = null;
+        if (rc.onTheMap(lm3m3)) {
+            if (vm3m3 > vm3m2) {
+                vm3m3 = vm3m2;
+                dm3m3 = dm3m2;
+            }
+            if (vm3m3 > vm2m2) {
+                vm3m3 = vm2m2;
+                dm3m3 = dm2m2;
+            }
+            if (vm3m3 > vm2m3) {
+                vm3m3 = vm2m3;
+                dm3m3 = dm2m3;
+            }
+            vm3m3 += 10 + rc.senseRubble(lm3m3);
+        }
+        lm3p3 = lp0p0.translate(-3, 3);
+        vm3p3 = UNREACHED;
+        dm3p3 = null;
+        if (rc.onTheMap(lm3p3)) {
+            if (vm3p3 > vm2p3) {
+                vm3p3 = vm2p3;
+                dm3p3 = dm2p3;
+            }
+            if (vm3p3 > vm2p2) {
+                vm3p3 = vm2p2;
+                dm3p3 = dm2p2;
+            }
+            if (vm3p3 > vm3p2) {
+                vm3p3 = vm3p2;
+                dm3p3 = dm3p2;
+            }
+            vm3p3 += 10 + rc.senseRubble(lm3p3);
+        }
+        lp3m3 = lp0p0.translate(3, -3);
+        vp3m3 = UNREACHED;
+        dp3m3 = null;
+        if (rc.onTheMap(lp3m3)) {
+            if (vp3m3 > vp3m2) {
+                vp3m3 = vp3m2;
+                dp3m3 = dp3m2;
+            }
+            if (vp3m3 > vp2m3) {
+                vp3m3 = vp2m3;
+                dp3m3 = dp2m3;
+            }
+            if (vp3m3 > vp2m2) {
+                vp3m3 = vp2m2;
+                dp3m3 = dp2m2;
+            }
+            vp3m3 += 10 + rc.senseRubble(lp3m3);
+        }
+        lp3p3 = lp0p0.translate(3, 3);
+        vp3p3 = UNREACHED;
+        dp3p3 = null;
+        if (rc.onTheMap(lp3p3)) {
+            if (vp3p3 > vp3p2) {
+                vp3p3 = vp3p2;
+                dp3p3 = dp3p2;
+            }
+            if (vp3p3 > vp2p2) {
+                vp3p3 = vp2p2;
+                dp3p3 = dp2p2;
+            }
+            if (vp3p3 > vp2p3) {
+                vp3p3 = vp2p3;
+                dp3p3 = dp2p3;
+            }
+            vp3p3 += 10 + rc.senseRubble(lp3p3);
+        }
+        lm4m2 = lp0p0.translate(-4, -2);
+        vm4m2 = UNREACHED;
+        dm4m2 = null;
+        if (rc.onTheMap(lm4m2)) {
+            if (vm4m2 > vm4m1) {
+                vm4m2 = vm4m1;
+                dm4m2 = dm4m1;
+            }
+            if (vm4m2 > vm3m1) {
+                vm4m2 = vm3m1;
+                dm4m2 = dm3m1;
+            }
+            if (vm4m2 > vm3m2) {
+                vm4m2 = vm3m2;
+                dm4m2 = dm3m2;
+            }
+            if (vm4m2 > vm3m3) {
+                vm4m2 = vm3m3;
+                dm4m2 = dm3m3;
+            }
+            vm4m2 += 10 + rc.senseRubble(lm4m2);
+        }
+        lm4p2 = lp0p0.translate(-4, 2);
+        vm4p2 = UNREACHED;
+        dm4p2 = null;
+        if (rc.onTheMap(lm4p2)) {
+            if (vm4p2 > vm3p3) {
+                vm4p2 = vm3p3;
+                dm4p2 = dm3p3;
+            }
+            if (vm4p2 > vm3p2) {
+                vm4p2 = vm3p2;
+                dm4p2 = dm3p2;
+            }
+            if (vm4p2 > vm3p1) {
+                vm4p2 = vm3p1;
+                dm4p2 = dm3p1;
+            }
+            if (vm4p2 > vm4p1) {
+                vm4p2 = vm4p1;
+                dm4p2 = dm4p1;
+            }
+            vm4p2 += 10 + rc.senseRubble(lm4p2);
+        }
+        lm2m4 = lp0p0.translate(-2, -4);
+        vm2m4 = UNREACHED;
+        dm2m4 = null;
+        if (rc.onTheMap(lm2m4)) {
+            if (vm2m4 > vm2m3) {
+                vm2m4 = vm2m3;
+                dm2m4 = dm2m3;
+            }
+            if (vm2m4 > vm1m3) {
+                vm2m4 = vm1m3;
+                dm2m4 = dm1m3;
+            }
+            if (vm2m4 > vm1m4) {
+                vm2m4 = vm1m4;
+                dm2m4 = dm1m4;
+            }
+            if (vm2m4 > vm3m3) {
+                vm2m4 = vm3m3;
+                dm2m4 = dm3m3;
+            }
+            vm2m4 += 10 + rc.senseRubble(lm2m4);
+        }
+        lm2p4 = lp0p0.translate(-2, 4);
+        vm2p4 = UNREACHED;
+        dm2p4 = null;
+        if (rc.onTheMap(lm2p4)) {
+            if (vm2p4 > vm1p4) {
+                vm2p4 = vm1p4;
+                dm2p4 = dm1p4;
+            }
+            if (vm2p4 > vm1p3) {
+                vm2p4 = vm1p3;
+                dm2p4 = dm1p3;
+            }
+            if (vm2p4 > vm2p3) {
+                vm2p4 = vm2p3;
+                dm2p4 = dm2p3;
+            }
+            if (vm2p4 > vm3p3) {
+                vm2p4 = vm3p3;
+                dm2p4 = dm3p3;
+            }
+            vm2p4 += 10 + rc.senseRubble(lm2p4);
+        }
+        lp2m4 = lp0p0.translate(2, -4);
+        vp2m4 = UNREACHED;
+        dp2m4 = null;
+        if (rc.onTheMap(lp2m4)) {
+            if (vp2m4 > vp2m3) {
+                vp2m4 = vp2m3;
+                dp2m4 = dp2m3;
+            }
+            if (vp2m4 > vp3m3) {
+                vp2m4 = vp3m3;
+                dp2m4 = dp3m3;
+            }
+            if (vp2m4 > vp1m4) {
+                vp2m4 = vp1m4;
+                dp2m4 = dp1m4;
+            }
+            if (vp2m4 > vp1m3) {
+                vp2m4 = vp1m3;
+                dp2m4 = dp1m3;
+            }
+            vp2m4 += 10 + rc.senseRubble(lp2m4);
+        }
+        lp2p4 = lp0p0.translate(2, 4);
+        vp2p4 = UNREACHED;
+        dp2p4 = null;
+        if (rc.onTheMap(lp2p4)) {
+            if (vp2p4 > vp3p3) {
+                vp2p4 = vp3p3;
+                dp2p4 = dp3p3;
+            }
+            if (vp2p4 > vp2p3) {
+                vp2p4 = vp2p3;
+                dp2p4 = dp2p3;
+            }
+            if (vp2p4 > vp1p3) {
+                vp2p4 = vp1p3;
+                dp2p4 = dp1p3;
+            }
+            if (vp2p4 > vp1p4) {
+                vp2p4 = vp1p4;
+                dp2p4 = dp1p4;
+            }
+            vp2p4 += 10 + rc.senseRubble(lp2p4);
+        }
+        lp4m2 = lp0p0.translate(4, -2);
+        vp4m2 = UNREACHED;
+        dp4m2 = null;
+        if (rc.onTheMap(lp4m2)) {
+            if (vp4m2 > vp4m1) {
+                vp4m2 = vp4m1;
+                dp4m2 = dp4m1;
+            }
+            if (vp4m2 > vp3m3) {
+                vp4m2 = vp3m3;
+                dp4m2 = dp3m3;
+            }
+            if (vp4m2 > vp3m2) {
+                vp4m2 = vp3m2;
+                dp4m2 = dp3m2;
+            }
+            if (vp4m2 > vp3m1) {
+                vp4m2 = vp3m1;
+                dp4m2 = dp3m1;
+            }
+            vp4m2 += 10 + rc.senseRubble(lp4m2);
+        }
+        lp4p2 = lp0p0.translate(4, 2);
+        vp4p2 = UNREACHED;
+        dp4p2 = null;
+        if (rc.onTheMap(lp4p2)) {
+            if (vp4p2 > vp4p1) {
+                vp4p2 = vp4p1;
+                dp4p2 = dp4p1;
+            }
+            if (vp4p2 > vp3p1) {
+                vp4p2 = vp3p1;
+                dp4p2 = dp3p1;
+            }
+            if (vp4p2 > vp3p2) {
+                vp4p2 = vp3p2;
+                dp4p2 = dp3p2;
+            }
+            if (vp4p2 > vp3p3) {
+                vp4p2 = vp3p3;
+                dp4p2 = dp3p3;
+            }
+            vp4p2 += 10 + rc.senseRubble(lp4p2);
+        }
+
+        int dx = target.x - lp0p0.x;
+        int dy = target.y - lp0p0.y;
+        switch (dx) {
+            case -4:
+                switch (dy) {
+                    case 0:
+                        if (dm4p0 != null) return dm4p0;
+                        break;
+                    case -1:
+                        if (dm4m1 != null) return dm4m1;
+                        break;
+                    case 1:
+                        if (dm4p1 != null) return dm4p1;
+                        break;
+                    case -2:
+                        if (dm4m2 != null) return dm4m2;
+                        break;
+                    case 2:
+                        if (dm4p2 != null) return dm4p2;
+                        break;
+                }
+                break;
+            case -3:
+                switch (dy) {
+                    case 0:
+                        if (dm3p0 != null) return dm3p0;
+                        break;
+                    case -1:
+                        if (dm3m1 != null) return dm3m1;
+                        break;
+                    case 1:
+                        if (dm3p1 != null) return dm3p1;
+                        break;
+                    case -2:
+                        if (dm3m2 != null) return dm3m2;
+                        break;
+                    case 2:
+                        if (dm3p2 != null) return dm3p2;
+                        break;
+                    case -3:
+                        if (dm3m3 != null) return dm3m3;
+                        break;
+                    case 3:
+                        if (dm3p3 != null) return dm3p3;
+                        break;
+                }
+                break;
+            case -2:
+                switch (dy) {
+                    case 0:
+                        if (dm2p0 != null) return dm2p0;
+                        break;
+                    case -1:
+                        if (dm2m1 != null) return dm2m1;
+                        break;
+                    case 1:
+                        if (dm2p1 != null) return dm2p1;
+                        break;
+                    case -2:
+                        if (dm2m2 != null) return dm2m2;
+                        break;
+                    case 2:
+                        if (dm2p2 != null) return dm2p2;
+                        break;
+                    case -3:
+                        if (dm2m3 != null) return dm2m3;
+                        break;
+                    case 3:
+                        if (dm2p3 != null) return dm2p3;
+                        break;
+                    case -4:
+                        if (dm2m4 != null) return dm2m4;
+                        break;
+                    case 4:
+                        if (dm2p4 != null) return dm2p4;
+                        break;
+                }
+                break;
+            case -1:
+                switch (dy) {
+                    case 0:
+                        if (dm1p0 != null) return dm1p0;
+                        break;
+                    case -1:
+                        if (dm1m1 != null) return dm1m1;
+                        break;
+                    case 1:
+                        if (dm1p1 != null) return dm1p1;
+                        break;
+                    case -2:
+                        if (dm1m2 != null) return dm1m2;
+                        break;
+                    case 2:
+                        if (dm1p2 != null) return dm1p2;
+                        break;
+                    case -3:
+                        if (dm1m3 != null) return dm1m3;
+                        break;
+                    case 3:
+                        if (dm1p3 != null) return dm1p3;
+                        break;
+                    case -4:
+                        if (dm1m4 != null) return dm1m4;
+                        break;
+                    case 4:
+                        if (dm1p4 != null) return dm1p4;
+                        break;
+                }
+                break;
+            case 0:
+                switch (dy) {
+                    case -1:
+                        if (dp0m1 != null) return dp0m1;
+                        break;
+                    case 1:
+                        if (dp0p1 != null) return dp0p1;
+                        break;
+                    case -2:
+                        if (dp0m2 != null) return dp0m2;
+                        break;
+                    case 2:
+                        if (dp0p2 != null) return dp0p2;
+                        break;
+                    case -3:
+                        if (dp0m3 != null) return dp0m3;
+                        break;
+                    case 3:
+                        if (dp0p3 != null) return dp0p3;
+                        break;
+                    case -4:
+                        if (dp0m4 != null) return dp0m4;
+                        break;
+                    case 4:
+                        if (dp0p4 != null) return dp0p4;
+                        break;
+                }
+                break;
+            case 1:
+                switch (dy) {
+                    case 0:
+                        if (dp1p0 != null) return dp1p0;
+                        break;
+                    case -1:
+                        if (dp1m1 != null) return dp1m1;
+                        break;
+                    case 1:
+                        if (dp1p1 != null) return dp1p1;
+                        break;
+                    case -2:
+                        if (dp1m2 != null) return dp1m2;
+                        break;
+                    case 2:
+                        if (dp1p2 != null) return dp1p2;
+                        break;
+                    case -3:
+                        if (dp1m3 != null) return dp1m3;
+                        break;
+                    case 3:
+                        if (dp1p3 != null) return dp1p3;
+                        break;
+                    case -4:
+                        if (dp1m4 != null) return dp1m4;
+                        break;
+                    case 4:
+                        if (dp1p4 != null) return dp1p4;
+                        break;
+                }
+                break;
+            case 2:
+                switch (dy) {
+                    case 0:
+                        if (dp2p0 != null) return dp2p0;
+                        break;
+                    case -1:
+                        if (dp2m1 != null) return dp2m1;
+                        break;
+                    case 1:
+                        if (dp2p1 != null) return dp2p1;
+                        break;
+                    case -2:
+                        if (dp2m2 != null) return dp2m2;
+                        break;
+                    case 2:
+                        if (dp2p2 != null) return dp2p2;
+                        break;
+                    case -3:
+                        if (dp2m3 != null) return dp2m3;
+                        break;
+                    case 3:
+                        if (dp2p3 != null) return dp2p3;
+                        break;
+                    case -4:
+                        if (dp2m4 != null) return dp2m4;
+                        break;
+                    case 4:
+                        if (dp2p4 != null) return dp2p4;
+                        break;
+                }
+                break;
+            case 3:
+                switch (dy) {
+                    case 0:
+                        if (dp3p0 != null) return dp3p0;
+                        break;
+                    case -1:
+                        if (dp3m1 != null) return dp3m1;
+                        break;
+                    case 1:
+                        if (dp3p1 != null) return dp3p1;
+                        break;
+                    case -2:
+                        if (dp3m2 != null) return dp3m2;
+                        break;
+                    case 2:
+                        if (dp3p2 != null) return dp3p2;
+                        break;
+                    case -3:
+                        if (dp3m3 != null) return dp3m3;
+                        break;
+                    case 3:
+                        if (dp3p3 != null) return dp3p3;
+                        break;
+                }
+                break;
+            case 4:
+                switch (dy) {
+                    case 0:
+                        if (dp4p0 != null) return dp4p0;
+                        break;
+                    case -1:
+                        if (dp4m1 != null) return dp4m1;
+                        break;
+                    case 1:
+                        if (dp4p1 != null) return dp4p1;
+                        break;
+                    case -2:
+                        if (dp4m2 != null) return dp4m2;
+                        break;
+                    case 2:
+                        if (dp4p2 != null) return dp4p2;
+                        break;
+                }
+                break;
+        }
+
+        Direction best = null;
+        int bestScore = UNREACHED;
+        int score;
+        score = vm3m2 + HEURISTIC * Math.max(Math.abs(target.x - lm3m2.x), Math.abs(target.y - lm3m2.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dm3m2;
+        }
+        score = vm3p2 + HEURISTIC * Math.max(Math.abs(target.x - lm3p2.x), Math.abs(target.y - lm3p2.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dm3p2;
+        }
+        score = vm2m3 + HEURISTIC * Math.max(Math.abs(target.x - lm2m3.x), Math.abs(target.y - lm2m3.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dm2m3;
+        }
+        score = vm2p3 + HEURISTIC * Math.max(Math.abs(target.x - lm2p3.x), Math.abs(target.y - lm2p3.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dm2p3;
+        }
+        score = vp2m3 + HEURISTIC * Math.max(Math.abs(target.x - lp2m3.x), Math.abs(target.y - lp2m3.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dp2m3;
+        }
+        score = vp2p3 + HEURISTIC * Math.max(Math.abs(target.x - lp2p3.x), Math.abs(target.y - lp2p3.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dp2p3;
+        }
+        score = vp3m2 + HEURISTIC * Math.max(Math.abs(target.x - lp3m2.x), Math.abs(target.y - lp3m2.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dp3m2;
+        }
+        score = vp3p2 + HEURISTIC * Math.max(Math.abs(target.x - lp3p2.x), Math.abs(target.y - lp3p2.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dp3p2;
+        }
+        score = vm4p0 + HEURISTIC * Math.max(Math.abs(target.x - lm4p0.x), Math.abs(target.y - lm4p0.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dm4p0;
+        }
+        score = vp0m4 + HEURISTIC * Math.max(Math.abs(target.x - lp0m4.x), Math.abs(target.y - lp0m4.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dp0m4;
+        }
+        score = vp0p4 + HEURISTIC * Math.max(Math.abs(target.x - lp0p4.x), Math.abs(target.y - lp0p4.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dp0p4;
+        }
+        score = vp4p0 + HEURISTIC * Math.max(Math.abs(target.x - lp4p0.x), Math.abs(target.y - lp4p0.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dp4p0;
+        }
+        score = vm4m1 + HEURISTIC * Math.max(Math.abs(target.x - lm4m1.x), Math.abs(target.y - lm4m1.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dm4m1;
+        }
+        score = vm4p1 + HEURISTIC * Math.max(Math.abs(target.x - lm4p1.x), Math.abs(target.y - lm4p1.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dm4p1;
+        }
+        score = vm1m4 + HEURISTIC * Math.max(Math.abs(target.x - lm1m4.x), Math.abs(target.y - lm1m4.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dm1m4;
+        }
+        score = vm1p4 + HEURISTIC * Math.max(Math.abs(target.x - lm1p4.x), Math.abs(target.y - lm1p4.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dm1p4;
+        }
+        score = vp1m4 + HEURISTIC * Math.max(Math.abs(target.x - lp1m4.x), Math.abs(target.y - lp1m4.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dp1m4;
+        }
+        score = vp1p4 + HEURISTIC * Math.max(Math.abs(target.x - lp1p4.x), Math.abs(target.y - lp1p4.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dp1p4;
+        }
+        score = vp4m1 + HEURISTIC * Math.max(Math.abs(target.x - lp4m1.x), Math.abs(target.y - lp4m1.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dp4m1;
+        }
+        score = vp4p1 + HEURISTIC * Math.max(Math.abs(target.x - lp4p1.x), Math.abs(target.y - lp4p1.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dp4p1;
+        }
+        score = vm3m3 + HEURISTIC * Math.max(Math.abs(target.x - lm3m3.x), Math.abs(target.y - lm3m3.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dm3m3;
+        }
+        score = vm3p3 + HEURISTIC * Math.max(Math.abs(target.x - lm3p3.x), Math.abs(target.y - lm3p3.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dm3p3;
+        }
+        score = vp3m3 + HEURISTIC * Math.max(Math.abs(target.x - lp3m3.x), Math.abs(target.y - lp3m3.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dp3m3;
+        }
+        score = vp3p3 + HEURISTIC * Math.max(Math.abs(target.x - lp3p3.x), Math.abs(target.y - lp3p3.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dp3p3;
+        }
+        score = vm4m2 + HEURISTIC * Math.max(Math.abs(target.x - lm4m2.x), Math.abs(target.y - lm4m2.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dm4m2;
+        }
+        score = vm4p2 + HEURISTIC * Math.max(Math.abs(target.x - lm4p2.x), Math.abs(target.y - lm4p2.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dm4p2;
+        }
+        score = vm2m4 + HEURISTIC * Math.max(Math.abs(target.x - lm2m4.x), Math.abs(target.y - lm2m4.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dm2m4;
+        }
+        score = vm2p4 + HEURISTIC * Math.max(Math.abs(target.x - lm2p4.x), Math.abs(target.y - lm2p4.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dm2p4;
+        }
+        score = vp2m4 + HEURISTIC * Math.max(Math.abs(target.x - lp2m4.x), Math.abs(target.y - lp2m4.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dp2m4;
+        }
+        score = vp2p4 + HEURISTIC * Math.max(Math.abs(target.x - lp2p4.x), Math.abs(target.y - lp2p4.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dp2p4;
+        }
+        score = vp4m2 + HEURISTIC * Math.max(Math.abs(target.x - lp4m2.x), Math.abs(target.y - lp4m2.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dp4m2;
+        }
+        score = vp4p2 + HEURISTIC * Math.max(Math.abs(target.x - lp4p2.x), Math.abs(target.y - lp4p2.y));
+        if (score < bestScore) {
+            bestScore = score;
+            best = dp4p2;
+        }
+        return best;
+    }
+}
@@ -0,0 +1,125 @@
+package focusfireplayerV2.pathing;
+
+import battlecode.common.*;
+import focusfireplayerV2.Actions;
+
+/**
+ * Entry point for movement towards a target.
+ *
+ * Runs the widest generated BFS that fits in what is left of this turn's bytecode, and falls back to
+ * a greedy step when there is no room for any of them or the BFS finds nothing. Robots with the
+ * 10000+ bytecode limit use {@link BFS20}; miners and builders default to the cheaper {@link BFS10}.
+ *
+ * To benchmark against the old greedy movement, set {@link #greedyOnly} and compare the profiler's
+ * path phase (bytecode per call), the costliest search and the arrival counters below (turns from
+ * picking a target to standing next to it) between the two runs.
+ */
+public strictfp class Pathfinder {
+
+    /**
+     * Skips the BFS entirely; only meant for A/B benchmarking, e.g. from a simulator test.
+     */
+    static boolean greedyOnly;
+
+    /**
+     * Bytecode kept in hand after pathing so the rest of the turn can still act.
+     */
+    static final int RESERVE = 1500;
+
+    static RobotController rc;
+    static boolean wideSearch;
+
+    // Turns-to-target bookkeeping. A trip starts when the target changes and ends when we are adjacent.
+    private static MapLocation tripTarget;
+    private static int tripStart;
+    public static int arrivals;
+    public static int arrivalTurns;
+
+    /**
+     * Most bytecode any one BFS call has cost, to hold against its BYTECODE_CEILING.
+     */
+    public static int maxSearchBytecodes;
+
+    public static void init(RobotController robotController) {
+        rc = robotController;
+        RobotType type = rc.getType();
+        wideSearch = type.bytecodeLimit >= 10000 && type.visionRadiusSquared >= BFS20.RADIUS_SQUARED;
+    }
+
+    /**
+     * @return the first step towards target, or null if we cannot or need not move this turn.
+     */
+    public static Direction directionTo(MapLocation target) throws GameActionException {
+        trackTrip(target);
+        if (!Actions.movementReady() || rc.getLocation().equals(target)) {
+            return null;
+        }
+        Direction dir = null;
+        int left = Clock.getBytecodesLeft();
+        if (greedyOnly) {
+            left = 0;
+        }
+        int start = Clock.getBytecodeNum();
+        if (wideSearch && left > BFS20.BYTECODE_CEILING + RESERVE) {
+            dir = BFS20.bestDirection(rc, target);
+            maxSearchBytecodes = Math.max(maxSearchBytecodes, Clock.getBytecodeNum() - start);
+        } else if (left > BFS10.BYTECODE_CEILING + RESERVE) {
+            dir = BFS10.bestDirection(rc, target);
+            maxSearchBytecodes = Math.max(maxSearchBytecodes, Clock.getBytecodeNum() - start);
+        }
+        if (dir == null || !rc.canMove(dir)) {
+            dir = greedyDirection(target);
+        }
+        return dir;
+    }
+
+    private static void trackTrip(MapLocation target) {
+        int round = rc.getRoundNum();
+        if (!target.equals(tripTarget)) {
+            tripTarget = target;
+            tripStart = round;
+        }
+        if (rc.getLocation().isWithinDistanceSquared(target, 2)) {
+            arrived(target);
+        }
+    }
+
+    /**
+     * Closes the trip to target. Roles that stop short of the target (e.g. once it is in attack range)
+     * call this themselves so the arrival still counts.
+     */
+    public static void arrived(MapLocation target) {
+        if (tripStart >= 0 && target.equals(tripTarget)) {
+            arrivals++;
+            arrivalTurns += rc.getRoundNum() - tripStart;
+            tripStart = -1;
+        }
+    }
+
+    /**
+     * Straight line towards target, trying the two neighbouring directions when the direct step is
+     * blocked. Costs a few dozen bytecodes and ignores rubble.
+     */
+    public static Direction greedyDirection(MapLocation target) {
+        Direction dir = rc.getLocation().directionTo(target);
+        if (rc.canMove(dir)) {
+            return dir;
+        }
+        Direction left = dir.rotateLeft();
+        if (rc.canMove(left)) {
+            return left;
+        }
+        Direction right = dir.rotateRight();
+        if (rc.canMove(right)) {
+            return right;
+        }
+        return null;
+    }
+
+    /**
+     * @return true if we moved.
+     */
+    public static boolean moveToward(MapLocation target) throws GameActionException {
+        return Actions.tryMove(directionTo(target));
+    }
+}
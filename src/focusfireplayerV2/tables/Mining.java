@@ -0,0 +1,152 @@
+// Generated by scripts/gen_tables.py. Do not edit by hand; rerun the script instead.
+package focusfireplayerV2.tables;
+
+import battlecode.common.*;
+
+/**
+ * The miner's mining step unrolled over the 9 tiles within its action radius^2 2, standing tile
+ * first. Gold is mined out; lead is mined down to a floor. Stops as soon as the action cooldown is
+ * spent.
+ */
+public strictfp class Mining {
+
+    static int width;
+    static int height;
+
+    /**
+     * Lead and gold mined by the last {@link #mine} call.
+     */
+    public static int lead;
+    public static int gold;
+
+    public static void init(RobotController rc) {
+        width = rc.getMapWidth();
+        height = rc.getMapHeight();
+    }
+
+    /**
+     * Mines every tile in reach, leaving leadFloor lead on each.
+     */
+    public static void mine(RobotController rc, MapLocation me, int leadFloor) throws GameActionException {
+        lead = 0;
+        gold = 0;
+        int x = me.x;
+        int y = me.y;
+        MapLocation t;
+        int n;
+
+        t = me;
+        while (rc.canMineGold(t)) {
+            rc.mineGold(t);
+            gold++;
+        }
+        for (n = rc.senseLead(t) - leadFloor; n > 0 && rc.canMineLead(t); n--) {
+            rc.mineLead(t);
+            lead++;
+        }
+
+        if (!rc.isActionReady()) return;
+        if (x >= 1) {
+            t = new MapLocation(x - 1, y);
+            while (rc.canMineGold(t)) {
+                rc.mineGold(t);
+                gold++;
+            }
+            for (n = rc.senseLead(t) - leadFloor; n > 0 && rc.canMineLead(t); n--) {
+                rc.mineLead(t);
+                lead++;
+            }
+        }
+
+        if (!rc.isActionReady()) return;
+        if (y >= 1) {
+            t = new MapLocation(x, y - 1);
+            while (rc.canMineGold(t)) {
+                rc.mineGold(t);
+                gold++;
+            }
+            for (n = rc.senseLead(t) - leadFloor; n > 0 && rc.canMineLead(t); n--) {
+                rc.mineLead(t);
+                lead++;
+            }
+        }
+
+        if (!rc.isActionReady()) return;
+        if (y < height - 1) {
+            t = new MapLocation(x, y + 1);
+            while (rc.canMineGold(t)) {
+                rc.mineGold(t);
+                gold++;
+            }
+            for (n = rc.senseLead(t) - leadFloor; n > 0 && rc.canMineLead(t); n--) {
+                rc.mineLead(t);
+                lead++;
+            }
+        }
+
+        if (!rc.isActionReady()) return;
+        if (x < width - 1) {
+            t = new MapLocation(x + 1, y);
+            while (rc.canMineGold(t)) {
+                rc.mineGold(t);
+                gold++;
+            }
+            for (n = rc.senseLead(t) - leadFloor; n > 0 && rc.canMineLead(t); n--) {
+                rc.mineLead(t);
+                lead++;
+            }
+        }
+
+        if (!rc.isActionReady()) return;
+        if (x >= 1 && y >= 1) {
+            t = new MapLocation(x - 1, y - 1);
+            while (rc.canMineGold(t)) {
+                rc.mineGold(t);
+                gold++;
+            }
+            for (n = rc.senseLead(t) - leadFloor; n > 0 && rc.canMineLead(t); n--) {
+                rc.mineLead(t);
+                lead++;
+            }
+        }
+
+        if (!rc.isActionReady()) return;
+        if (x >= 1 && y < height - 1) {
+            t = new MapLocation(x - 1, y + 1);
+            while (rc.canMineGold(t)) {
+                rc.mineGold(t);
+                gold++;
+            }
+            for (n = rc.senseLead(t) - leadFloor; n > 0 && rc.canMineLead(t); n--) {
+                rc.mineLead(t);
+                lead++;
+            }
+        }
+
+        if (!rc.isActionReady()) return;
+        if (x < width - 1 && y >= 1) {
+            t = new MapLocation(x + 1, y - 1);
+            while (rc.canMineGold(t)) {
+                rc.mineGold(t);
+                gold++;
+            }
+            for (n = rc.senseLead(t) - leadFloor; n > 0 && rc.canMineLead(t); n--) {
+                rc.mineLead(t);
+                lead++;
+            }
+        }
+
+        if (!rc.isActionReady()) return;
+        if (x < width - 1 && y < height - 1) {
+            t = new MapLocation(x + 1, y + 1);
+            while (rc.canMineGold(t)) {
+                rc.mineGold(t);
+                gold++;
+            }
+            for (n = rc.senseLead(t) - leadFloor; n > 0 && rc.canMineLead(t); n--) {
+                rc.mineLead(t);
+                lead++;
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+// Generated by scripts/gen_tables.py. Do not edit by hand; rerun the script instead.
+package focusfireplayerV2.tables;
+
+/**
+ * Tile offsets within every action and vision radius in the game.
+ *
+ * For radius^2 r, Tiles_r.DX[i], Tiles_r.DY[i] is the i-th offset, nearest first, and
+ * Disc_r.SPAN[dx + Disc_r.REACH] is the largest |dy| within the radius in column dx. Array
+ * initialisers are paid for in bytecode when their class is first touched, so each table has its own
+ * nested class and a robot only pays for the ones it uses.
+ *
+ * For vision radius^2 r, Edge_r.DX[(sx + 1) * 3 + sy + 1], Edge_r.DY[...] are the offsets that
+ * come into vision after a step of (sx, sy).
+ */
+public strictfp class Offsets {
+
+    public static final class Disc2 {
+        public static final int REACH = 1;
+        public static final int[] SPAN = {1, 1, 1};
+    }
+
+    public static final class Tiles2 {
+        public static final int[] DX = {0, -1, 0, 0, 1, -1, -1, 1, 1};
+        public static final int[] DY = {0, 0, -1, 1, 0, -1, 1, -1, 1};
+    }
+
+    public static final class Disc5 {
+        public static final int REACH = 2;
+        public static final int[] SPAN = {1, 2, 2, 2, 1};
+    }
+
+    public static final class Tiles5 {
+        public static final int[] DX = {0, -1, 0, 0, 1, -1, -1, 1, 1, -2, 0, 0, 2, -2, -2, -1, -1, 1, 1, 2, 2};
+        public static final int[] DY = {0, 0, -1, 1, 0, -1, 1, -1, 1, 0, -2, 2, 0, -1, 1, -2, 2, -2, 2, -1, 1};
+    }
+
+    public static final class Disc13 {
+        public static final int REACH = 3;
+        public static final int[] SPAN = {2, 3, 3, 3, 3, 3, 2};
+    }
+
+    public static final class Tiles13 {
+        public static final int[] DX = {0, -1, 0, 0, 1, -1, -1, 1, 1, -2, 0, 0, 2, -2, -2, -1, -1, 1, 1, 2, 2, -2, -2, 2, 2, -3, 0, 0, 3, -3, -3, -1, -1, 1, 1, 3, 3, -3, -3, -2, -2, 2, 2, 3, 3};
+        public static final int[] DY = {0, 0, -1, 1, 0, -1, 1, -1, 1, 0, -2, 2, 0, -1, 1, -2, 2, -2, 2, -1, 1, -2, 2, -2, 2, 0, -3, 3, 0, -1, 1, -3, 3, -3, 3, -1, 1, -2, 2, -3, 3, -3, 3, -2, 2};
+    }
+
+    public static final class Disc20 {
+        public static final int REACH = 4;
+        public static final int[] SPAN = {2, 3, 4, 4, 4, 4, 4, 3, 2};
+    }
+
+    public static final class Tiles20 {
+        public static final int[] DX = {0, -1, 0, 0, 1, -1, -1, 1, 1, -2, 0, 0, 2, -2, -2, -1, -1, 1, 1, 2, 2, -2, -2, 2, 2, -3, 0, 0, 3, -3, -3, -1, -1, 1, 1, 3, 3, -3, -3, -2, -2, 2, 2, 3, 3, -4, 0, 0, 4, -4, -4, -1, -1, 1, 1, 4, 4, -3, -3, 3, 3, -4, -4, -2, -2, 2, 2, 4, 4};
+        public static final int[] DY = {0, 0, -1, 1, 0, -1, 1, -1, 1, 0, -2, 2, 0, -1, 1, -2, 2, -2, 2, -1, 1, -2, 2, -2, 2, 0, -3, 3, 0, -1, 1, -3, 3, -3, 3, -1, 1, -2, 2, -3, 3, -3, 3, -2, 2, 0, -4, 4, 0, -1, 1, -4, 4, -4, 4, -1, 1, -3, 3, -3, 3, -2, 2, -4, 4, -4, 4, -2, 2};
+    }
+
+    public static final class Disc25 {
+        public static final int REACH = 5;
+        public static final int[] SPAN = {0, 3, 4, 4, 4, 5, 4, 4, 4, 3, 0};
+    }
+
+    public static final class Tiles25 {
+        public static final int[] DX = {0, -1, 0, 0, 1, -1, -1, 1, 1, -2, 0, 0, 2, -2, -2, -1, -1, 1, 1, 2, 2, -2, -2, 2, 2, -3, 0, 0, 3, -3, -3, -1, -1, 1, 1, 3, 3, -3, -3, -2, -2, 2, 2, 3, 3, -4, 0, 0, 4, -4, -4, -1, -1, 1, 1, 4, 4, -3, -3, 3, 3, -4, -4, -2, -2, 2, 2, 4, 4, -5, -4, -4, -3, -3, 0, 0, 3, 3, 4, 4, 5};
+        public static final int[] DY = {0, 0, -1, 1, 0, -1, 1, -1, 1, 0, -2, 2, 0, -1, 1, -2, 2, -2, 2, -1, 1, -2, 2, -2, 2, 0, -3, 3, 0, -1, 1, -3, 3, -3, 3, -1, 1, -2, 2, -3, 3, -3, 3, -2, 2, 0, -4, 4, 0, -1, 1, -4, 4, -4, 4, -1, 1, -3, 3, -3, 3, -2, 2, -4, 4, -4, 4, -2, 2, 0, -3, 3, -4, 4, -5, 5, -4, 4, -3, 3, 0};
+    }
+
+    public static final class Disc34 {
+        public static final int REACH = 5;
+        public static final int[] SPAN = {3, 4, 5, 5, 5, 5, 5, 5, 5, 4, 3};
+    }
+
+    public static final class Tiles34 {
+        public static final int[] DX = {0, -1, 0, 0, 1, -1, -1, 1, 1, -2, 0, 0, 2, -2, -2, -1, -1, 1, 1, 2, 2, -2, -2, 2, 2, -3, 0, 0, 3, -3, -3, -1, -1, 1, 1, 3, 3, -3, -3, -2, -2, 2, 2, 3, 3, -4, 0, 0, 4, -4, -4, -1, -1, 1, 1, 4, 4, -3, -3, 3, 3, -4, -4, -2, -2, 2, 2, 4, 4, -5, -4, -4, -3, -3, 0, 0, 3, 3, 4, 4, 5, -5, -5, -1, -1, 1, 1, 5, 5, -5, -5, -2, -2, 2, 2, 5, 5, -4, -4, 4, 4, -5, -5, -3, -3, 3, 3, 5, 5};
+        public static final int[] DY = {0, 0, -1, 1, 0, -1, 1, -1, 1, 0, -2, 2, 0, -1, 1, -2, 2, -2, 2, -1, 1, -2, 2, -2, 2, 0, -3, 3, 0, -1, 1, -3, 3, -3, 3, -1, 1, -2, 2, -3, 3, -3, 3, -2, 2, 0, -4, 4, 0, -1, 1, -4, 4, -4, 4, -1, 1, -3, 3, -3, 3, -2, 2, -4, 4, -4, 4, -2, 2, 0, -3, 3, -4, 4, -5, 5, -4, 4, -3, 3, 0, -1, 1, -5, 5, -5, 5, -1, 1, -2, 2, -5, 5, -5, 5, -2, 2, -4, 4, -4, 4, -3, 3, -5, 5, -5, 5, -3, 3};
+    }
+
+    public static final class Disc53 {
+        public static final int REACH = 7;
+        public static final int[] SPAN = {2, 4, 5, 6, 6, 7, 7, 7, 7, 7, 6, 6, 5, 4, 2};
+    }
+
+    public static final class Tiles53 {
+        public static final int[] DX = {0, -1, 0, 0, 1, -1, -1, 1, 1, -2, 0, 0, 2, -2, -2, -1, -1, 1, 1, 2, 2, -2, -2, 2, 2, -3, 0, 0, 3, -3, -3, -1, -1, 1, 1, 3, 3, -3, -3, -2, -2, 2, 2, 3, 3, -4, 0, 0, 4, -4, -4, -1, -1, 1, 1, 4, 4, -3, -3, 3, 3, -4, -4, -2, -2, 2, 2, 4, 4, -5, -4, -4, -3, -3, 0, 0, 3, 3, 4, 4, 5, -5, -5, -1, -1, 1, 1, 5, 5, -5, -5, -2, -2, 2, 2, 5, 5, -4, -4, 4, 4, -5, -5, -3, -3, 3, 3, 5, 5, -6, 0, 0, 6, -6, -6, -1, -1, 1, 1, 6, 6, -6, -6, -2, -2, 2, 2, 6, 6, -5, -5, -4, -4, 4, 4, 5, 5, -6, -6, -3, -3, 3, 3, 6, 6, -7, 0, 0, 7, -7, -7, -5, -5, -1, -1, 1, 1, 5, 5, 7, 7, -6, -6, -4, -4, 4, 4, 6, 6, -7, -7, -2, -2, 2, 2, 7, 7};
+        public static final int[] DY = {0, 0, -1, 1, 0, -1, 1, -1, 1, 0, -2, 2, 0, -1, 1, -2, 2, -2, 2, -1, 1, -2, 2, -2, 2, 0, -3, 3, 0, -1, 1, -3, 3, -3, 3, -1, 1, -2, 2, -3, 3, -3, 3, -2, 2, 0, -4, 4, 0, -1, 1, -4, 4, -4, 4, -1, 1, -3, 3, -3, 3, -2, 2, -4, 4, -4, 4, -2, 2, 0, -3, 3, -4, 4, -5, 5, -4, 4, -3, 3, 0, -1, 1, -5, 5, -5, 5, -1, 1, -2, 2, -5, 5, -5, 5, -2, 2, -4, 4, -4, 4, -3, 3, -5, 5, -5, 5, -3, 3, 0, -6, 6, 0, -1, 1, -6, 6, -6, 6, -1, 1, -2, 2, -6, 6, -6, 6, -2, 2, -4, 4, -5, 5, -5, 5, -4, 4, -3, 3, -6, 6, -6, 6, -3, 3, 0, -7, 7, 0, -1, 1, -5, 5, -7, 7, -7, 7, -5, 5, -1, 1, -4, 4, -6, 6, -6, 6, -4, 4, -2, 2, -7, 7, -7, 7, -2, 2};
+    }
+
+    public static final class Edge20 {
+        public static final int[][] DX = {{-3, -2, -4, 0, -4, -4, -1, 1, -3, -4, -4, -2, 2}, {-4, -4, -4, -3, -3, -4, -4, -2, -2}, {-3, -2, -4, 0, -4, -4, -1, 1, -3, -4, -4, -2, 2}, {0, -1, 1, -3, 3, -4, -2, 2, 4}, {}, {0, -1, 1, -3, 3, -4, -2, 2, 4}, {2, 3, 0, 4, -1, 1, 4, 4, 3, -2, 2, 4, 4}, {4, 4, 4, 3, 3, 2, 2, 4, 4}, {2, 3, 0, 4, -1, 1, 4, 4, 3, -2, 2, 4, 4}};
+        public static final int[][] DY = {{-2, -3, 0, -4, -1, 1, -4, -4, -3, -2, 2, -4, -4}, {0, -1, 1, -3, 3, -2, 2, -4, 4}, {2, 3, 0, 4, -1, 1, 4, 4, 3, -2, 2, 4, 4}, {-4, -4, -4, -3, -3, -2, -4, -4, -2}, {}, {4, 4, 4, 3, 3, 2, 4, 4, 2}, {-3, -2, -4, 0, -4, -4, -1, 1, -3, -4, -4, -2, 2}, {0, -1, 1, -3, 3, -4, 4, -2, 2}, {3, 2, 4, 0, 4, 4, -1, 1, 3, 4, 4, -2, 2}};
+    }
+
+    public static final class Edge34 {
+        public static final int[][] DX = {{-5, -4, -3, 0, -5, -5, -1, 1, -5, -5, -2, 2, -4, -5, -5, -3, 3}, {-5, -5, -5, -5, -5, -4, -4, -5, -5, -3, -3}, {-5, -4, -3, 0, -5, -5, -1, 1, -5, -5, -2, 2, -4, -5, -5, -3, 3}, {0, -1, 1, -2, 2, -4, 4, -5, -3, 3, 5}, {}, {0, -1, 1, -2, 2, -4, 4, -5, -3, 3, 5}, {0, 3, 4, 5, -1, 1, 5, 5, -2, 2, 5, 5, 4, -3, 3, 5, 5}, {5, 5, 5, 5, 5, 4, 4, 3, 3, 5, 5}, {0, 3, 4, 5, -1, 1, 5, 5, -2, 2, 5, 5, 4, -3, 3, 5, 5}};
+        public static final int[][] DY = {{0, -3, -4, -5, -1, 1, -5, -5, -2, 2, -5, -5, -4, -3, 3, -5, -5}, {0, -1, 1, -2, 2, -4, 4, -3, 3, -5, 5}, {0, 3, 4, 5, -1, 1, 5, 5, -2, 2, 5, 5, 4, -3, 3, 5, 5}, {-5, -5, -5, -5, -5, -4, -4, -3, -5, -5, -3}, {}, {5, 5, 5, 5, 5, 4, 4, 3, 5, 5, 3}, {-5, -4, -3, 0, -5, -5, -1, 1, -5, -5, -2, 2, -4, -5, -5, -3, 3}, {0, -1, 1, -2, 2, -4, 4, -5, 5, -3, 3}, {5, 4, 3, 0, 5, 5, -1, 1, 5, 5, -2, 2, 4, 5, 5, -3, 3}};
+    }
+
+    public static final class Edge53 {
+        public static final int[][] DX = {{-6, -2, -5, -4, -6, -3, -7, 0, -7, -7, -5, -1, 1, -6, -6, -4, 4, -7, -7, -2, 2}, {-6, -6, -7, -7, -7, -5, -5, -6, -6, -4, -4, -7, -7, -2, -2}, {-6, -2, -5, -4, -6, -3, -7, 0, -7, -7, -5, -1, 1, -6, -6, -4, 4, -7, -7, -2, 2}, {-3, 3, 0, -5, -1, 1, 5, -6, -4, 4, 6, -7, -2, 2, 7}, {}, {-3, 3, 0, -5, -1, 1, 5, -6, -4, 4, 6, -7, -2, 2, 7}, {2, 6, 4, 5, 3, 6, 0, 7, -1, 1, 5, 7, 7, -4, 4, 6, 6, -2, 2, 7, 7}, {6, 6, 7, 5, 5, 7, 7, 4, 4, 6, 6, 2, 2, 7, 7}, {2, 6, 4, 5, 3, 6, 0, 7, -1, 1, 5, 7, 7, -4, 4, 6, 6, -2, 2, 7, 7}};
+        public static final int[][] DY = {{-2, -6, -4, -5, -3, -6, 0, -7, -1, 1, -5, -7, -7, -4, 4, -6, -6, -2, 2, -7, -7}, {-3, 3, 0, -1, 1, -5, 5, -4, 4, -6, 6, -2, 2, -7, 7}, {2, 6, 4, 5, 3, 6, 0, 7, -1, 1, 5, 7, 7, -4, 4, 6, 6, -2, 2, 7, 7}, {-6, -6, -7, -5, -7, -7, -5, -4, -6, -6, -4, -2, -7, -7, -2}, {}, {6, 6, 7, 5, 7, 7, 5, 4, 6, 6, 4, 2, 7, 7, 2}, {-6, -2, -5, -4, -6, -3, -7, 0, -7, -7, -5, -1, 1, -6, -6, -4, 4, -7, -7, -2, 2}, {-3, 3, 0, -5, 5, -1, 1, -6, 6, -4, 4, -7, 7, -2, 2}, {6, 2, 5, 4, 6, 3, 7, 0, 7, 7, 5, -1, 1, 6, 6, -4, 4, 7, 7, -2, 2}};
+    }
+
+    /**
+     * @return the SPAN table for this radius^2, or null if no robot type has that radius.
+     */
+    public static int[] span(int radiusSquared) {
+        switch (radiusSquared) {
+            case 2: return Disc2.SPAN;
+            case 5: return Disc5.SPAN;
+            case 13: return Disc13.SPAN;
+            case 20: return Disc20.SPAN;
+            case 25: return Disc25.SPAN;
+            case 34: return Disc34.SPAN;
+            case 53: return Disc53.SPAN;
+            default: return null;
+        }
+    }
+
+    /**
+     * @return the DX table for this radius^2, or null if no robot type has that radius.
+     */
+    public static int[] dx(int radiusSquared) {
+        switch (radiusSquared) {
+            case 2: return Tiles2.DX;
+            case 5: return Tiles5.DX;
+            case 13: return Tiles13.DX;
+            case 20: return Tiles20.DX;
+            case 25: return Tiles25.DX;
+            case 34: return Tiles34.DX;
+            case 53: return Tiles53.DX;
+            default: return null;
+        }
+    }
+
+    /**
+     * @return the DY table for this radius^2, or null if no robot type has that radius.
+     */
+    public static int[] dy(int radiusSquared) {
+        switch (radiusSquared) {
+            case 2: return Tiles2.DY;
+            case 5: return Tiles5.DY;
+            case 13: return Tiles13.DY;
+            case 20: return Tiles20.DY;
+            case 25: return Tiles25.DY;
+            case 34: return Tiles34.DY;
+            case 53: return Tiles53.DY;
+            default: return null;
+        }
+    }
+
+    /**
+     * @return the Edge DX table for this vision radius^2, or null if no robot type has that radius.
+     */
+    public static int[][] edgeDx(int radiusSquared) {
+        switch (radiusSquared) {
+            case 20: return Edge20.DX;
+            case 34: return Edge34.DX;
+            case 53: return Edge53.DX;
+            default: return null;
+        }
+    }
+
+    /**
+     * @return the Edge DY table for this vision radius^2, or null if no robot type has that radius.
+     */
+    public static int[][] edgeDy(int radiusSquared) {
+        switch (radiusSquared) {
+            case 20: return Edge20.DY;
+            case 34: return Edge34.DY;
+            case 53: return Edge53.DY;
+            default: return null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+// Generated by scripts/gen_tables.py. Do not edit by hand; rerun the script instead.
+package focusfireplayerV2.tables;
+
+/**
+ * Which move options put a robot within an action radius.
+ *
+ * For a robot at offset (dx, dy) from us, |dx|, |dy| <= OFFSET, bit k of
+ * Within_r.MASK[index(dx, dy)] is set if it is within radius^2 r of the tile move option k takes
+ * us to. Options are the eight directions in Direction.allDirections() order, then staying put
+ * (bit 8). Distance is symmetric, so the same mask says whether the robot could hit that tile.
+ */
+public strictfp class Reach {
+
+    public static final int OFFSET = 5;
+    public static final int OPTIONS = 9;
+    public static final int STAY = 8;
+
+    public static final class Within2 {
+        public static final int[] MASK = {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 32, 96, 224, 192, 128, 0, 0, 0, 0, 0, 0, 48, 368, 497, 449, 129, 0, 0, 0, 0, 0, 0, 56, 380, 511, 455, 131, 0, 0, 0, 0, 0, 0, 24, 284, 287, 263, 3, 0, 0, 0, 0, 0, 0, 8, 12, 14, 6, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+    }
+
+    public static final class Within5 {
+        public static final int[] MASK = {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 32, 96, 224, 192, 128, 0, 0, 0, 0, 0, 32, 112, 496, 497, 481, 193, 128, 0, 0, 0, 0, 48, 376, 509, 511, 503, 451, 129, 0, 0, 0, 0, 56, 380, 511, 511, 511, 455, 131, 0, 0, 0, 0, 24, 316, 383, 511, 479, 391, 3, 0, 0, 0, 0, 8, 28, 286, 287, 271, 7, 2, 0, 0, 0, 0, 0, 8, 12, 14, 6, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+    }
+
+    public static final class Within13 {
+        public static final int[] MASK = {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 32, 96, 224, 224, 224, 192, 128, 0, 0, 0, 32, 112, 496, 497, 497, 497, 481, 193, 128, 0, 0, 48, 376, 509, 511, 511, 511, 503, 451, 129, 0, 0, 56, 380, 511, 511, 511, 511, 511, 455, 131, 0, 0, 56, 380, 511, 511, 511, 511, 511, 455, 131, 0, 0, 56, 380, 511, 511, 511, 511, 511, 455, 131, 0, 0, 24, 316, 383, 511, 511, 511, 479, 391, 3, 0, 0, 8, 28, 286, 287, 287, 287, 271, 7, 2, 0, 0, 0, 8, 12, 14, 14, 14, 6, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+    }
+
+    public static final class Within20 {
+        public static final int[] MASK = {0, 0, 32, 96, 224, 224, 224, 192, 128, 0, 0, 0, 32, 112, 496, 497, 497, 497, 481, 193, 128, 0, 32, 112, 504, 509, 511, 511, 511, 503, 483, 193, 128, 48, 376, 509, 511, 511, 511, 511, 511, 503, 451, 129, 56, 380, 511, 511, 511, 511, 511, 511, 511, 455, 131, 56, 380, 511, 511, 511, 511, 511, 511, 511, 455, 131, 56, 380, 511, 511, 511, 511, 511, 511, 511, 455, 131, 24, 316, 383, 511, 511, 511, 511, 511, 479, 391, 3, 8, 28, 318, 383, 511, 511, 511, 479, 399, 7, 2, 0, 8, 28, 286, 287, 287, 287, 271, 7, 2, 0, 0, 0, 8, 12, 14, 14, 14, 6, 2, 0, 0};
+    }
+
+    public static final class Within25 {
+        public static final int[] MASK = {0, 32, 96, 224, 240, 480, 225, 224, 192, 128, 0, 32, 112, 496, 497, 505, 501, 499, 497, 481, 193, 128, 48, 376, 509, 511, 511, 511, 511, 511, 503, 451, 129, 56, 380, 511, 511, 511, 511, 511, 511, 511, 455, 131, 120, 508, 511, 511, 511, 511, 511, 511, 511, 487, 195, 312, 381, 511, 511, 511, 511, 511, 511, 511, 471, 387, 60, 382, 511, 511, 511, 511, 511, 511, 511, 463, 135, 56, 380, 511, 511, 511, 511, 511, 511, 511, 455, 131, 24, 316, 383, 511, 511, 511, 511, 511, 479, 391, 3, 8, 28, 286, 287, 319, 351, 415, 287, 271, 7, 2, 0, 8, 12, 14, 30, 270, 15, 14, 6, 2, 0};
+    }
+
+    /**
+     * @return the index of offset (dx, dy) into a MASK table, or -1 if it is out of the tables.
+     */
+    public static int index(int dx, int dy) {
+        if (dx < -OFFSET || dx > OFFSET || dy < -OFFSET || dy > OFFSET) {
+            return -1;
+        }
+        return (dx + OFFSET) * 11 + dy + OFFSET;
+    }
+
+    /**
+     * @return the MASK table for this action radius^2, or null if no robot type has that radius.
+     */
+    public static int[] within(int radiusSquared) {
+        switch (radiusSquared) {
+            case 2: return Within2.MASK;
+            case 5: return Within5.MASK;
+            case 13: return Within13.MASK;
+            case 20: return Within20.MASK;
+            case 25: return Within25.MASK;
+            default: return null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package battlecode.common;
+
+/**
+ * Stand-in for the engine's Clock when players run under the test simulator.
+ *
+ * The engine implements Clock through its instrumented class loader, which does not exist inside
+ * JUnit. This class shadows it on the test classpath: each simulated robot thread attaches a
+ * {@link Hook} and yield() hands control back to the simulator. Threads without a hook see a no-op
+ * yield and an empty budget.
+ */
+public final class Clock {
+
+    public interface Hook {
+        void yieldTurn();
+
+        int bytecodeNum();
+
+        int bytecodesLeft();
+    }
+
+    private static final ThreadLocal<Hook> HOOK = new ThreadLocal<>();
+
+    private Clock() {
+    }
+
+    public static void attach(Hook hook) {
+        HOOK.set(hook);
+    }
+
+    public static void yield() {
+        Hook hook = HOOK.get();
+        if (hook != null) {
+            hook.yieldTurn();
+        }
+    }
+
+    public static int getBytecodeNum() {
+        Hook hook = HOOK.get();
+        return hook == null ? 0 : hook.bytecodeNum();
+    }
+
+    public static int getBytecodesLeft() {
+        Hook hook = HOOK.get();
+        return hook == null ? 0 : hook.bytecodesLeft();
+    }
+}
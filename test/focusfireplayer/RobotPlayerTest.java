@@ -0,0 +1,30 @@
+package focusfireplayer;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.*;
+import sim.Simulation;
+
+public class RobotPlayerTest {
+
+	@Test
+	public void testArchonBuildsAndMinersMine() {
+		try (Simulation sim = new Simulation(20, 20)) {
+			sim.setTeamLead(Team.A, 200);
+			for (int x = 5; x < 9; x++) {
+				sim.setLead(x, 5, 30);
+			}
+			sim.addRobot(Team.A, RobotType.ARCHON, 2, 2, "focusfireplayer");
+			sim.addRobot(Team.B, RobotType.ARCHON, 17, 17, null);
+			sim.run(100);
+			assertNull(sim.crash());
+			assertTrue(sim.count(Team.A, RobotType.MINER) > 0);
+			int lead = 0;
+			for (int x = 5; x < 9; x++) {
+				lead += sim.leadAt(x, 5);
+			}
+			assertTrue(lead < 4 * 30);
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package focusfireplayerV2;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.*;
+
+public class BuildPlannerTest {
+
+	@Test
+	public void testSitesAreNeverAdjacent() {
+		for (int ax = -5; ax <= 5; ax++) {
+			for (int ay = -5; ay <= 5; ay++) {
+				if (!BuildPlanner.isSite(ax, ay)) {
+					continue;
+				}
+				for (Direction d : Direction.allDirections()) {
+					if (d != Direction.CENTER) {
+						assertFalse(BuildPlanner.isSite(ax + d.dx, ay + d.dy));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testKeepsArchonRingClear() {
+		for (Direction d : Direction.allDirections()) {
+			assertFalse(BuildPlanner.isSite(d.dx, d.dy));
+		}
+		assertTrue(BuildPlanner.isSite(2, 0));
+		assertTrue(BuildPlanner.isSite(-4, 2));
+		assertFalse(BuildPlanner.isSite(4, 4));
+	}
+
+	@Test
+	public void testBuildsOneLaboratoryWhenLeadAllows() {
+		assertEquals(RobotType.WATCHTOWER, BuildPlanner.chooseType(200, 0, Coordinator.ECO));
+		assertEquals(RobotType.LABORATORY, BuildPlanner.chooseType(1000, 0, Coordinator.ECO));
+		assertEquals(RobotType.WATCHTOWER, BuildPlanner.chooseType(1000, 1, Coordinator.ECO));
+	}
+
+	@Test
+	public void testDefendsWithWatchtowers() {
+		assertEquals(RobotType.WATCHTOWER, BuildPlanner.chooseType(1000, 0, Coordinator.DEFEND));
+	}
+}
@@ -0,0 +1,144 @@
+package focusfireplayerV2;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.*;
+import sim.BytecodeBaseline;
+import sim.SimRobot;
+import sim.Simulation;
+
+import java.io.IOException;
+
+/**
+ * Plays a canned scenario per role with the players' bytecode counted, and fails if any robot went
+ * over its bytecode limit or any role's first-turn, mean or worst later-turn cost grew past its
+ * recorded baseline. Run ./gradlew updateBytecodeBaseline after an intended change in cost; the
+ * limits are checked even then.
+ *
+ * A role's cost is what a turn spends up to Scheduler.run(); the background work after it soaks up
+ * whatever is left by design, so it is only reported, as role.background.
+ */
+public class BytecodeRegressionTest {
+
+	private static final String PLAYER = "focusfireplayerV2";
+	private static final String BASELINE = "test/focusfireplayerV2/bytecode-baseline.properties";
+
+	private static Simulation match(int size) {
+		return new Simulation(size, size).instrumentBytecode();
+	}
+
+	/**
+	 * Checks that no live robot of our team with this role went over its limit, in any turn or in its
+	 * role work alone, compares their first-turn, mean and max role bytecode with the baseline, and reports
+	 * their mean background work.
+	 */
+	private static void measure(Simulation sim, RobotType role) throws IOException {
+		assertNull(sim.crash());
+		int first = 0;
+		long mean = 0;
+		long background = 0;
+		int max = 0;
+		int overruns = 0;
+		int n = 0;
+		for (SimRobot r : sim.robots(Team.A, role)) {
+			if (r.turns() < 2) {
+				continue;
+			}
+			first = Math.max(first, r.firstTurnBytecodes());
+			mean += r.meanBytecodes();
+			background += r.meanBackgroundBytecodes();
+			max = Math.max(max, r.maxBytecodes());
+			overruns += r.overruns();
+			n++;
+		}
+		assertTrue("no " + role + " played", n > 0);
+		assertEquals(role + " turns over the bytecode limit", 0, overruns);
+		assertTrue(role + " first turn used " + first + " of " + role.bytecodeLimit, first <= role.bytecodeLimit);
+		assertTrue(role + " turn used " + max + " of " + role.bytecodeLimit, max <= role.bytecodeLimit);
+		String key = role.name().toLowerCase();
+		BytecodeBaseline baseline = new BytecodeBaseline(BASELINE);
+		baseline.check(key + ".first", first);
+		baseline.check(key + ".mean", (int) (mean / n));
+		baseline.check(key + ".max", max);
+		baseline.report(key + ".background", (int) (background / n));
+		baseline.finish();
+	}
+
+	@Test
+	public void testArchon() throws IOException {
+		try (Simulation sim = match(30)) {
+			sim.setTeamLead(Team.A, 1000);
+			sim.addRobot(Team.A, RobotType.ARCHON, 4, 4, PLAYER);
+			sim.addRobot(Team.A, RobotType.ARCHON, 4, 25, PLAYER);
+			sim.addRobot(Team.B, RobotType.ARCHON, 25, 25, null);
+			sim.run(60);
+			measure(sim, RobotType.ARCHON);
+		}
+	}
+
+	@Test
+	public void testMiner() throws IOException {
+		try (Simulation sim = match(30)) {
+			for (int x = 3; x < 27; x += 4) {
+				for (int y = 8; y < 27; y += 6) {
+					sim.setLead(x, y, 30);
+				}
+			}
+			sim.setGold(20, 20, 10);
+			sim.addRobot(Team.A, RobotType.ARCHON, 2, 2, null);
+			sim.addRobot(Team.B, RobotType.ARCHON, 27, 27, null);
+			for (int i = 0; i < 4; i++) {
+				sim.addRobot(Team.A, RobotType.MINER, 3 + i, 3, PLAYER);
+			}
+			sim.run(100);
+			measure(sim, RobotType.MINER);
+		}
+	}
+
+	@Test
+	public void testSoldier() throws IOException {
+		try (Simulation sim = match(30)) {
+			for (int x = 0; x < 30; x++) {
+				sim.setRubble(x, 15, 40);
+			}
+			sim.addRobot(Team.A, RobotType.ARCHON, 2, 2, PLAYER);
+			for (int i = 0; i < 4; i++) {
+				sim.addRobot(Team.A, RobotType.SOLDIER, 3 + i, 4, PLAYER);
+			}
+			sim.addRobot(Team.B, RobotType.ARCHON, 27, 27, null);
+			for (int i = 0; i < 3; i++) {
+				sim.addRobot(Team.B, RobotType.SOLDIER, 20 + 2 * i, 22, null);
+				sim.addRobot(Team.B, RobotType.MINER, 12 + 3 * i, 20, null);
+			}
+			sim.run(100);
+			measure(sim, RobotType.SOLDIER);
+		}
+	}
+
+	@Test
+	public void testBuilder() throws IOException {
+		try (Simulation sim = match(20)) {
+			sim.setTeamLead(Team.A, 600);
+			sim.addRobot(Team.A, RobotType.ARCHON, 2, 2, null);
+			sim.addRobot(Team.B, RobotType.ARCHON, 17, 17, null);
+			sim.addRobot(Team.A, RobotType.BUILDER, 6, 6, PLAYER);
+			sim.addRobot(Team.A, RobotType.BUILDER, 10, 4, PLAYER);
+			sim.run(40);
+			measure(sim, RobotType.BUILDER);
+		}
+	}
+
+	@Test
+	public void testWatchtower() throws IOException {
+		try (Simulation sim = match(20)) {
+			sim.addRobot(Team.A, RobotType.ARCHON, 2, 2, null);
+			sim.addRobot(Team.A, RobotType.WATCHTOWER, 8, 8, PLAYER);
+			sim.addRobot(Team.B, RobotType.ARCHON, 17, 17, null);
+			sim.addRobot(Team.B, RobotType.SOLDIER, 10, 10, null);
+			sim.addRobot(Team.B, RobotType.SOLDIER, 11, 9, null);
+			sim.run(40);
+			measure(sim, RobotType.WATCHTOWER);
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package focusfireplayerV2;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.*;
+
+public class CommsTest {
+
+	@Test
+	public void testLayoutFillsTheArrayWithoutOverlap() {
+		int[][] blocks = {
+				{Comms.ARCHON_REGISTRY, ArchonRegistry.CAPACITY * ArchonRegistry.WORDS_PER_ENTRY},
+				{Comms.OUR_ARCHONS, 4},
+				{Comms.SYMMETRY, 1},
+				{Comms.RESOURCE_ZONES, ResourceMap.ZONE_WORDS},
+				{Comms.CLAIMS, MinerClaims.CAPACITY},
+				{Comms.FOCUS_TARGETS, Targeting.REGIONS},
+				{Comms.FOCUS_STAMPS, 1},
+				{Comms.CENSUS, 2 * Census.WORDS},
+				{Comms.BUILD_SITES, BuildPlanner.LEASES},
+				{Comms.ECONOMY, 1},
+				{Comms.EXPLORED, Exploration.WORDS},
+				{Comms.RING_START, Comms.RING_CAPACITY},
+				{Comms.RING_STAMPS, Comms.RING_CAPACITY / 4},
+				{Comms.COORDINATION, 1},
+		};
+		int next = 0;
+		for (int[] block : blocks) {
+			assertEquals("slot " + block[0], next, block[0]);
+			next += block[1];
+		}
+		assertEquals(GameConstants.SHARED_ARRAY_LENGTH, next);
+	}
+
+	@Test
+	public void testRingOutlastsOneRobotsReports() {
+		assertTrue(Comms.RING_CAPACITY >= 12);
+		assertEquals(0, Comms.RING_CAPACITY % 4);
+		assertTrue(Comms.RING_CAPACITY >= 4 * Comms.MAX_REPORTS_PER_TURN);
+	}
+
+	@Test
+	public void testSightingsExpireBeforeTheirStampsWrap() {
+		int stamp = Comms.stamp(100);
+		assertEquals(stamp, Comms.stamp(101));
+		assertEquals(1, (Comms.stamp(102) - stamp) & Comms.STAMP_MASK);
+		assertEquals(Comms.MAX_SIGHTING_AGE / Comms.STAMP_ROUNDS,
+				(Comms.stamp(100 + Comms.MAX_SIGHTING_AGE) - stamp) & Comms.STAMP_MASK);
+		// Cleared once older than MAX_SIGHTING_AGE, which must happen before the age wraps back to 0.
+		assertTrue(Comms.MAX_SIGHTING_AGE / Comms.STAMP_ROUNDS < Comms.STAMP_MASK);
+		assertTrue(ProductionPlanner.THREAT_AGE <= Comms.MAX_SIGHTING_AGE);
+		assertTrue(RobotPlayer.SIGHTING_MAX_AGE <= Comms.MAX_SIGHTING_AGE);
+	}
+}
@@ -0,0 +1,55 @@
+package focusfireplayerV2;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class CoordinatorTest {
+
+	@Test
+	public void testRushesSmallMapsEarly() {
+		assertEquals(Coordinator.RUSH, Coordinator.decide(10, 20 * 20, 0));
+		assertEquals(Coordinator.ECO, Coordinator.decide(Coordinator.RUSH_ROUNDS, 20 * 20, 0));
+		assertEquals(Coordinator.ECO, Coordinator.decide(10, 40 * 40, 0));
+	}
+
+	@Test
+	public void testDefendsWhenThreatened() {
+		assertEquals(Coordinator.DEFEND, Coordinator.decide(10, 20 * 20, Coordinator.DEFEND_SIGHTINGS));
+		assertEquals(Coordinator.DEFEND, Coordinator.decide(1000, 60 * 60, Coordinator.DEFEND_SIGHTINGS));
+		assertEquals(Coordinator.ECO, Coordinator.decide(1000, 60 * 60, Coordinator.DEFEND_SIGHTINGS - 1));
+	}
+
+	@Test
+	public void testWordRoundTrips() {
+		int word = Coordinator.pack(3, Coordinator.DEFEND, 0, 1999);
+		assertEquals(3, Coordinator.leader(word));
+		assertEquals(Coordinator.DEFEND, Coordinator.directive(word));
+		assertEquals(-1, Coordinator.mover(word));
+		assertEquals(2, Coordinator.mover(Coordinator.pack(0, Coordinator.RUSH, 3, 5)));
+		assertTrue(word != 0);
+		assertTrue(Coordinator.pack(0, Coordinator.ECO, 0, 0) != 0);
+	}
+
+	@Test
+	public void testHeartbeatGoesStale() {
+		int word = Coordinator.pack(1, Coordinator.ECO, 0, 100);
+		assertTrue(Coordinator.isLive(word, 100));
+		assertTrue(Coordinator.isLive(word, 100 + Coordinator.LEADER_TIMEOUT));
+		assertFalse(Coordinator.isLive(word, 101 + Coordinator.LEADER_TIMEOUT));
+		assertFalse(Coordinator.isLive(0, 1));
+		// Rounds wrap at 256 in the word.
+		assertTrue(Coordinator.isLive(Coordinator.pack(1, Coordinator.ECO, 0, 255), 256));
+		assertTrue(Coordinator.isLive(Coordinator.pack(1, Coordinator.ECO, 0, 1999), 2000));
+	}
+
+	@Test
+	public void testMoveClaimedOnlyUnderALiveLeader() {
+		int word = Coordinator.pack(1, Coordinator.ECO, 0, 100);
+		assertEquals(2, Coordinator.mover(Coordinator.claimMove(word, 2, 101)));
+		assertEquals(word, Coordinator.claimMove(word, 2, 101 + Coordinator.LEADER_TIMEOUT));
+		// An empty word must stay empty, or the claim would read as leader 0's heartbeat.
+		assertEquals(0, Coordinator.claimMove(0, 2, 1));
+		int taken = Coordinator.pack(1, Coordinator.ECO, 1, 100);
+		assertEquals(taken, Coordinator.claimMove(taken, 2, 100));
+	}
+}
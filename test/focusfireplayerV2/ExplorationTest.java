@@ -0,0 +1,39 @@
+package focusfireplayerV2;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ExplorationTest {
+
+	@Test
+	public void testChunksCoverTheMap() {
+		Exploration.init(23, 60);
+		assertEquals(0, Exploration.chunk(0, 0));
+		assertEquals(Exploration.CHUNKS * Exploration.CHUNKS - 1, Exploration.chunk(22, 59));
+		for (int c = Exploration.CHUNKS * Exploration.CHUNKS; --c >= 0; ) {
+			assertTrue(Exploration.centerX[c] < 23);
+			assertTrue(Exploration.centerY[c] < 60);
+			assertEquals(c, Exploration.chunk(Exploration.centerX[c], Exploration.centerY[c]));
+		}
+	}
+
+	@Test
+	public void testNearestSkipsVisitedChunks() {
+		Exploration.init(60, 60);
+		int here = Exploration.chunk(30, 30);
+		assertEquals(here, Exploration.nearest(0, 30, 30));
+		int next = Exploration.nearest(1 << here, 30, 30);
+		assertTrue(next >= 0 && next != here);
+		int dx = Exploration.centerX[next] - 30;
+		int dy = Exploration.centerY[next] - 30;
+		assertTrue(dx * dx + dy * dy <= Exploration.chunkWidth * Exploration.chunkWidth);
+	}
+
+	@Test
+	public void testNothingLeftWhenAllVisited() {
+		Exploration.init(40, 40);
+		int all = (1 << (Exploration.CHUNKS * Exploration.CHUNKS)) - 1;
+		assertEquals(-1, Exploration.nearest(all, 0, 0));
+		assertEquals(Exploration.chunk(39, 39), Exploration.nearest(all & ~(1 << Exploration.chunk(39, 39)), 0, 0));
+	}
+}
@@ -0,0 +1,54 @@
+package focusfireplayerV2;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.*;
+
+public class GoldEconomyTest {
+
+	private static final int SAGE_GOLD = RobotType.SAGE.buildCostGold;
+
+	@Test
+	public void testTransmutesAtAGoodRate() {
+		int rate = GoldEconomy.breakEvenRate();
+		assertTrue(GoldEconomy.shouldTransmute(rate, 100, 0, 0, 1));
+		assertFalse(GoldEconomy.shouldTransmute(rate + 1, 100, 0, 0, 1));
+	}
+
+	@Test
+	public void testStopsOnceDemandIsCovered() {
+		assertTrue(GoldEconomy.shouldTransmute(2, 100, 0, SAGE_GOLD - 1, 1));
+		assertFalse(GoldEconomy.shouldTransmute(2, 100, 0, SAGE_GOLD, 1));
+		assertFalse(GoldEconomy.shouldTransmute(2, 100, 0, 0, 0));
+	}
+
+	@Test
+	public void testKeepsTheArchonsReserve() {
+		assertFalse(GoldEconomy.shouldTransmute(2, 100, 99, 0, 1));
+		assertTrue(GoldEconomy.shouldTransmute(2, 100, 98, 0, 1));
+	}
+
+	@Test
+	public void testSpendsFloatingLeadAtAnyRate() {
+		int rate = GoldEconomy.breakEvenRate() + 10;
+		assertFalse(GoldEconomy.shouldTransmute(rate, 200, 0, 0, 1));
+		assertTrue(GoldEconomy.shouldTransmute(rate, rate + ProductionPlanner.LEAD_FLOAT, 0, 0, 1));
+	}
+
+	@Test
+	public void testSageDemandGrowsWithThreat() {
+		assertEquals(GoldEconomy.BASE_SAGES, GoldEconomy.sageDemand(0, 0));
+		assertEquals(0, GoldEconomy.sageDemand(0, GoldEconomy.BASE_SAGES));
+		assertTrue(GoldEconomy.sageDemand(3 * GoldEconomy.THREAT_PER_SAGE, 0) > GoldEconomy.sageDemand(0, 0));
+		assertEquals(15, GoldEconomy.sageDemand(1000, 0));
+	}
+
+	@Test
+	public void testPackRoundsReserveUp() {
+		int word = GoldEconomy.pack(75, 3);
+		assertEquals(3, word & 0xF);
+		assertTrue((word >> 4) * 8 >= 75);
+		assertEquals(0, GoldEconomy.pack(0, 0));
+	}
+}
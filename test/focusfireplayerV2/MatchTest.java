@@ -0,0 +1,202 @@
+package focusfireplayerV2;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.*;
+import sim.SimRobot;
+import sim.Simulation;
+
+public class MatchTest {
+
+	private static final String PLAYER = "focusfireplayerV2";
+
+	@Test
+	public void testSoldiersConvergeOnEnemyArchon() {
+		try (Simulation sim = new Simulation(20, 20)) {
+			sim.addRobot(Team.A, RobotType.ARCHON, 2, 2, PLAYER);
+			SimRobot[] soldiers = {
+					sim.addRobot(Team.A, RobotType.SOLDIER, 3, 3, PLAYER),
+					sim.addRobot(Team.A, RobotType.SOLDIER, 4, 3, PLAYER),
+					sim.addRobot(Team.A, RobotType.SOLDIER, 3, 4, PLAYER),
+			};
+			MapLocation archon = sim.addRobot(Team.B, RobotType.ARCHON, 17, 17, null).getLocation();
+			int round = sim.runUntil(150, () -> {
+				for (SimRobot s : soldiers) {
+					if (s.getLocation().distanceSquaredTo(archon) > RobotType.SOLDIER.actionRadiusSquared) {
+						return false;
+					}
+				}
+				return true;
+			});
+			assertNull(sim.crash());
+			assertTrue("soldiers did not reach the archon", round > 0);
+		}
+	}
+
+	@Test
+	public void testSoldiersKillEnemyArchon() {
+		try (Simulation sim = new Simulation(20, 20)) {
+			sim.addRobot(Team.A, RobotType.ARCHON, 2, 2, PLAYER);
+			for (int i = 0; i < 4; i++) {
+				sim.addRobot(Team.A, RobotType.SOLDIER, 3 + i, 3, PLAYER);
+			}
+			sim.addRobot(Team.B, RobotType.ARCHON, 17, 17, null);
+			assertTrue(sim.runUntil(600, () -> sim.winner() != null) > 0);
+			assertEquals(Team.A, sim.winner());
+			assertEquals(0, sim.illegalActions);
+		}
+	}
+
+	@Test
+	public void testMinersSpreadOverDeposits() {
+		try (Simulation sim = new Simulation(30, 30)) {
+			sim.setTeamLead(Team.A, 200);
+			for (int x = 4; x < 26; x += 5) {
+				sim.setLead(x, 10, 40);
+			}
+			sim.addRobot(Team.A, RobotType.ARCHON, 2, 2, PLAYER);
+			sim.addRobot(Team.B, RobotType.ARCHON, 27, 27, null);
+			sim.run(120);
+			assertNull(sim.crash());
+			int drained = 0;
+			for (int x = 4; x < 26; x += 5) {
+				if (sim.leadAt(x, 10) < 40) {
+					drained++;
+				}
+				assertTrue("mined the last unit at " + x, sim.leadAt(x, 10) >= MinerClaims.LEAD_FLOOR);
+			}
+			assertTrue("miners only worked " + drained + " deposits", drained >= 2);
+		}
+	}
+
+	@Test
+	public void testCensusCountsTeam() {
+		try (Simulation sim = new Simulation(20, 20)) {
+			sim.addRobot(Team.A, RobotType.ARCHON, 2, 2, PLAYER);
+			sim.addRobot(Team.A, RobotType.SOLDIER, 4, 4, PLAYER);
+			sim.addRobot(Team.A, RobotType.SOLDIER, 5, 4, PLAYER);
+			sim.addRobot(Team.A, RobotType.MINER, 4, 5, PLAYER);
+			sim.addRobot(Team.B, RobotType.ARCHON, 17, 17, null);
+			sim.run(5);
+			assertNull(sim.crash());
+			int base = Comms.CENSUS + Census.WORDS * ((sim.round() - 1) & 1);
+			assertEquals(2, Census.soldiers(sim.sharedArray(base)));
+			assertEquals(1, Census.miners(sim.sharedArray(base)));
+			assertEquals(1, Census.archons(sim.sharedArray(base + 1)));
+			assertEquals(0, Census.builders(sim.sharedArray(base + 1)));
+		}
+	}
+
+	@Test
+	public void testNextArchonLeadsWhenLeaderDies() {
+		try (Simulation sim = new Simulation(40, 40)) {
+			SimRobot first = sim.addRobot(Team.A, RobotType.ARCHON, 3, 3, PLAYER);
+			sim.addRobot(Team.A, RobotType.ARCHON, 3, 30, PLAYER);
+			sim.addRobot(Team.B, RobotType.ARCHON, 36, 36, null);
+			sim.run(5);
+			assertNull(sim.crash());
+			int word = sim.sharedArray(Comms.COORDINATION);
+			assertTrue(Coordinator.isLive(word, sim.round()));
+			assertEquals(0, Coordinator.leader(word));
+
+			sim.destroy(first);
+			sim.run(Coordinator.LEADER_TIMEOUT + 2);
+			assertNull(sim.crash());
+			word = sim.sharedArray(Comms.COORDINATION);
+			assertTrue(Coordinator.isLive(word, sim.round()));
+			assertEquals(1, Coordinator.leader(word));
+		}
+	}
+
+	@Test
+	public void testBuildersBuildOnLattice() {
+		// Big enough that the archons do not rush and spend the builders' lead on soldiers.
+		try (Simulation sim = new Simulation(30, 30)) {
+			sim.setTeamLead(Team.A, 500);
+			sim.setRubble(8, 10, 80);
+			sim.addRobot(Team.A, RobotType.ARCHON, 10, 10, PLAYER);
+			sim.addRobot(Team.A, RobotType.BUILDER, 12, 13, PLAYER);
+			sim.addRobot(Team.A, RobotType.BUILDER, 7, 7, PLAYER);
+			sim.addRobot(Team.B, RobotType.ARCHON, 1, 1, null);
+			sim.run(60);
+			assertNull(sim.crash());
+			assertEquals(0, sim.illegalActions);
+			int built = 0;
+			for (RobotType type : new RobotType[] {RobotType.WATCHTOWER, RobotType.LABORATORY}) {
+				for (SimRobot r : sim.robots(Team.A, type)) {
+					MapLocation at = r.getLocation();
+					assertTrue("off-lattice " + type + " at " + at, BuildPlanner.isSite(at.x - 10, at.y - 10));
+					assertFalse("built on rubble", at.x == 8 && at.y == 10);
+					built++;
+				}
+			}
+			assertTrue("built " + built, built >= 2);
+		}
+	}
+
+	@Test
+	public void testBuildersLeaseDistinctSites() {
+		// No lead, so nobody builds and every builder keeps its lease.
+		try (Simulation sim = new Simulation(30, 30)) {
+			sim.setTeamLead(Team.A, 0);
+			sim.addRobot(Team.A, RobotType.ARCHON, 10, 10, PLAYER);
+			for (int i = 0; i < BuildPlanner.LEASES; i++) {
+				sim.addRobot(Team.A, RobotType.BUILDER, 13 + i, 13, PLAYER);
+			}
+			sim.addRobot(Team.B, RobotType.ARCHON, 27, 27, null);
+			sim.run(10);
+			assertNull(sim.crash());
+			for (int i = 0; i < BuildPlanner.LEASES; i++) {
+				int word = sim.sharedArray(Comms.BUILD_SITES + i);
+				assertTrue("lease " + i, MinerClaims.isLive(word, MinerClaims.epoch(sim.round())));
+				assertTrue(BuildPlanner.isSite(Comms.x(word) - 10, Comms.y(word) - 10));
+				for (int j = 0; j < i; j++) {
+					assertFalse(Comms.sameLocation(word, sim.sharedArray(Comms.BUILD_SITES + j)));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testArchonsLeaveRubbleOneAtATime() {
+		try (Simulation sim = new Simulation(30, 30).instrumentBytecode()) {
+			sim.setTeamLead(Team.A, 10000);
+			for (int x = 0; x < 30; x++) {
+				for (int y = 0; y < 30; y++) {
+					sim.setRubble(x, y, 100);
+				}
+			}
+			// Bare tiles two steps from each archon, off the build lattice.
+			sim.setRubble(7, 6, 0);
+			sim.setRubble(7, 23, 0);
+			SimRobot[] archons = {
+					sim.addRobot(Team.A, RobotType.ARCHON, 5, 5, PLAYER),
+					sim.addRobot(Team.A, RobotType.ARCHON, 5, 24, PLAYER),
+			};
+			sim.addRobot(Team.B, RobotType.ARCHON, 25, 25, null);
+			int[] mostPortable = {0};
+			int round = sim.runUntil(500, () -> {
+				int portable = 0;
+				int settled = 0;
+				for (SimRobot a : archons) {
+					if (a.getMode() == RobotMode.PORTABLE) {
+						portable++;
+					} else if (sim.rubbleAt(a.getLocation().x, a.getLocation().y) == 0) {
+						settled++;
+					}
+				}
+				mostPortable[0] = Math.max(mostPortable[0], portable);
+				return settled == archons.length;
+			});
+			assertNull(sim.crash());
+			assertEquals(0, sim.illegalActions);
+			assertTrue("archons did not leave the rubble", round > 0);
+			assertEquals(1, mostPortable[0]);
+			assertEquals(-1, Coordinator.mover(sim.sharedArray(Comms.COORDINATION)));
+			for (SimRobot a : archons) {
+				assertEquals(0, a.overruns());
+			}
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package focusfireplayerV2;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.*;
+import focusfireplayerV2.tables.Reach;
+
+public class MicroTest {
+
+	private static final MapLocation ME = new MapLocation(10, 10);
+	private static final int RADIUS = 13;
+	private static final RobotInfo[] NO_ALLIES = new RobotInfo[0];
+
+	private static RobotInfo robot(int id, Team team, RobotType type, int x, int y) {
+		return new RobotInfo(id, team, type, RobotMode.DROID, 1, type.health, new MapLocation(x, y));
+	}
+
+	private static int[] open() {
+		return new int[Reach.OPTIONS];
+	}
+
+	private static Direction choose(RobotInfo[] enemies, RobotInfo[] allies, int[] rubble, boolean canShoot) {
+		return Direction.allDirections()[Micro.choose(enemies, enemies.length, allies, allies.length,
+				ME, RADIUS, rubble, canShoot)];
+	}
+
+	@Test
+	public void testStepsIntoRangeWhenReady() {
+		RobotInfo[] enemies = {robot(1, Team.B, RobotType.SOLDIER, 13, 13)};
+		MapLocation to = ME.add(choose(enemies, NO_ALLIES, open(), true));
+		assertTrue(to.distanceSquaredTo(enemies[0].location) <= RADIUS);
+	}
+
+	@Test
+	public void testStepsOutOfRangeOnCooldown() {
+		RobotInfo[] enemies = {robot(1, Team.B, RobotType.SOLDIER, 13, 12)};
+		MapLocation to = ME.add(choose(enemies, NO_ALLIES, open(), false));
+		assertTrue(to.distanceSquaredTo(enemies[0].location) > RobotType.SOLDIER.actionRadiusSquared);
+	}
+
+	@Test
+	public void testAvoidsRubble() {
+		RobotInfo[] enemies = {robot(1, Team.B, RobotType.SOLDIER, 13, 10)};
+		int[] rubble = open();
+		// Every option that keeps it in range has rubble except north and south.
+		rubble[Direction.NORTHEAST.ordinal()] = 60;
+		rubble[Direction.SOUTHEAST.ordinal()] = 60;
+		rubble[Direction.EAST.ordinal()] = 60;
+		rubble[Reach.STAY] = 60;
+		Direction d = choose(enemies, NO_ALLIES, rubble, true);
+		assertEquals(0, rubble[d.ordinal()]);
+		assertTrue(ME.add(d).distanceSquaredTo(enemies[0].location) <= RADIUS);
+	}
+
+	@Test
+	public void testSkipsBlockedOptions() {
+		RobotInfo[] enemies = {robot(1, Team.B, RobotType.SOLDIER, 14, 14)};
+		int[] rubble = open();
+		rubble[Direction.NORTHEAST.ordinal()] = -1;
+		assertFalse(choose(enemies, NO_ALLIES, rubble, true) == Direction.NORTHEAST);
+	}
+
+	@Test
+	public void testPrefersAllySupport() {
+		RobotInfo[] enemies = {robot(1, Team.B, RobotType.SOLDIER, 10, 14)};
+		RobotInfo[] allies = {robot(2, Team.A, RobotType.SOLDIER, 6, 12), robot(3, Team.A, RobotType.SOLDIER, 6, 13)};
+		Direction d = choose(enemies, allies, open(), true);
+		assertTrue(ME.add(d).x < ME.x);
+	}
+}
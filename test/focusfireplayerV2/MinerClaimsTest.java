@@ -0,0 +1,47 @@
+package focusfireplayerV2;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.*;
+
+public class MinerClaimsTest {
+
+	private static final int LEASE_ROUNDS = (MinerClaims.LEASE_EPOCHS + 1) * MinerClaims.EPOCH_ROUNDS;
+
+	@Test
+	public void testClaimLivesForItsLease() {
+		int word = MinerClaims.stamp(new MapLocation(12, 34), MinerClaims.epoch(40));
+		for (int round = 40; round < 40 + LEASE_ROUNDS - MinerClaims.EPOCH_ROUNDS; round++) {
+			assertTrue("round " + round, MinerClaims.isLive(word, MinerClaims.epoch(round)));
+		}
+		assertFalse(MinerClaims.isLive(word, MinerClaims.epoch(40 + LEASE_ROUNDS)));
+	}
+
+	@Test
+	public void testStampedWordKeepsItsLocation() {
+		int word = MinerClaims.stamp(new MapLocation(12, 34), MinerClaims.epoch(999));
+		assertEquals(12, Comms.x(word));
+		assertEquals(34, Comms.y(word));
+	}
+
+	@Test
+	public void testDeadClaimStaysDeadAfterTheEpochWraps() {
+		int word = MinerClaims.stamp(new MapLocation(5, 6), MinerClaims.epoch(100));
+		// As refresh() sees the slot every round while any miner is alive.
+		for (int round = 100; round <= 100 + 3 * 8 * MinerClaims.EPOCH_ROUNDS; round++) {
+			word = MinerClaims.expire(word, MinerClaims.epoch(round));
+			if (round >= 100 + LEASE_ROUNDS) {
+				assertEquals("round " + round, 0, word);
+				assertFalse("round " + round, MinerClaims.isLive(word, MinerClaims.epoch(round)));
+			}
+		}
+	}
+
+	@Test
+	public void testUnexpiredStampWouldWrap() {
+		// Why refresh() must zero lapsed slots: the bare stamp reads live again 64 rounds on.
+		int word = MinerClaims.stamp(new MapLocation(5, 6), MinerClaims.epoch(100));
+		assertTrue(MinerClaims.isLive(word, MinerClaims.epoch(100 + 8 * MinerClaims.EPOCH_ROUNDS)));
+	}
+}
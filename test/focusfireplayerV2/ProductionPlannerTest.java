@@ -0,0 +1,60 @@
+package focusfireplayerV2;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.*;
+
+public class ProductionPlannerTest {
+
+	private static final int AREA = 40 * 40;
+
+	@Test
+	public void testBuildsMinersFirst() {
+		assertEquals(RobotType.MINER, ProductionPlanner.choose(2, 200, 0, 0, 0, 0, 0, 0, AREA));
+	}
+
+	@Test
+	public void testBuildsSoldiersUnderThreat() {
+		assertEquals(RobotType.SOLDIER, ProductionPlanner.choose(100, 200, 20, 4, 0, 0, 4, 0, AREA));
+	}
+
+	@Test
+	public void testStopsMinersAtTarget() {
+		int target = ProductionPlanner.minerTarget(0, AREA);
+		assertNull(ProductionPlanner.choose(100, 100, 40, target, 0, 0, 0, 0, AREA));
+	}
+
+	@Test
+	public void testMoreOreWantsMoreMiners() {
+		assertTrue(ProductionPlanner.minerTarget(3, AREA) > ProductionPlanner.minerTarget(0, AREA));
+		assertEquals(ProductionPlanner.BASE_MINERS, ProductionPlanner.minerTarget(10, 20 * 20 / 4));
+	}
+
+	@Test
+	public void testSavesForBestOption() {
+		// Soldiers are wanted most, and a miner is affordable but not worth spending on instead.
+		assertNull(ProductionPlanner.choose(100, 60, 0, 0, 0, 0, 10, 0, AREA));
+		assertEquals(RobotType.SOLDIER, ProductionPlanner.choose(100, 75, 0, 0, 0, 0, 10, 0, AREA));
+	}
+
+	@Test
+	public void testSpendsFloatingLead() {
+		int target = ProductionPlanner.minerTarget(0, AREA);
+		assertEquals(RobotType.SOLDIER, ProductionPlanner.choose(100, 1000, 40, target, 0,
+				ProductionPlanner.MAX_BUILDERS, 0, 0, AREA));
+	}
+
+	@Test
+	public void testArchonsTakeTurns() {
+		int builders = 0;
+		for (int rank = 0; rank < 3; rank++) {
+			if (ProductionPlanner.myTurn(7, rank, 3, 50, 50)) {
+				builders++;
+			}
+		}
+		assertEquals(1, builders);
+		assertTrue(ProductionPlanner.myTurn(7, 0, 3, 150, 50));
+		assertTrue(ProductionPlanner.myTurn(7, 0, 1, 50, 50));
+	}
+}
@@ -0,0 +1,78 @@
+package focusfireplayerV2;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class RelocationTest {
+
+	private static final int PLENTY = Integer.MAX_VALUE;
+	private static final int EVERY_TURN = Relocation.HORIZON * 10;
+
+	@Test
+	public void testRubbleSlowsProduction() {
+		assertEquals(EVERY_TURN, Relocation.value(0, 0, 0, PLENTY));
+		assertEquals(EVERY_TURN / 6, Relocation.value(50, 0, 0, PLENTY));
+		assertEquals(EVERY_TURN / 11, Relocation.value(100, 0, 0, PLENTY));
+	}
+
+	@Test
+	public void testLeadCapsProduction() {
+		assertEquals(100, Relocation.value(0, 0, 0, 100));
+		assertEquals(100, Relocation.value(90, 0, 0, 100));
+	}
+
+	@Test
+	public void testThreatAndOreDistanceCost() {
+		assertEquals(EVERY_TURN - 30, Relocation.value(0, 3 * Relocation.THREAT_PER_UNIT, 0, PLENTY));
+		assertEquals(EVERY_TURN - 20, Relocation.value(0, 0, 2 * Relocation.ORE_DISTANCE_PER_UNIT, PLENTY));
+	}
+
+	@Test
+	public void testMaxRubbleMatchesValue() {
+		for (int need = 1; need <= EVERY_TURN; need += 7) {
+			int rubble = Relocation.maxRubble(need);
+			assertTrue("need " + need, Relocation.value(rubble, 0, 0, PLENTY) >= need);
+			if (rubble < 100) {
+				assertTrue("need " + need, Relocation.value(rubble + 1, 0, 0, PLENTY) < need);
+			}
+		}
+		assertEquals(-1, Relocation.maxRubble(EVERY_TURN + 1));
+	}
+
+	@Test
+	public void testTripPaysForTransformsAndWalk() {
+		assertEquals(2 * Relocation.TRANSFORM_TURNS, Relocation.tripTurns(0, 0, 0));
+		assertEquals(12 * Relocation.TRANSFORM_TURNS, Relocation.tripTurns(100, 0, 0));
+		assertTrue(Relocation.tripTurns(100, 0, 3) > Relocation.tripTurns(100, 0, 1));
+		assertTrue(Relocation.tripTurns(100, 0, 1) > Relocation.tripTurns(0, 0, 1));
+	}
+
+	@Test
+	public void testMovesOffHeavyRubble() {
+		int here = Relocation.value(100, 0, 0, PLENTY);
+		int cost = Relocation.tripCost(here, Relocation.tripTurns(100, 0, 2));
+		assertTrue(Relocation.worthMoving(here, Relocation.value(0, 0, 0, PLENTY), cost));
+	}
+
+	@Test
+	public void testStaysWhenLeadIsShort() {
+		int here = Relocation.value(100, 0, 0, 200);
+		int cost = Relocation.tripCost(here, Relocation.tripTurns(100, 0, 2));
+		assertFalse(Relocation.worthMoving(here, Relocation.value(0, 0, 0, 200), cost));
+	}
+
+	@Test
+	public void testStaysForASmallGain() {
+		int here = EVERY_TURN - Relocation.MIN_GAIN * 10 + 1;
+		assertFalse(Relocation.worthMoving(here, EVERY_TURN, 0));
+		assertTrue(Relocation.worthMoving(here - 1, EVERY_TURN, 0));
+	}
+
+	@Test
+	public void testMovesOutOfRange() {
+		int production = Relocation.value(0, 0, 0, PLENTY);
+		int here = Relocation.value(0, 10 * Relocation.THREAT_PER_UNIT * 3, 0, PLENTY);
+		int cost = Relocation.tripCost(production, Relocation.tripTurns(0, 0, 1));
+		assertTrue(Relocation.worthMoving(here, production, cost));
+	}
+}
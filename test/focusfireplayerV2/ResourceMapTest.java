@@ -0,0 +1,72 @@
+package focusfireplayerV2;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.*;
+
+public class ResourceMapTest {
+
+	private static void map(int width, int height) {
+		WorldSnapshot.mapWidth = width;
+		WorldSnapshot.mapHeight = height;
+		WorldSnapshot.type = RobotType.MINER;
+		ResourceMap.init();
+	}
+
+	private static void lead(int x, int y) {
+		ResourceMap.leadBits[x] |= 1L << y;
+		ResourceMap.leadColumns |= 1L << x;
+	}
+
+	@Test
+	public void testRange() {
+		assertEquals(0, ResourceMap.range(5, 4));
+		assertEquals(1L << 7, ResourceMap.range(7, 7));
+		assertEquals(0x1EL, ResourceMap.range(1, 4));
+		assertEquals(-1L, ResourceMap.range(0, 63));
+	}
+
+	@Test
+	public void testNothingKnownFindsNothing() {
+		map(60, 60);
+		assertNull(ResourceMap.nearestDeposit(new MapLocation(30, 30), new long[60]));
+	}
+
+	@Test
+	public void testNearestDepositWithinRadius() {
+		map(60, 60);
+		lead(30, 30 + ResourceMap.SEARCH_RADIUS);
+		lead(30 + ResourceMap.SEARCH_RADIUS + 1, 30);
+		assertEquals(new MapLocation(30, 30 + ResourceMap.SEARCH_RADIUS),
+				ResourceMap.nearestDeposit(new MapLocation(30, 30), new long[60]));
+		long[] claimed = new long[60];
+		claimed[30] = 1L << (30 + ResourceMap.SEARCH_RADIUS);
+		assertNull(ResourceMap.nearestDeposit(new MapLocation(30, 30), claimed));
+	}
+
+	@Test
+	public void testGoldBeatsNearerLead() {
+		map(30, 30);
+		lead(10, 10);
+		ResourceMap.goldBits[14] |= 1L << 10;
+		ResourceMap.goldColumns |= 1L << 14;
+		assertEquals(new MapLocation(14, 10), ResourceMap.nearestDeposit(new MapLocation(10, 11), new long[30]));
+	}
+
+	@Test
+	public void testZoneLevelCountsTilesOutOfVision() {
+		map(64, 64);
+		for (int y = 0; y < ResourceMap.RICH_TILES; y++) {
+			lead(0, y);
+		}
+		assertEquals(ResourceMap.RICH, ResourceMap.knownLevel(0, 0));
+		assertEquals(ResourceMap.NONE, ResourceMap.knownLevel(1, 0));
+		lead(ResourceMap.zoneWidth, 0);
+		assertEquals(ResourceMap.LEAD, ResourceMap.knownLevel(1, 0));
+		ResourceMap.goldBits[ResourceMap.zoneWidth - 1] |= 1L << (ResourceMap.zoneHeight - 1);
+		ResourceMap.goldColumns |= 1L << (ResourceMap.zoneWidth - 1);
+		assertEquals(ResourceMap.GOLD, ResourceMap.knownLevel(0, 0));
+		assertEquals(ResourceMap.NONE, ResourceMap.knownLevel(0, 1));
+	}
+}
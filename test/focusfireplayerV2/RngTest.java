@@ -0,0 +1,173 @@
+package focusfireplayerV2;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.*;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+public class RngTest {
+
+	private static final int DRAWS = 80000;
+
+	@Test
+	public void testDirectionsAreUniform() {
+		Rng.seed(10123, 1);
+		int[] counts = new int[8];
+		for (int i = DRAWS; --i >= 0; ) {
+			Direction d = Rng.direction();
+			for (int k = 8; --k >= 0; ) {
+				if (RobotPlayer.directions[k] == d) {
+					counts[k]++;
+				}
+			}
+		}
+		for (int k = 8; --k >= 0; ) {
+			assertEquals("direction " + k, DRAWS / 8, counts[k], DRAWS / 80);
+		}
+	}
+
+	@Test
+	public void testNextIntStaysInBounds() {
+		Rng.seed(10123, 1);
+		int[] counts = new int[5];
+		for (int i = DRAWS; --i >= 0; ) {
+			counts[Rng.nextInt(5)]++;
+		}
+		for (int k = 5; --k >= 0; ) {
+			assertEquals(DRAWS / 5, counts[k], DRAWS / 50);
+		}
+	}
+
+	@Test
+	public void testWeightedFollowsWeights() {
+		Rng.seed(10123, 1);
+		int[] weights = {1, 3, 0, 4, 99};
+		int[] counts = new int[weights.length];
+		for (int i = DRAWS; --i >= 0; ) {
+			counts[Rng.weighted(weights, 4, 8)]++;
+		}
+		assertEquals(DRAWS / 8, counts[0], DRAWS / 80);
+		assertEquals(3 * DRAWS / 8, counts[1], DRAWS / 80);
+		assertEquals(0, counts[2]);
+		assertEquals(4 * DRAWS / 8, counts[3], DRAWS / 80);
+		assertEquals(0, counts[4]);
+	}
+
+	@Test
+	public void testRobotsSpawnedTogetherWalkApart() {
+		// The same round and consecutive IDs, as for robots one archon builds in a row.
+		boolean[] firstStep = new boolean[8];
+		for (int id = 10000; id < 10032; id++) {
+			Rng.seed(id, 50);
+			firstStep[Arrays.asList(RobotPlayer.directions).indexOf(Rng.direction())] = true;
+		}
+		int distinct = 0;
+		for (boolean b : firstStep) {
+			if (b) {
+				distinct++;
+			}
+		}
+		assertTrue(distinct >= 6);
+	}
+
+	@Test
+	public void testSameSeedSameSequence() {
+		Rng.seed(10123, 7);
+		int a = Rng.next();
+		int b = Rng.next();
+		Rng.seed(10123, 7);
+		assertEquals(a, Rng.next());
+		assertEquals(b, Rng.next());
+		Rng.seed(10124, 7);
+		assertFalse(a == Rng.next());
+	}
+
+	@Test
+	public void testCheaperThanJavaUtilRandom() throws IOException {
+		ClassNode rng = read(Rng.class.getName());
+		ClassNode random = read(Random.class.getName());
+		// Exact for Rng, which has no branches; a lower bound for Random, which also calls into
+		// AtomicLong.
+		int ours = cheapest(rng, "nextInt", "(I)I");
+		int theirs = cheapest(random, "nextInt", "(I)I");
+		System.out.println("nextInt bytecodes: Rng " + ours + ", java.util.Random >= " + theirs);
+		assertTrue(ours * 3 / 2 <= theirs);
+		assertTrue(cheapest(rng, "direction", "()Lbattlecode/common/Direction;") < ours);
+	}
+
+	private static ClassNode read(String name) throws IOException {
+		ClassNode node = new ClassNode();
+		new ClassReader(name).accept(node, 0);
+		return node;
+	}
+
+	/**
+	 * @return the fewest instructions a call can execute on its way to a return, counting calls to
+	 * other methods of the same class, as the engine charges them
+	 */
+	private static int cheapest(ClassNode owner, String name, String desc) {
+		MethodNode method = null;
+		for (MethodNode m : owner.methods) {
+			if (m.name.equals(name) && m.desc.equals(desc)) {
+				method = m;
+			}
+		}
+		assertNotNull(name + desc, method);
+		AbstractInsnNode[] insns = method.instructions.toArray();
+		int[] cost = new int[insns.length];
+		int[] dist = new int[insns.length + 1];
+		Arrays.fill(dist, Integer.MAX_VALUE);
+		for (int i = 0; i < insns.length; i++) {
+			AbstractInsnNode insn = insns[i];
+			cost[i] = insn.getOpcode() < 0 ? 0 : 1;
+			if (insn instanceof MethodInsnNode && ((MethodInsnNode) insn).owner.equals(owner.name)) {
+				MethodInsnNode call = (MethodInsnNode) insn;
+				cost[i] += cheapest(owner, call.name, call.desc);
+			}
+		}
+		dist[0] = cost[0];
+		// Relax until nothing changes; methods here are a few dozen instructions.
+		int best = Integer.MAX_VALUE;
+		for (boolean changed = true; changed; ) {
+			changed = false;
+			for (int i = 0; i < insns.length; i++) {
+				if (dist[i] == Integer.MAX_VALUE) {
+					continue;
+				}
+				AbstractInsnNode insn = insns[i];
+				int opcode = insn.getOpcode();
+				if (opcode >= Opcodes.IRETURN && opcode <= Opcodes.RETURN) {
+					best = Math.min(best, dist[i]);
+					continue;
+				}
+				if (opcode == Opcodes.ATHROW) {
+					continue;
+				}
+				int[] next;
+				if (insn instanceof JumpInsnNode) {
+					int target = method.instructions.indexOf(((JumpInsnNode) insn).label);
+					next = opcode == Opcodes.GOTO ? new int[]{target} : new int[]{target, i + 1};
+				} else if (insn instanceof TableSwitchInsnNode || insn instanceof LookupSwitchInsnNode) {
+					fail("switch in " + name);
+					return 0;
+				} else {
+					next = new int[]{i + 1};
+				}
+				for (int j : next) {
+					if (dist[i] + cost[j] < dist[j]) {
+						dist[j] = dist[i] + cost[j];
+						changed = true;
+					}
+				}
+			}
+		}
+		return best;
+	}
+}
@@ -0,0 +1,71 @@
+package focusfireplayerV2;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.*;
+
+public class SageTest {
+
+	private static final MapLocation ME = new MapLocation(10, 10);
+	private static final int RADIUS = RobotType.SAGE.actionRadiusSquared;
+	private static final int DAMAGE = RobotType.SAGE.damage;
+
+	private static RobotInfo robot(int id, RobotType type, RobotMode mode, int health, int x, int y) {
+		return new RobotInfo(id, Team.B, type, mode, 1, health, new MapLocation(x, y));
+	}
+
+	private static RobotInfo droid(int id, RobotType type, int x, int y) {
+		return robot(id, type, RobotMode.DROID, type.health, x, y);
+	}
+
+	@Test
+	public void testAttacksALoneTarget() {
+		RobotInfo[] enemies = {droid(1, RobotType.SOLDIER, 12, 12)};
+		assertNull(Sage.choose(enemies, 1, ME, RADIUS, DAMAGE, 0));
+		assertEquals(Math.min(DAMAGE, RobotType.SOLDIER.health), Sage.bestDamage);
+	}
+
+	@Test
+	public void testChargesACrowd() {
+		RobotInfo[] enemies = new RobotInfo[8];
+		for (int i = 0; i < enemies.length; i++) {
+			enemies[i] = droid(i, RobotType.SAGE, 8 + i % 4, 8 + i / 4);
+		}
+		assertEquals(AnomalyType.CHARGE, Sage.choose(enemies, enemies.length, ME, RADIUS, DAMAGE, 0));
+		assertEquals(8 * Sage.anomalyDamage(enemies[0], Sage.CHARGE_PERCENT), Sage.bestDamage);
+	}
+
+	@Test
+	public void testIgnoresEnemiesOutOfRange() {
+		RobotInfo[] enemies = new RobotInfo[8];
+		for (int i = 0; i < enemies.length; i++) {
+			enemies[i] = droid(i, RobotType.SAGE, 20, 20 + i);
+		}
+		assertNull(Sage.choose(enemies, enemies.length, ME, RADIUS, DAMAGE, -1));
+		assertEquals(0, Sage.bestDamage);
+	}
+
+	@Test
+	public void testOverkillCountsForNothing() {
+		RobotInfo[] enemies = {
+				robot(1, RobotType.SOLDIER, RobotMode.DROID, 1, 11, 10),
+				robot(2, RobotType.SOLDIER, RobotMode.DROID, 1, 9, 10),
+				droid(3, RobotType.SAGE, 10, 12),
+		};
+		assertNull(Sage.choose(enemies, enemies.length, ME, RADIUS, DAMAGE, 2));
+	}
+
+	@Test
+	public void testFuryOnlyHitsTurrets() {
+		RobotInfo[] enemies = new RobotInfo[6];
+		for (int i = 0; i < enemies.length; i++) {
+			enemies[i] = robot(i, RobotType.WATCHTOWER, RobotMode.PORTABLE, RobotType.WATCHTOWER.health, 8 + i, 9);
+		}
+		assertFalse(AnomalyType.FURY == Sage.choose(enemies, enemies.length, ME, RADIUS, DAMAGE, -1));
+		for (int i = 0; i < enemies.length; i++) {
+			enemies[i] = robot(i, RobotType.WATCHTOWER, RobotMode.TURRET, RobotType.WATCHTOWER.health, 8 + i, 9);
+		}
+		assertEquals(AnomalyType.FURY, Sage.choose(enemies, enemies.length, ME, RADIUS, DAMAGE, -1));
+	}
+}
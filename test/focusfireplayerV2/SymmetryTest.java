@@ -0,0 +1,116 @@
+package focusfireplayerV2;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.*;
+import sim.Simulation;
+
+public class SymmetryTest {
+
+	private static final String PLAYER = "focusfireplayerV2";
+
+	private static void map(int width, int height) {
+		WorldSnapshot.mapWidth = width;
+		WorldSnapshot.mapHeight = height;
+	}
+
+	@Test
+	public void testMirrorX() {
+		map(30, 20);
+		assertEquals(27, Symmetry.mirrorX(Symmetry.ROTATIONAL, 2));
+		assertEquals(27, Symmetry.mirrorX(Symmetry.HORIZONTAL, 2));
+		assertEquals(2, Symmetry.mirrorX(Symmetry.VERTICAL, 2));
+		assertEquals(0, Symmetry.mirrorX(Symmetry.HORIZONTAL, 29));
+	}
+
+	@Test
+	public void testMirrorY() {
+		map(30, 20);
+		assertEquals(14, Symmetry.mirrorY(Symmetry.ROTATIONAL, 5));
+		assertEquals(5, Symmetry.mirrorY(Symmetry.HORIZONTAL, 5));
+		assertEquals(14, Symmetry.mirrorY(Symmetry.VERTICAL, 5));
+		assertEquals(19, Symmetry.mirrorY(Symmetry.VERTICAL, 0));
+	}
+
+	@Test
+	public void testMirrorIsAnInvolution() {
+		map(23, 41);
+		for (int symmetry = Symmetry.VERTICAL; symmetry > 0; symmetry >>= 1) {
+			for (int x = 23; --x >= 0; ) {
+				assertEquals(x, Symmetry.mirrorX(symmetry, Symmetry.mirrorX(symmetry, x)));
+			}
+			for (int y = 41; --y >= 0; ) {
+				assertEquals(y, Symmetry.mirrorY(symmetry, Symmetry.mirrorY(symmetry, y)));
+			}
+		}
+	}
+
+	@Test
+	public void testEliminationClearsOneCandidate() {
+		int state = Symmetry.eliminated(0, Symmetry.HORIZONTAL);
+		assertEquals(Symmetry.ROTATIONAL | Symmetry.VERTICAL, ~state & Symmetry.ALL);
+		assertEquals(state, Symmetry.eliminated(state, Symmetry.HORIZONTAL));
+	}
+
+	@Test
+	public void testLastCandidateIsNeverEliminated() {
+		int state = Symmetry.eliminated(Symmetry.eliminated(0, Symmetry.HORIZONTAL), Symmetry.VERTICAL);
+		assertEquals(Symmetry.ROTATIONAL, ~state & Symmetry.ALL);
+		assertEquals(state, Symmetry.eliminated(state, Symmetry.ROTATIONAL));
+	}
+
+	@Test
+	public void testEliminationKeepsOtherBits() {
+		int seeded = 8;
+		int state = Symmetry.eliminated(seeded | Symmetry.ROTATIONAL, Symmetry.VERTICAL);
+		assertEquals(seeded, state & seeded);
+		assertEquals(state, Symmetry.eliminated(state, Symmetry.HORIZONTAL));
+	}
+
+	/**
+	 * Our archon starts at (2, 2) and the enemy's at (17, 17), its rotational mirror. A miner next to
+	 * (17, 2), the horizontal mirror, sees that tile empty.
+	 */
+	private static Simulation emptyStartTile() {
+		Simulation sim = new Simulation(20, 20);
+		sim.addRobot(Team.A, RobotType.ARCHON, 2, 2, PLAYER);
+		sim.addRobot(Team.B, RobotType.ARCHON, 17, 17, null);
+		return sim;
+	}
+
+	@Test
+	public void testEmptyStartTileRulesOutItsCandidateEarly() {
+		try (Simulation sim = emptyStartTile()) {
+			sim.addRobot(Team.A, RobotType.MINER, 15, 3, PLAYER);
+			sim.run(3);
+			assertNull(sim.crash());
+			assertTrue(sim.round() <= Symmetry.EARLY_ROUNDS);
+			int state = sim.sharedArray(Comms.SYMMETRY);
+			assertTrue((state & Symmetry.HORIZONTAL) != 0);
+			assertEquals(0, state & Symmetry.ROTATIONAL);
+		}
+	}
+
+	@Test
+	public void testEmptyStartTileProvesNothingOnceArchonsCanMove() {
+		try (Simulation sim = emptyStartTile()) {
+			sim.run(Symmetry.EARLY_ROUNDS);
+			sim.addRobot(Team.A, RobotType.MINER, 15, 3, PLAYER);
+			sim.run(3);
+			assertNull(sim.crash());
+			assertEquals(0, sim.sharedArray(Comms.SYMMETRY) & Symmetry.HORIZONTAL);
+		}
+	}
+
+	@Test
+	public void testScanComparesLeadOnlyWhenBothSidesKnowIt() {
+		int noLead = 1 << 8;
+		int lead = 2 << 8;
+		assertTrue(Symmetry.Scan.disagree(3, 4));
+		assertTrue(Symmetry.Scan.disagree(3 | lead, 3 | noLead));
+		assertFalse(Symmetry.Scan.disagree(3 | lead, 3 | lead));
+		assertFalse(Symmetry.Scan.disagree(3 | lead, 3));
+		assertFalse(Symmetry.Scan.disagree(3, 3 | noLead));
+	}
+}
@@ -0,0 +1,71 @@
+package focusfireplayerV2;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.*;
+
+public class TargetingTest {
+
+	private static final MapLocation ME = new MapLocation(10, 10);
+	private static final int RADIUS = 13;
+	private static final int DAMAGE = 3;
+
+	private static RobotInfo robot(int id, Team team, RobotType type, int health, int x, int y) {
+		return new RobotInfo(id, team, type, RobotMode.DROID, 1, health, new MapLocation(x, y));
+	}
+
+	private static RobotInfo enemy(int id, RobotType type, int health, int x, int y) {
+		return robot(id, Team.B, type, health, x, y);
+	}
+
+	private static RobotInfo ally(int id, int x, int y) {
+		return robot(id, Team.A, RobotType.SOLDIER, 50, x, y);
+	}
+
+	@Test
+	public void testIgnoresEnemiesOutOfRange() {
+		RobotInfo[] enemies = {enemy(1, RobotType.SOLDIER, 50, 20, 20)};
+		assertEquals(-1, Targeting.select(enemies, 1, new RobotInfo[0], 0, ME, RADIUS, DAMAGE, 0));
+	}
+
+	@Test
+	public void testPrefersKillThisTurn() {
+		RobotInfo[] enemies = {
+				enemy(1, RobotType.SOLDIER, 50, 11, 10),
+				enemy(2, RobotType.MINER, 3, 12, 12),
+		};
+		assertEquals(1, Targeting.select(enemies, 2, new RobotInfo[0], 0, ME, RADIUS, DAMAGE, 0));
+	}
+
+	@Test
+	public void testCountsAlliesInRange() {
+		// Neither dies to us alone, but an ally can also hit the second one.
+		RobotInfo[] enemies = {
+				enemy(1, RobotType.SOLDIER, 6, 8, 10),
+				enemy(2, RobotType.SOLDIER, 6, 12, 10),
+		};
+		RobotInfo[] allies = {ally(3, 14, 10)};
+		assertEquals(1, Targeting.select(enemies, 2, allies, 1, ME, RADIUS, DAMAGE, 0));
+	}
+
+	@Test
+	public void testPrefersThreatAtEqualHealth() {
+		RobotInfo[] enemies = {
+				enemy(1, RobotType.MINER, 40, 11, 10),
+				enemy(2, RobotType.SOLDIER, 40, 9, 10),
+		};
+		assertEquals(1, Targeting.select(enemies, 2, new RobotInfo[0], 0, ME, RADIUS, DAMAGE, 0));
+	}
+
+	@Test
+	public void testFocusBreaksTies() {
+		RobotInfo[] enemies = {
+				enemy(1, RobotType.SOLDIER, 50, 11, 10),
+				enemy(2, RobotType.SOLDIER, 50, 9, 10),
+		};
+		int focus = Comms.packLocation(11, 10);
+		assertEquals(0, Targeting.select(enemies, 2, new RobotInfo[0], 0, ME, RADIUS, DAMAGE, focus));
+	}
+
+}
@@ -0,0 +1,62 @@
+package focusfireplayerV2.pathing;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.*;
+import sim.SimRobot;
+import sim.Simulation;
+
+public class PathfinderTest {
+
+	private static final String PLAYER = "focusfireplayerV2";
+	private static final String PATHFINDER = PLAYER + ".pathing.Pathfinder";
+
+	private static final MapLocation ENEMY_ARCHON = new MapLocation(10, 18);
+
+	/**
+	 * Plays a soldier from (10, 4) to the enemy archon at (10, 18), across a two-tile band of full
+	 * rubble with a bare gap three tiles off the straight line. Our archon sits on the map's vertical
+	 * axis, so every symmetry it leaves standing predicts the same enemy start.
+	 *
+	 * @return the soldier, once it is in attack range of the archon
+	 */
+	private static SimRobot cross(Simulation sim, boolean greedyOnly, int[] rounds) {
+		sim.setPlayerStatic(PATHFINDER, "greedyOnly", greedyOnly);
+		for (int x = 0; x < 21; x++) {
+			if (x != 13) {
+				sim.setRubble(x, 10, 100);
+				sim.setRubble(x, 11, 100);
+			}
+		}
+		sim.addRobot(Team.A, RobotType.ARCHON, 10, 2, PLAYER);
+		SimRobot soldier = sim.addRobot(Team.A, RobotType.SOLDIER, 10, 4, PLAYER);
+		sim.addRobot(Team.B, RobotType.ARCHON, ENEMY_ARCHON.x, ENEMY_ARCHON.y, null);
+		rounds[0] = sim.runUntil(300, () ->
+				soldier.getLocation().isWithinDistanceSquared(ENEMY_ARCHON, RobotType.SOLDIER.actionRadiusSquared));
+		assertNull(sim.crash());
+		assertEquals(0, sim.illegalActions);
+		return soldier;
+	}
+
+	@Test
+	public void testSearchBeatsGreedyAcrossRubble() throws ReflectiveOperationException {
+		int[] bfs = new int[1];
+		int[] greedy = new int[1];
+		try (Simulation sim = new Simulation(21, 21).instrumentBytecode()) {
+			SimRobot soldier = cross(sim, false, bfs);
+			assertTrue("BFS soldier never arrived", bfs[0] > 0);
+			int cost = (Integer) soldier.playerStatic(PATHFINDER, "maxSearchBytecodes");
+			assertTrue("search cost " + cost, cost > 0 && cost <= BFS20.BYTECODE_CEILING);
+			assertEquals(0, soldier.overruns());
+			System.out.println("BFS: " + bfs[0] + " rounds, costliest search " + cost + " of "
+					+ BFS20.BYTECODE_CEILING);
+		}
+		try (Simulation sim = new Simulation(21, 21).instrumentBytecode()) {
+			SimRobot soldier = cross(sim, true, greedy);
+			assertEquals(0, (int) (Integer) soldier.playerStatic(PATHFINDER, "maxSearchBytecodes"));
+			System.out.println("greedy: " + (greedy[0] > 0 ? greedy[0] + " rounds" : "did not arrive"));
+		}
+		assertTrue("BFS took " + bfs[0] + " rounds, greedy " + greedy[0], greedy[0] < 0 || bfs[0] < greedy[0]);
+	}
+}
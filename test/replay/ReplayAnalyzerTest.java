@@ -0,0 +1,117 @@
+package replay;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.schema.*;
+import com.google.flatbuffers.FlatBufferBuilder;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs a two-round match through the analyzer and compares its CSV with test/replay/income.csv.
+ *
+ * The replay is assembled with the engine's own flatbuffer builders, so it stays readable by the
+ * analyzer whatever the engine version. Team A's miner mines lead twice, then gold once while a new
+ * laboratory transmutes twice; team B's miner mines once and dies. The stockpile changes include
+ * spending, so they differ from the income columns.
+ */
+public class ReplayAnalyzerTest {
+
+	private static final String EXPECTED = "test/replay/income.csv";
+
+	private static int spawned(FlatBufferBuilder b, int[] ids, byte[] teams, byte[] types) {
+		int idVector = SpawnedBodyTable.createRobotIDsVector(b, ids);
+		int teamVector = SpawnedBodyTable.createTeamIDsVector(b, teams);
+		int typeVector = SpawnedBodyTable.createTypesVector(b, types);
+		SpawnedBodyTable.startSpawnedBodyTable(b);
+		SpawnedBodyTable.addRobotIDs(b, idVector);
+		SpawnedBodyTable.addTeamIDs(b, teamVector);
+		SpawnedBodyTable.addTypes(b, typeVector);
+		return SpawnedBodyTable.endSpawnedBodyTable(b);
+	}
+
+	private static int event(FlatBufferBuilder b, byte type, int offset) {
+		EventWrapper.startEventWrapper(b);
+		EventWrapper.addEType(b, type);
+		EventWrapper.addE(b, offset);
+		return EventWrapper.endEventWrapper(b);
+	}
+
+	private static int round(FlatBufferBuilder b, int id, int[] leadChanges, int[] goldChanges, int spawned,
+			int[] died, int[] actionIds, byte[] actions, int[] bytecodeIds, int[] bytecodes) {
+		int teams = Round.createTeamIDsVector(b, new int[]{1, 2});
+		int lead = Round.createTeamLeadChangesVector(b, leadChanges);
+		int gold = Round.createTeamGoldChangesVector(b, goldChanges);
+		int diedVector = Round.createDiedIDsVector(b, died);
+		int actionIdVector = Round.createActionIDsVector(b, actionIds);
+		int actionVector = Round.createActionsVector(b, actions);
+		int bytecodeIdVector = Round.createBytecodeIDsVector(b, bytecodeIds);
+		int bytecodeVector = Round.createBytecodesUsedVector(b, bytecodes);
+		Round.startRound(b);
+		Round.addTeamIDs(b, teams);
+		Round.addTeamLeadChanges(b, lead);
+		Round.addTeamGoldChanges(b, gold);
+		Round.addSpawnedBodies(b, spawned);
+		Round.addDiedIDs(b, diedVector);
+		Round.addActionIDs(b, actionIdVector);
+		Round.addActions(b, actionVector);
+		Round.addBytecodeIDs(b, bytecodeIdVector);
+		Round.addBytecodesUsed(b, bytecodeVector);
+		Round.addRoundID(b, id);
+		return event(b, Event.Round, Round.endRound(b));
+	}
+
+	private static byte[] match() {
+		FlatBufferBuilder b = new FlatBufferBuilder(1024);
+		int archons = spawned(b, new int[]{1, 2}, new byte[]{1, 2}, new byte[]{BodyType.ARCHON, BodyType.ARCHON});
+		GameMap.startGameMap(b);
+		GameMap.addBodies(b, archons);
+		int map = GameMap.endGameMap(b);
+		MatchHeader.startMatchHeader(b);
+		MatchHeader.addMap(b, map);
+		int header = event(b, Event.MatchHeader, MatchHeader.endMatchHeader(b));
+
+		int round1 = round(b, 1, new int[]{-48, -49}, new int[]{0, 0},
+				spawned(b, new int[]{3, 4}, new byte[]{1, 2}, new byte[]{BodyType.MINER, BodyType.MINER}),
+				new int[0],
+				new int[]{1, 2, 3, 3, 4},
+				new byte[]{Action.SPAWN_UNIT, Action.SPAWN_UNIT, Action.MINE_LEAD, Action.MINE_LEAD, Action.MINE_LEAD},
+				new int[]{1, 2, 3, 4}, new int[]{1000, 900, 300, 200});
+		// Robot 99 never spawned, so its action counts for neither team.
+		int round2 = round(b, 2, new int[]{-5, 2}, new int[]{3, 0},
+				spawned(b, new int[]{5}, new byte[]{1}, new byte[]{BodyType.LABORATORY}),
+				new int[]{4},
+				new int[]{3, 5, 5, 99},
+				new byte[]{Action.MINE_GOLD, Action.TRANSMUTE, Action.TRANSMUTE, Action.MINE_LEAD},
+				new int[]{1, 2, 3, 5}, new int[]{500, 400, 250, 100});
+
+		int events = GameWrapper.createEventsVector(b, new int[]{header, round1, round2});
+		GameWrapper.startGameWrapper(b);
+		GameWrapper.addEvents(b, events);
+		b.finish(GameWrapper.endGameWrapper(b));
+		return b.sizedByteArray();
+	}
+
+	@Test
+	public void testIncomeCountsOnlyMiningAndTransmuting() throws IOException {
+		File replay = File.createTempFile("income", ".bc22");
+		try {
+			try (OutputStream out = new GZIPOutputStream(new FileOutputStream(replay))) {
+				out.write(match());
+			}
+			StringWriter csv = new StringWriter();
+			try (PrintWriter out = new PrintWriter(csv)) {
+				assertEquals(2, new ReplayAnalyzer().analyze(replay, out));
+			}
+			String expected = new String(Files.readAllBytes(Paths.get(EXPECTED)), StandardCharsets.UTF_8);
+			assertEquals(expected, csv.toString().replace(System.lineSeparator(), "\n"));
+		} finally {
+			replay.delete();
+		}
+	}
+}
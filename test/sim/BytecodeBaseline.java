@@ -0,0 +1,101 @@
+package sim;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-turn bytecode figures recorded in a checked-in file, one {@code key=value} line each, for
+ * regression tests to compare against.
+ *
+ * A measurement fails if it is more than the tolerance above its recorded value; the tolerance comes
+ * from the {@code bytecode.tolerance} system property (a fraction, default {@value #DEFAULT_TOLERANCE}).
+ * With {@code bytecode.updateBaseline=true} nothing is checked and the measurements are written back to
+ * the file instead, merged with the keys already there.
+ */
+public final class BytecodeBaseline {
+
+    static final double DEFAULT_TOLERANCE = 0.10;
+
+    private final File file;
+    private final double tolerance;
+    private final boolean update;
+    private final Map<String, Integer> recorded = new TreeMap<>();
+    private final Map<String, Integer> measured = new TreeMap<>();
+    private final List<String> failures = new ArrayList<>();
+
+    public BytecodeBaseline(String path) throws IOException {
+        this.file = new File(path);
+        this.tolerance = Double.parseDouble(System.getProperty("bytecode.tolerance", String.valueOf(DEFAULT_TOLERANCE)));
+        this.update = Boolean.getBoolean("bytecode.updateBaseline");
+        if (file.exists()) {
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    line = line.trim();
+                    int eq = line.indexOf('=');
+                    if (line.isEmpty() || line.startsWith("#") || eq < 0) {
+                        continue;
+                    }
+                    recorded.put(line.substring(0, eq).trim(), Integer.parseInt(line.substring(eq + 1).trim()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares value to the recorded figure for key, or records it when updating. Keys with nothing
+     * recorded yet fail, so a new scenario cannot pass unnoticed.
+     */
+    public void check(String key, int value) {
+        measured.put(key, value);
+        if (update) {
+            return;
+        }
+        Integer baseline = recorded.get(key);
+        if (baseline == null) {
+            failures.add(key + ": no baseline, measured " + value);
+        } else if (value > baseline * (1 + tolerance)) {
+            failures.add(String.format("%s: %d is %+.0f%% over the baseline of %d",
+                    key, value, 100.0 * (value - baseline) / Math.max(1, baseline), baseline));
+        } else if (value < baseline * (1 - tolerance)) {
+            System.out.printf("%s: %d is well under the baseline of %d; consider updating it%n", key, value, baseline);
+        }
+    }
+
+    /**
+     * Records value for key like {@link #check}, but only prints how it compares: for figures worth
+     * watching that are not regressions when they grow, such as background work filling spare
+     * bytecode.
+     */
+    public void report(String key, int value) {
+        measured.put(key, value);
+        if (!update) {
+            Integer baseline = recorded.get(key);
+            System.out.printf("%s: %d (baseline %s)%n", key, value, baseline == null ? "none" : baseline.toString());
+        }
+    }
+
+    /**
+     * Writes the file when updating, else throws an AssertionError listing every regression.
+     */
+    public void finish() throws IOException {
+        if (update) {
+            recorded.putAll(measured);
+            try (Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+                out.write("# Per-turn bytecode baselines for BytecodeRegressionTest.\n");
+                out.write("# Regenerate with ./gradlew updateBytecodeBaseline\n");
+                for (Map.Entry<String, Integer> e : recorded.entrySet()) {
+                    out.write(e.getKey() + "=" + e.getValue() + "\n");
+                }
+            }
+            return;
+        }
+        if (!failures.isEmpty()) {
+            throw new AssertionError("bytecode regressions in " + file + ":\n  " + String.join("\n  ", failures));
+        }
+    }
+}
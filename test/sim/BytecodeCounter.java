@@ -0,0 +1,41 @@
+package sim;
+
+/**
+ * Target of the calls {@link BytecodeInstrumenter} weaves into player code.
+ *
+ * Charges each basic block to the robot whose thread runs it, and ends the robot's turn on the spot
+ * once it goes over its limit, the way the engine pauses a robot mid-turn. Threads that are not
+ * simulated robots are not charged.
+ */
+public final class BytecodeCounter {
+
+    private static final ThreadLocal<SimRobot> ROBOT = new ThreadLocal<>();
+
+    private BytecodeCounter() {
+    }
+
+    static void attach(SimRobot robot) {
+        ROBOT.set(robot);
+    }
+
+    public static void add(int bytecodes) {
+        SimRobot robot = ROBOT.get();
+        if (robot != null) {
+            robot.bytecodesUsed += bytecodes;
+            if (robot.bytecodesUsed > robot.type.bytecodeLimit) {
+                robot.overrun();
+            }
+        }
+    }
+
+    /**
+     * Marks the start of the turn's background work: whatever is charged after the first call in a
+     * turn counts as background rather than as the robot's role.
+     */
+    public static void background() {
+        SimRobot robot = ROBOT.get();
+        if (robot != null && robot.roleBytecodes < 0) {
+            robot.roleBytecodes = robot.bytecodesUsed;
+        }
+    }
+}
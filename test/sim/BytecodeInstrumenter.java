@@ -0,0 +1,92 @@
+package sim;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.*;
+
+/**
+ * Rewrites player classes so they count their own bytecode, standing in for the engine's
+ * instrumenter, which only exists inside a running match.
+ *
+ * Every method is cut into basic blocks: a block starts at a label and ends after a jump, switch,
+ * return or throw. The first instruction of each block is preceded by a call to
+ * {@link BytecodeCounter#add} with the number of instructions in the block, so a block is paid for
+ * when it is entered, as the engine does. The inserted calls are not counted themselves. Engine
+ * methods are not instrumented here; MockRobotController charges a flat cost for them instead.
+ *
+ * A player's {@code Scheduler.run()} also starts with a call to {@link BytecodeCounter#background},
+ * which marks where its role's work ends and the background work that soaks up the rest of the turn
+ * begins.
+ */
+final class BytecodeInstrumenter {
+
+    private static final String COUNTER = BytecodeCounter.class.getName().replace('.', '/');
+
+    private static final String SCHEDULER = "/Scheduler";
+
+    private BytecodeInstrumenter() {
+    }
+
+    static byte[] instrument(byte[] bytes) {
+        ClassNode node = new ClassNode();
+        new ClassReader(bytes).accept(node, 0);
+        for (MethodNode method : node.methods) {
+            instrument(method.instructions);
+            if (node.name.endsWith(SCHEDULER) && method.name.equals("run") && method.desc.equals("()V")) {
+                method.instructions.insert(
+                        new MethodInsnNode(Opcodes.INVOKESTATIC, COUNTER, "background", "()V", false));
+            }
+        }
+        // Frames stay valid: the inserted code leaves the stack and locals as it found them.
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        node.accept(writer);
+        return writer.toByteArray();
+    }
+
+    private static void instrument(InsnList instructions) {
+        AbstractInsnNode blockStart = null;
+        int count = 0;
+        for (AbstractInsnNode insn = instructions.getFirst(); insn != null; insn = insn.getNext()) {
+            if (insn instanceof LabelNode) {
+                charge(instructions, blockStart, count);
+                blockStart = null;
+                count = 0;
+                continue;
+            }
+            if (insn.getOpcode() < 0) {
+                // Frames and line numbers
+                continue;
+            }
+            if (blockStart == null) {
+                blockStart = insn;
+            }
+            count++;
+            if (endsBlock(insn)) {
+                charge(instructions, blockStart, count);
+                blockStart = null;
+                count = 0;
+            }
+        }
+        charge(instructions, blockStart, count);
+    }
+
+    private static boolean endsBlock(AbstractInsnNode insn) {
+        int opcode = insn.getOpcode();
+        return insn instanceof JumpInsnNode
+                || insn instanceof TableSwitchInsnNode
+                || insn instanceof LookupSwitchInsnNode
+                || (opcode >= Opcodes.IRETURN && opcode <= Opcodes.RETURN)
+                || opcode == Opcodes.ATHROW;
+    }
+
+    private static void charge(InsnList instructions, AbstractInsnNode blockStart, int count) {
+        if (blockStart == null) {
+            return;
+        }
+        InsnList call = new InsnList();
+        call.add(new LdcInsnNode(count));
+        call.add(new MethodInsnNode(Opcodes.INVOKESTATIC, COUNTER, "add", "(I)V", false));
+        instructions.insertBefore(blockStart, call);
+    }
+}
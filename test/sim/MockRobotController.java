@@ -0,0 +1,392 @@
+package sim;
+
+import battlecode.common.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The RobotController a {@link SimRobot} sees, backed by its {@link Simulation}.
+ *
+ * Built as a dynamic proxy that dispatches on method name and argument count, so it keeps compiling
+ * whatever the engine version adds to the interface. Calls it does not model fail the way the engine
+ * fails a disallowed action: can*() returns false and the action throws a GameActionException.
+ * Anything else unknown throws UnsupportedOperationException, which surfaces as a crash in the test.
+ */
+final class MockRobotController implements InvocationHandler {
+
+    // Rough engine costs, charged to the robot's bytecode counter per call.
+    static final int SENSE_NEARBY_COST = 100;
+    static final int WRITE_SHARED_COST = 100;
+    static final int CALL_COST = 5;
+
+    // Cooldown a transform adds before rubble, as in the engine: ten turns.
+    static final int TRANSFORM_COOLDOWN = 10 * GameConstants.COOLDOWN_LIMIT;
+
+    private final Simulation sim;
+    private final SimRobot robot;
+
+    private MockRobotController(Simulation sim, SimRobot robot) {
+        this.sim = sim;
+        this.robot = robot;
+    }
+
+    static RobotController create(Simulation sim, SimRobot robot) {
+        return (RobotController) Proxy.newProxyInstance(RobotController.class.getClassLoader(),
+                new Class<?>[]{RobotController.class}, new MockRobotController(sim, robot));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        int n = args == null ? 0 : args.length;
+        switch (name) {
+            case "toString":    return "rc(" + robot + ")";
+            case "hashCode":    return System.identityHashCode(proxy);
+            case "equals":      return proxy == args[0];
+            default:            break;
+        }
+        robot.bytecodesUsed += name.startsWith("senseNearby") || name.startsWith("getAll")
+                ? SENSE_NEARBY_COST : name.equals("writeSharedArray") ? WRITE_SHARED_COST : CALL_COST;
+
+        switch (name) {
+            // Game and robot state.
+            case "getRoundNum":             return sim.round;
+            case "getMapWidth":             return sim.width;
+            case "getMapHeight":            return sim.height;
+            case "getArchonCount":          return sim.count(robot.team, RobotType.ARCHON);
+            case "getRobotCount":           return sim.count(robot.team, null);
+            case "getTeamLeadAmount":       return sim.teamLead[((Team) args[0]).ordinal()];
+            case "getTeamGoldAmount":       return sim.teamGold[((Team) args[0]).ordinal()];
+            case "getID":                   return robot.id;
+            case "getTeam":                 return robot.team;
+            case "getType":                 return robot.type;
+            case "getLocation":             return robot.location;
+            case "getHealth":               return robot.health;
+            case "getLevel":                return 1;
+            case "getMode":                 return robot.mode;
+            case "isActionReady":           return robot.actionCooldown < GameConstants.COOLDOWN_LIMIT;
+            case "isMovementReady":         return robot.movementCooldown < GameConstants.COOLDOWN_LIMIT;
+            case "getActionCooldownTurns":  return robot.actionCooldown;
+            case "getMovementCooldownTurns": return robot.movementCooldown;
+            case "isTransformReady":        return transformReady();
+            case "getTransformCooldownTurns":
+                return robot.mode == RobotMode.PORTABLE ? robot.movementCooldown : robot.actionCooldown;
+            case "getTransmutationRate":    return 0;
+            case "getAnomalySchedule":      return new AnomalyScheduleEntry[0];
+            case "adjacentLocation":        return robot.location.add((Direction) args[0]);
+
+            // Sensing.
+            case "canSenseRadiusSquared":   return (int) args[0] <= robot.type.visionRadiusSquared;
+            case "canSenseLocation":        return canSense((MapLocation) args[0]);
+            case "onTheMap": {
+                MapLocation loc = (MapLocation) args[0];
+                if (!inVision(loc)) {
+                    throw illegal(GameActionExceptionType.CANT_SENSE_THAT, loc + " is out of vision");
+                }
+                return onMap(loc);
+            }
+            case "isLocationOccupied":      return robotAt(sensed((MapLocation) args[0])) != null;
+            case "canSenseRobotAtLocation": return canSense((MapLocation) args[0]) && robotAt((MapLocation) args[0]) != null;
+            case "senseRobotAtLocation": {
+                SimRobot r = robotAt(sensed((MapLocation) args[0]));
+                return r == null ? null : r.info();
+            }
+            case "canSenseRobot":           return visibleRobot((int) args[0]) != null;
+            case "senseRobot": {
+                SimRobot r = visibleRobot((int) args[0]);
+                if (r == null) {
+                    throw new GameActionException(GameActionExceptionType.CANT_SENSE_THAT, "no robot " + args[0] + " in vision");
+                }
+                return r.info();
+            }
+            case "senseNearbyRobots":
+                return senseNearbyRobots(n == 3 ? (MapLocation) args[0] : robot.location,
+                        n == 0 ? -1 : (int) args[n == 3 ? 1 : 0],
+                        n < 2 ? null : (Team) args[n - 1]);
+            case "senseRubble":             return terrain(sim.rubble, sensed((MapLocation) args[0]));
+            case "senseLead":               return terrain(sim.lead, sensed((MapLocation) args[0]));
+            case "senseGold":               return terrain(sim.gold, sensed((MapLocation) args[0]));
+            case "senseNearbyLocationsWithLead":
+                return locationsWith(sim.lead, args);
+            case "senseNearbyLocationsWithGold":
+                return locationsWith(sim.gold, args);
+            case "getAllLocationsWithinRadiusSquared":
+                return locationsWithin((MapLocation) args[0], (int) args[1], null, 0);
+
+            // Actions.
+            case "canMove":                 return canMove((Direction) args[0]);
+            case "move":                    move((Direction) args[0]); return null;
+            case "canBuildRobot":           return canBuild((RobotType) args[0], (Direction) args[1]);
+            case "buildRobot":              build((RobotType) args[0], (Direction) args[1]); return null;
+            case "canAttack":               return canAttack((MapLocation) args[0]);
+            case "attack":                  attack((MapLocation) args[0]); return null;
+            case "canRepair":               return canRepair((MapLocation) args[0]);
+            case "repair":                  repair((MapLocation) args[0]); return null;
+            case "canMineLead":             return canMine(sim.lead, (MapLocation) args[0]);
+            case "mineLead":                mine(sim.lead, sim.teamLead, (MapLocation) args[0]); return null;
+            case "canMineGold":             return canMine(sim.gold, (MapLocation) args[0]);
+            case "mineGold":                mine(sim.gold, sim.teamGold, (MapLocation) args[0]); return null;
+            case "canEnvision":
+            case "canMutate":
+            case "canTransmute":            return false;
+            case "canTransform":            return transformReady();
+            case "transform":               transform(); return null;
+            case "envision":
+            case "mutate":
+            case "transmute":               throw illegal(GameActionExceptionType.CANT_DO_THAT, name + " is not simulated");
+            case "disintegrate":            sim.destroy(robot); return null;
+
+            // Communication and debugging.
+            case "readSharedArray":         return sim.shared[sharedIndex((int) args[0])];
+            case "writeSharedArray": {
+                int value = (int) args[1];
+                if (value < 0 || value > GameConstants.MAX_SHARED_ARRAY_VALUE) {
+                    throw illegal(GameActionExceptionType.CANT_DO_THAT, "shared array value out of range: " + value);
+                }
+                sim.shared[sharedIndex((int) args[0])] = value;
+                return null;
+            }
+            case "setIndicatorString":
+            case "setIndicatorDot":
+            case "setIndicatorLine":        return null;
+            default:
+                throw new UnsupportedOperationException("not simulated: " + method);
+        }
+    }
+
+    private GameActionException illegal(GameActionExceptionType type, String message) {
+        sim.illegalActions++;
+        return new GameActionException(type, message);
+    }
+
+    private boolean onMap(MapLocation loc) {
+        return sim.onMap(loc.x, loc.y);
+    }
+
+    private SimRobot robotAt(MapLocation loc) {
+        return onMap(loc) ? sim.grid[loc.x][loc.y] : null;
+    }
+
+    private boolean inVision(MapLocation loc) {
+        return robot.location.distanceSquaredTo(loc) <= robot.type.visionRadiusSquared;
+    }
+
+    /**
+     * As in the engine, tiles off the map cannot be sensed even within vision.
+     */
+    private boolean canSense(MapLocation loc) {
+        return inVision(loc) && onMap(loc);
+    }
+
+    /**
+     * @return loc, after checking it can be sensed.
+     */
+    private MapLocation sensed(MapLocation loc) throws GameActionException {
+        if (!canSense(loc)) {
+            throw illegal(GameActionExceptionType.CANT_SENSE_THAT, "cannot sense " + loc);
+        }
+        return loc;
+    }
+
+    private int terrain(int[][] layer, MapLocation loc) {
+        return layer[loc.x][loc.y];
+    }
+
+    private int sharedIndex(int index) throws GameActionException {
+        if (index < 0 || index >= GameConstants.SHARED_ARRAY_LENGTH) {
+            throw illegal(GameActionExceptionType.CANT_DO_THAT, "shared array index out of range: " + index);
+        }
+        return index;
+    }
+
+    private SimRobot visibleRobot(int id) {
+        for (SimRobot r : sim.robots) {
+            if (r.id == id && r.alive && canSense(r.location)) {
+                return r;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * radius -1 means the whole vision radius; larger radii are clipped to it, as in the engine.
+     */
+    private RobotInfo[] senseNearbyRobots(MapLocation center, int radius, Team team) {
+        int r2 = radius < 0 ? robot.type.visionRadiusSquared : Math.min(radius, robot.type.visionRadiusSquared);
+        List<RobotInfo> out = new ArrayList<>();
+        for (SimRobot r : sim.robots) {
+            if (r != robot && r.alive && (team == null || r.team == team)
+                    && center.distanceSquaredTo(r.location) <= r2 && canSense(r.location)) {
+                out.add(r.info());
+            }
+        }
+        return out.toArray(new RobotInfo[0]);
+    }
+
+    /**
+     * Handles every senseNearbyLocationsWith* overload: (), (radius), (center, radius),
+     * (center, radius, min) and (radius, min).
+     */
+    private MapLocation[] locationsWith(int[][] layer, Object[] args) throws GameActionException {
+        MapLocation center = robot.location;
+        int radius = -1;
+        int min = 1;
+        int n = args == null ? 0 : args.length;
+        if (n > 0 && args[0] instanceof MapLocation) {
+            center = (MapLocation) args[0];
+            radius = (int) args[1];
+            if (n == 3) {
+                min = (int) args[2];
+            }
+        } else if (n > 0) {
+            radius = (int) args[0];
+            if (n == 2) {
+                min = (int) args[1];
+            }
+        }
+        return locationsWithin(center, radius, layer, min);
+    }
+
+    private MapLocation[] locationsWithin(MapLocation center, int radius, int[][] layer, int min) throws GameActionException {
+        int vision = robot.type.visionRadiusSquared;
+        int r2 = radius < 0 ? vision : Math.min(radius, vision);
+        if (radius < 0 && center != robot.location) {
+            throw illegal(GameActionExceptionType.CANT_DO_THAT, "negative radius");
+        }
+        int reach = (int) Math.sqrt(r2);
+        List<MapLocation> out = new ArrayList<>();
+        for (int x = Math.max(0, center.x - reach); x <= Math.min(sim.width - 1, center.x + reach); x++) {
+            for (int y = Math.max(0, center.y - reach); y <= Math.min(sim.height - 1, center.y + reach); y++) {
+                MapLocation loc = new MapLocation(x, y);
+                if (center.distanceSquaredTo(loc) <= r2 && canSense(loc) && (layer == null || layer[x][y] >= min)) {
+                    out.add(loc);
+                }
+            }
+        }
+        return out.toArray(new MapLocation[0]);
+    }
+
+    /**
+     * Cooldown after an action or move, scaled by the rubble on tile.
+     */
+    private int cooldown(int base, MapLocation tile) {
+        return base * (10 + sim.rubble[tile.x][tile.y]) / 10;
+    }
+
+    private boolean actionReady() {
+        return robot.actionCooldown < GameConstants.COOLDOWN_LIMIT;
+    }
+
+    private boolean canAct(MapLocation target) {
+        return actionReady() && onMap(target)
+                && robot.location.distanceSquaredTo(target) <= robot.type.actionRadiusSquared;
+    }
+
+    private boolean transformReady() {
+        return robot.mode == RobotMode.TURRET ? actionReady()
+                : robot.mode == RobotMode.PORTABLE && robot.movementCooldown < GameConstants.COOLDOWN_LIMIT;
+    }
+
+    /**
+     * Turret to portable spends movement cooldown and back spends action cooldown, each
+     * {@link #TRANSFORM_COOLDOWN} scaled by rubble.
+     */
+    private void transform() throws GameActionException {
+        if (!transformReady()) {
+            throw illegal(GameActionExceptionType.IS_NOT_READY, "cannot transform in " + robot.mode);
+        }
+        if (robot.mode == RobotMode.TURRET) {
+            robot.mode = RobotMode.PORTABLE;
+            robot.movementCooldown += cooldown(TRANSFORM_COOLDOWN, robot.location);
+        } else {
+            robot.mode = RobotMode.TURRET;
+            robot.actionCooldown += cooldown(TRANSFORM_COOLDOWN, robot.location);
+        }
+    }
+
+    private boolean canMove(Direction dir) {
+        MapLocation to = robot.location.add(dir);
+        return (robot.mode == RobotMode.DROID || robot.mode == RobotMode.PORTABLE) && dir != Direction.CENTER
+                && robot.movementCooldown < GameConstants.COOLDOWN_LIMIT
+                && onMap(to) && robotAt(to) == null;
+    }
+
+    private void move(Direction dir) throws GameActionException {
+        if (!canMove(dir)) {
+            throw illegal(GameActionExceptionType.CANT_MOVE_THERE, "cannot move " + dir + " from " + robot.location);
+        }
+        MapLocation to = robot.location.add(dir);
+        sim.grid[robot.location.x][robot.location.y] = null;
+        sim.grid[to.x][to.y] = robot;
+        robot.location = to;
+        robot.movementCooldown += cooldown(robot.type.movementCooldown, to);
+    }
+
+    private boolean canBuild(RobotType type, Direction dir) {
+        MapLocation at = robot.location.add(dir);
+        return robot.type.canBuild(type) && robot.mode != RobotMode.PORTABLE && actionReady()
+                && onMap(at) && robotAt(at) == null
+                && sim.teamLead[robot.team.ordinal()] >= type.buildCostLead
+                && sim.teamGold[robot.team.ordinal()] >= type.buildCostGold;
+    }
+
+    private void build(RobotType type, Direction dir) throws GameActionException {
+        if (!canBuild(type, dir)) {
+            throw illegal(GameActionExceptionType.CANT_DO_THAT, "cannot build " + type + " to the " + dir);
+        }
+        sim.teamLead[robot.team.ordinal()] -= type.buildCostLead;
+        sim.teamGold[robot.team.ordinal()] -= type.buildCostGold;
+        sim.spawn(robot.team, type, robot.location.add(dir), robot.player);
+        robot.actionCooldown += cooldown(robot.type.actionCooldown, robot.location);
+    }
+
+    private boolean canAttack(MapLocation target) {
+        SimRobot r = robotAt(target);
+        return robot.type.canAttack() && robot.mode != RobotMode.PORTABLE && canAct(target)
+                && r != null && r.team != robot.team;
+    }
+
+    private void attack(MapLocation target) throws GameActionException {
+        if (!canAttack(target)) {
+            throw illegal(GameActionExceptionType.CANT_DO_THAT, "cannot attack " + target);
+        }
+        SimRobot r = robotAt(target);
+        r.health -= robot.type.getDamage(1);
+        if (r.health <= 0) {
+            sim.destroy(r);
+        }
+        robot.actionCooldown += cooldown(robot.type.actionCooldown, robot.location);
+    }
+
+    private boolean canRepair(MapLocation target) {
+        SimRobot r = robotAt(target);
+        return robot.mode != RobotMode.PORTABLE && canAct(target)
+                && r != null && r.team == robot.team && robot.type.canRepair(r.type);
+    }
+
+    private void repair(MapLocation target) throws GameActionException {
+        if (!canRepair(target)) {
+            throw illegal(GameActionExceptionType.CANT_DO_THAT, "cannot repair " + target);
+        }
+        SimRobot r = robotAt(target);
+        r.health = Math.min(r.type.getMaxHealth(1), r.health + robot.type.getHealing(1));
+        robot.actionCooldown += cooldown(robot.type.actionCooldown, robot.location);
+    }
+
+    private boolean canMine(int[][] layer, MapLocation target) {
+        return robot.type.canMine() && canAct(target) && layer[target.x][target.y] > 0;
+    }
+
+    private void mine(int[][] layer, int[] stock, MapLocation target) throws GameActionException {
+        if (!canMine(layer, target)) {
+            throw illegal(GameActionExceptionType.CANT_DO_THAT, "cannot mine " + target);
+        }
+        layer[target.x][target.y]--;
+        stock[robot.team.ordinal()]++;
+        robot.actionCooldown += cooldown(robot.type.actionCooldown, robot.location);
+    }
+}
@@ -0,0 +1,64 @@
+package sim;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Loads one player package child-first, so every simulated robot gets its own copy of the player's
+ * static state, as it does in the engine. Everything else, including battlecode.common, comes from
+ * the parent and is shared.
+ *
+ * With instrument set, the player's classes are also run through {@link BytecodeInstrumenter} so they
+ * count their own bytecode.
+ */
+class PlayerClassLoader extends ClassLoader {
+
+    private final String prefix;
+    private final boolean instrument;
+
+    PlayerClassLoader(String playerPackage, ClassLoader parent, boolean instrument) {
+        super(parent);
+        this.prefix = playerPackage + ".";
+        this.instrument = instrument;
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (!name.startsWith(prefix)) {
+            return super.loadClass(name, resolve);
+        }
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> c = findLoadedClass(name);
+            if (c == null) {
+                byte[] bytes = read(name);
+                if (instrument) {
+                    bytes = BytecodeInstrumenter.instrument(bytes);
+                }
+                c = defineClass(name, bytes, 0, bytes.length);
+            }
+            if (resolve) {
+                resolveClass(c);
+            }
+            return c;
+        }
+    }
+
+    private byte[] read(String name) throws ClassNotFoundException {
+        String resource = name.replace('.', '/') + ".class";
+        try (InputStream in = getParent().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new ClassNotFoundException(name);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+        }
+    }
+}
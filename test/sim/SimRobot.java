@@ -0,0 +1,254 @@
+package sim;
+
+import battlecode.common.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * One robot in a {@link Simulation}: its state, and the thread its player runs on.
+ *
+ * The player's run() is started on its own thread, like in the engine, and only ever runs while the
+ * simulator waits for it, so a whole match is still single-threaded and deterministic.
+ */
+public class SimRobot implements Clock.Hook {
+
+    /**
+     * Thrown out of Clock.yield() to unwind a robot that died or a simulation that ended. An Error,
+     * so the players' catch (Exception) blocks let it through.
+     */
+    static final class Killed extends Error {
+        private static final long serialVersionUID = 1L;
+
+        Killed() {
+            super(null, null, false, false);
+        }
+    }
+
+    final Simulation sim;
+    public final int id;
+    public final Team team;
+    public final RobotType type;
+    final String player;
+
+    MapLocation location;
+    int health;
+    RobotMode mode;
+    int actionCooldown;
+    int movementCooldown;
+    boolean alive = true;
+
+    // Bytecode used this turn: a flat cost per engine call, plus the player's own code when the
+    // simulation instruments it.
+    int bytecodesUsed;
+
+    // Bytecode used this turn before the player's background work began, or -1 if it has not yet.
+    int roleBytecodes;
+
+    // Per-turn bytecode over the robot's life, role work and background apart. The first turn pays for
+    // class initialisation, so it is kept apart from the rest.
+    private int turns;
+    private int firstTurnBytecodes;
+    private long laterTurnBytecodes;
+    private int maxLaterTurnBytecodes;
+    private long laterTurnBackground;
+    private int overruns;
+
+    private final Semaphore go = new Semaphore(0);
+    private final Semaphore done = new Semaphore(0);
+    private Thread thread;
+    private volatile PlayerClassLoader loader;
+    private volatile boolean killed;
+    private volatile boolean finished;
+    Throwable crash;
+
+    SimRobot(Simulation sim, int id, Team team, RobotType type, MapLocation location, String player) {
+        this.sim = sim;
+        this.id = id;
+        this.team = team;
+        this.type = type;
+        this.location = location;
+        this.player = player;
+        this.health = type.getMaxHealth(1);
+        this.mode = type.isBuilding() ? RobotMode.TURRET : RobotMode.DROID;
+    }
+
+    public MapLocation getLocation() {
+        return location;
+    }
+
+    public int getHealth() {
+        return health;
+    }
+
+    public RobotMode getMode() {
+        return mode;
+    }
+
+    public boolean isAlive() {
+        return alive;
+    }
+
+    RobotInfo info() {
+        return new RobotInfo(id, team, type, mode, 1, health, location);
+    }
+
+    /**
+     * Runs the player until it yields. Robots without a player, or whose run() returned, do nothing.
+     */
+    void takeTurn() {
+        if (player == null || finished) {
+            return;
+        }
+        bytecodesUsed = 0;
+        roleBytecodes = -1;
+        if (thread == null) {
+            start();
+        }
+        go.release();
+        done.acquireUninterruptibly();
+        int role = roleBytecodes < 0 ? bytecodesUsed : roleBytecodes;
+        if (turns++ == 0) {
+            firstTurnBytecodes = role;
+        } else {
+            laterTurnBytecodes += role;
+            maxLaterTurnBytecodes = Math.max(maxLaterTurnBytecodes, role);
+            laterTurnBackground += bytecodesUsed - role;
+        }
+    }
+
+    public int turns() {
+        return turns;
+    }
+
+    public int firstTurnBytecodes() {
+        return firstTurnBytecodes;
+    }
+
+    /**
+     * @return mean bytecode per turn after the first spent on the robot's role, up to its background
+     * work (see {@link BytecodeCounter#background}), or 0 before the second turn.
+     */
+    public int meanBytecodes() {
+        return turns < 2 ? 0 : (int) (laterTurnBytecodes / (turns - 1));
+    }
+
+    /**
+     * @return mean background bytecode per turn after the first, or 0 before the second turn.
+     */
+    public int meanBackgroundBytecodes() {
+        return turns < 2 ? 0 : (int) (laterTurnBackground / (turns - 1));
+    }
+
+    /**
+     * @return the most bytecode any turn after the first spent on the robot's role.
+     */
+    public int maxBytecodes() {
+        return maxLaterTurnBytecodes;
+    }
+
+    /**
+     * @return turns the robot was cut off for going over its bytecode limit.
+     */
+    public int overruns() {
+        return overruns;
+    }
+
+    /**
+     * Ends the turn early for a robot over its bytecode limit; it carries on from here next turn.
+     */
+    void overrun() {
+        overruns++;
+        yieldTurn();
+    }
+
+    private void start() {
+        RobotController rc = MockRobotController.create(sim, this);
+        thread = new Thread(() -> {
+            Clock.attach(this);
+            BytecodeCounter.attach(this);
+            try {
+                go.acquire();
+                loader = new PlayerClassLoader(player, SimRobot.class.getClassLoader(), sim.instrumentBytecode);
+                for (Map.Entry<String, Object> e : sim.playerStatics.entrySet()) {
+                    String[] name = e.getKey().split("#");
+                    staticField(name[0], name[1]).set(null, e.getValue());
+                }
+                Method run = loader.loadClass(player + ".RobotPlayer").getMethod("run", RobotController.class);
+                run.invoke(null, rc);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof Killed)) {
+                    crash = e.getCause();
+                }
+            } catch (InterruptedException | Killed ignored) {
+            } catch (ReflectiveOperationException e) {
+                crash = e;
+            } finally {
+                finished = true;
+                done.release();
+            }
+        }, "sim-" + team + "-" + type + "#" + id);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private Field staticField(String className, String field) throws ReflectiveOperationException {
+        Field f = loader.loadClass(className).getDeclaredField(field);
+        f.setAccessible(true);
+        return f;
+    }
+
+    /**
+     * @return the value of a static field in this robot's own copy of a player class, e.g. a counter
+     * the player keeps for benchmarking.
+     */
+    public Object playerStatic(String className, String field) throws ReflectiveOperationException {
+        if (loader == null) {
+            throw new IllegalStateException(this + " has not run yet");
+        }
+        return staticField(className, field).get(null);
+    }
+
+    /**
+     * Unwinds the player's thread and waits for it to exit.
+     */
+    void kill() {
+        alive = false;
+        if (thread == null || finished) {
+            return;
+        }
+        killed = true;
+        go.release();
+        done.acquireUninterruptibly();
+    }
+
+    @Override
+    public void yieldTurn() {
+        if (killed) {
+            throw new Killed();
+        }
+        done.release();
+        go.acquireUninterruptibly();
+        if (killed) {
+            throw new Killed();
+        }
+    }
+
+    @Override
+    public int bytecodeNum() {
+        return bytecodesUsed;
+    }
+
+    @Override
+    public int bytecodesLeft() {
+        return Math.max(0, type.bytecodeLimit - bytecodesUsed);
+    }
+
+    @Override
+    public String toString() {
+        return team + " " + type + "#" + id + "@" + location;
+    }
+}
@@ -0,0 +1,262 @@
+package sim;
+
+import battlecode.common.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A small in-memory Battlecode world for stepping real players inside JUnit.
+ *
+ * It models what the players here rely on: a grid with rubble, lead and gold, robots with health and
+ * cooldowns, vision and action radii, moving, attacking, mining, building, repairing, transforming
+ * between turret and portable, team lead and gold, the shared array, passive income and lead
+ * regeneration. Everything else (anomalies, levels, mutation, transmutation, lead dropped on death) is
+ * left out, and calls that need it fail as if they were not allowed.
+ *
+ * Robots take their turns in creation order, one at a time, so a run is deterministic. Each robot
+ * loads its player in its own class loader and so has its own statics, as in the engine.
+ *
+ * Bytecode is approximated by charging each engine call a fixed cost. With
+ * {@link #instrumentBytecode()} the player's own code is counted too, block by block, and robots over
+ * their limit are cut off mid-turn as in the engine.
+ */
+public class Simulation implements AutoCloseable {
+
+    public final int width;
+    public final int height;
+    final int[][] rubble;
+    final int[][] lead;
+    final int[][] gold;
+    final SimRobot[][] grid;
+    final int[] shared = new int[GameConstants.SHARED_ARRAY_LENGTH];
+    final int[] teamLead = new int[2];
+    final int[] teamGold = new int[2];
+
+    final List<SimRobot> robots = new ArrayList<>();
+    private final List<SimRobot> spawned = new ArrayList<>();
+    private int nextId = 1;
+
+    int round = 1;
+    private Team winner;
+    boolean instrumentBytecode;
+
+    // Static fields to set in every player's own copy of a class, keyed by "class#field".
+    final Map<String, Object> playerStatics = new LinkedHashMap<>();
+
+    /**
+     * Actions the players tried that the rules did not allow; each also threw a GameActionException.
+     */
+    public int illegalActions;
+
+    public Simulation(int width, int height) {
+        this.width = width;
+        this.height = height;
+        rubble = new int[width][height];
+        lead = new int[width][height];
+        gold = new int[width][height];
+        grid = new SimRobot[width][height];
+    }
+
+    /**
+     * Counts the bytecode of the players' own code. Must be called before robots are added.
+     */
+    public Simulation instrumentBytecode() {
+        instrumentBytecode = true;
+        return this;
+    }
+
+    /**
+     * Sets a static field of a player class in every robot's copy of it before the robot first runs,
+     * e.g. to flip a switch meant for A/B benchmarking. The field must not be a compile-time constant.
+     */
+    public Simulation setPlayerStatic(String className, String field, Object value) {
+        playerStatics.put(className + "#" + field, value);
+        return this;
+    }
+
+    public Simulation setRubble(int x, int y, int value) {
+        rubble[x][y] = value;
+        return this;
+    }
+
+    public Simulation setLead(int x, int y, int value) {
+        lead[x][y] = value;
+        return this;
+    }
+
+    public Simulation setGold(int x, int y, int value) {
+        gold[x][y] = value;
+        return this;
+    }
+
+    public Simulation setTeamLead(Team team, int value) {
+        teamLead[team.ordinal()] = value;
+        return this;
+    }
+
+    /**
+     * Places a robot. player is the package whose RobotPlayer it runs, or null for a robot that never
+     * acts.
+     */
+    public SimRobot addRobot(Team team, RobotType type, int x, int y, String player) {
+        if (grid[x][y] != null) {
+            throw new IllegalArgumentException("occupied: " + x + ", " + y);
+        }
+        SimRobot r = new SimRobot(this, nextId++, team, type, new MapLocation(x, y), player);
+        grid[x][y] = r;
+        robots.add(r);
+        return r;
+    }
+
+    /**
+     * Spawns a robot built during a turn. It is placed at once but acts from the next round on.
+     */
+    SimRobot spawn(Team team, RobotType type, MapLocation loc, String player) {
+        SimRobot r = new SimRobot(this, nextId++, team, type, loc, player);
+        grid[loc.x][loc.y] = r;
+        spawned.add(r);
+        return r;
+    }
+
+    /**
+     * Removes r from the map, as if it had been killed. Its player stops getting turns.
+     */
+    public void destroy(SimRobot r) {
+        r.alive = false;
+        grid[r.location.x][r.location.y] = null;
+    }
+
+    /**
+     * Plays one round.
+     */
+    public void step() {
+        for (SimRobot r : robots) {
+            if (!r.alive) {
+                continue;
+            }
+            r.actionCooldown = Math.max(0, r.actionCooldown - GameConstants.COOLDOWN_LIMIT);
+            r.movementCooldown = Math.max(0, r.movementCooldown - GameConstants.COOLDOWN_LIMIT);
+            r.takeTurn();
+        }
+        for (SimRobot r : robots) {
+            if (!r.alive) {
+                r.kill();
+            }
+        }
+        robots.removeIf(r -> !r.alive);
+        robots.addAll(spawned);
+        spawned.clear();
+
+        teamLead[0] += GameConstants.PASSIVE_LEAD_INCREASE;
+        teamLead[1] += GameConstants.PASSIVE_LEAD_INCREASE;
+        if (round % GameConstants.ADD_LEAD_EVERY_ROUNDS == 0) {
+            for (int x = 0; x < width; x++) {
+                for (int y = 0; y < height; y++) {
+                    if (lead[x][y] > 0) {
+                        lead[x][y] += GameConstants.ADD_LEAD;
+                    }
+                }
+            }
+        }
+        if (winner == null) {
+            boolean a = count(Team.A, RobotType.ARCHON) > 0;
+            boolean b = count(Team.B, RobotType.ARCHON) > 0;
+            if (a != b) {
+                winner = a ? Team.A : Team.B;
+            }
+        }
+        round++;
+    }
+
+    public void run(int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            step();
+        }
+    }
+
+    /**
+     * Steps until condition holds, checking before every round.
+     *
+     * @return the round on which it first held, or -1 if it did not within maxRounds.
+     */
+    public int runUntil(int maxRounds, BooleanSupplier condition) {
+        for (int i = 0; i < maxRounds; i++) {
+            if (condition.getAsBoolean()) {
+                return round;
+            }
+            step();
+        }
+        return condition.getAsBoolean() ? round : -1;
+    }
+
+    public int round() {
+        return round;
+    }
+
+    /**
+     * @return the team that still has archons once the other has none, or null.
+     */
+    public Team winner() {
+        return winner;
+    }
+
+    public int teamLead(Team team) {
+        return teamLead[team.ordinal()];
+    }
+
+    public int leadAt(int x, int y) {
+        return lead[x][y];
+    }
+
+    public int rubbleAt(int x, int y) {
+        return rubble[x][y];
+    }
+
+    public int sharedArray(int index) {
+        return shared[index];
+    }
+
+    public List<SimRobot> robots(Team team, RobotType type) {
+        List<SimRobot> out = new ArrayList<>();
+        for (SimRobot r : robots) {
+            if (r.alive && r.team == team && (type == null || r.type == type)) {
+                out.add(r);
+            }
+        }
+        return out;
+    }
+
+    public int count(Team team, RobotType type) {
+        return robots(team, type).size();
+    }
+
+    /**
+     * @return the first exception a player let escape run(), or null.
+     */
+    public Throwable crash() {
+        for (SimRobot r : robots) {
+            if (r.crash != null) {
+                return r.crash;
+            }
+        }
+        return null;
+    }
+
+    boolean onMap(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    @Override
+    public void close() {
+        for (SimRobot r : robots) {
+            r.kill();
+        }
+        for (SimRobot r : spawned) {
+            r.kill();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package sim;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import battlecode.common.*;
+
+public class SimulationTest {
+
+	private static RobotController rc(Simulation sim, SimRobot robot) {
+		return MockRobotController.create(sim, robot);
+	}
+
+	@Test
+	public void testMoveAppliesRubbleCooldown() throws GameActionException {
+		try (Simulation sim = new Simulation(10, 10)) {
+			sim.setRubble(5, 6, 20);
+			SimRobot soldier = sim.addRobot(Team.A, RobotType.SOLDIER, 5, 5, null);
+			RobotController rc = rc(sim, soldier);
+			assertTrue(rc.canMove(Direction.NORTH));
+			rc.move(Direction.NORTH);
+			assertEquals(new MapLocation(5, 6), rc.getLocation());
+			assertEquals(RobotType.SOLDIER.movementCooldown * 3, rc.getMovementCooldownTurns());
+			assertFalse(rc.canMove(Direction.NORTH));
+		}
+	}
+
+	@Test
+	public void testPortableArchonMovesButCannotBuild() throws GameActionException {
+		try (Simulation sim = new Simulation(10, 10)) {
+			sim.setTeamLead(Team.A, 500);
+			sim.setRubble(5, 5, 10);
+			SimRobot archon = sim.addRobot(Team.A, RobotType.ARCHON, 5, 5, null);
+			RobotController rc = rc(sim, archon);
+			assertFalse(rc.canMove(Direction.NORTH));
+			assertTrue(rc.canTransform());
+			rc.transform();
+			assertEquals(RobotMode.PORTABLE, rc.getMode());
+			assertFalse(rc.canBuildRobot(RobotType.MINER, Direction.SOUTH));
+			// Ten turns, doubled by the rubble.
+			assertEquals(200, rc.getMovementCooldownTurns());
+			assertFalse(rc.canTransform());
+			sim.run(20);
+			assertTrue(rc.canMove(Direction.NORTH));
+			rc.move(Direction.NORTH);
+			assertFalse(rc.canTransform());
+			sim.run(3);
+			rc.transform();
+			assertEquals(RobotMode.TURRET, rc.getMode());
+			assertFalse(rc.canMove(Direction.NORTH));
+			assertEquals(100, rc.getActionCooldownTurns());
+		}
+	}
+
+	@Test
+	public void testSensingIsLimitedToVision() {
+		try (Simulation sim = new Simulation(30, 30)) {
+			SimRobot miner = sim.addRobot(Team.A, RobotType.MINER, 0, 0, null);
+			sim.addRobot(Team.B, RobotType.SOLDIER, 2, 2, null);
+			sim.addRobot(Team.B, RobotType.SOLDIER, 20, 20, null);
+			RobotController rc = rc(sim, miner);
+			assertEquals(1, rc.senseNearbyRobots(-1, Team.B).length);
+			try {
+				rc.senseRubble(new MapLocation(20, 20));
+				fail();
+			} catch (GameActionException e) {
+				assertEquals(GameActionExceptionType.CANT_SENSE_THAT, e.getType());
+			}
+		}
+	}
+
+	@Test
+	public void testMiningMovesLeadToTeam() throws GameActionException {
+		try (Simulation sim = new Simulation(10, 10)) {
+			sim.setLead(3, 3, 5);
+			SimRobot miner = sim.addRobot(Team.A, RobotType.MINER, 2, 2, null);
+			RobotController rc = rc(sim, miner);
+			MapLocation tile = new MapLocation(3, 3);
+			int mined = 0;
+			while (rc.canMineLead(tile)) {
+				rc.mineLead(tile);
+				mined++;
+			}
+			assertTrue(mined > 0);
+			assertEquals(mined, sim.teamLead(Team.A));
+			assertEquals(5 - mined, sim.leadAt(3, 3));
+		}
+	}
+
+	@Test
+	public void testKillingLastArchonDecidesWinner() throws GameActionException {
+		try (Simulation sim = new Simulation(10, 10)) {
+			sim.addRobot(Team.A, RobotType.ARCHON, 0, 0, null);
+			SimRobot target = sim.addRobot(Team.B, RobotType.ARCHON, 5, 5, null);
+			SimRobot soldier = sim.addRobot(Team.A, RobotType.SOLDIER, 5, 6, null);
+			target.health = 1;
+			rc(sim, soldier).attack(target.getLocation());
+			sim.step();
+			assertFalse(target.isAlive());
+			assertEquals(Team.A, sim.winner());
+		}
+	}
+
+	@Test
+	public void testPassiveIncomeAndRegeneration() {
+		try (Simulation sim = new Simulation(10, 10)) {
+			sim.setLead(1, 1, 10);
+			sim.run(GameConstants.ADD_LEAD_EVERY_ROUNDS);
+			assertEquals(GameConstants.ADD_LEAD_EVERY_ROUNDS * GameConstants.PASSIVE_LEAD_INCREASE, sim.teamLead(Team.B));
+			assertEquals(10 + GameConstants.ADD_LEAD, sim.leadAt(1, 1));
+			assertEquals(0, sim.leadAt(2, 2));
+		}
+	}
+}
@@ -0,0 +1,254 @@
+package replay;
+
+import battlecode.schema.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Turns .bc22 replays into per-round CSV for diffing players across many matches.
+ *
+ * One row per match, round and team:
+ * <pre>
+ * match,round,team,lead_income,gold_income,lead_net,gold_net,alive_ARCHON,bytecodes_ARCHON,actions_ARCHON,...
+ * </pre>
+ * lead_income is the lead the team's miners took that round and gold_income the gold they mined or
+ * transmuted, one unit per action; lead_net and gold_net are the change in the team's stockpile,
+ * spending and passive income included. The per-type columns count living robots, the bytecode they
+ * used and the actions they took.
+ *
+ * A flatbuffer needs random access, so the replay cannot be decoded straight off the gzip stream.
+ * Instead it is inflated once into a temporary file that is memory-mapped, and events are decoded one
+ * at a time into reused accessor objects. Heap use stays flat however long the replay is; the OS pages
+ * the mapping in and out as the rounds are walked.
+ *
+ * Usage: {@code ReplayAnalyzer <replay.bc22 | directory>...} writes replay.csv next to each replay.
+ */
+public class ReplayAnalyzer {
+
+    static final String[] TYPE_NAMES = {
+            "ARCHON", "LABORATORY", "WATCHTOWER", "MINER", "BUILDER", "SOLDIER", "SAGE",
+    };
+    static final int TYPES = TYPE_NAMES.length;
+    static final int TEAMS = 2;
+
+    // Per robot ID, filled from spawn events. Team is 0 or 1, -1 for an unknown ID.
+    private byte[] robotType = new byte[4096];
+    private byte[] robotTeam = new byte[4096];
+
+    // Per team and type, for the round being decoded.
+    private final int[] alive = new int[TEAMS * TYPES];
+    private final long[] bytecodes = new long[TEAMS * TYPES];
+    private final int[] actions = new int[TEAMS * TYPES];
+    private final int[] leadIncome = new int[TEAMS];
+    private final int[] goldIncome = new int[TEAMS];
+    private final int[] leadNet = new int[TEAMS];
+    private final int[] goldNet = new int[TEAMS];
+
+    /**
+     * The engine numbers the two teams 1 and 2; columns use 0 and 1.
+     */
+    static final int FIRST_TEAM_ID = 1;
+
+    // Reused flatbuffer accessors.
+    private final EventWrapper event = new EventWrapper();
+    private final Round round = new Round();
+    private final MatchHeader matchHeader = new MatchHeader();
+    private final GameMap map = new GameMap();
+    private final SpawnedBodyTable spawned = new SpawnedBodyTable();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("usage: ReplayAnalyzer <replay.bc22 | directory>...");
+            System.exit(1);
+        }
+        for (String arg : args) {
+            File f = new File(arg);
+            File[] replays = f.isDirectory()
+                    ? f.listFiles((dir, name) -> name.endsWith(".bc22"))
+                    : new File[]{f};
+            if (replays == null) {
+                continue;
+            }
+            Arrays.sort(replays);
+            for (File replay : replays) {
+                String name = replay.getName();
+                File csv = new File(replay.getParentFile(), name.substring(0, name.length() - ".bc22".length()) + ".csv");
+                try (PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(csv)))) {
+                    int rounds = new ReplayAnalyzer().analyze(replay, out);
+                    System.out.println(csv.getPath() + ": " + rounds + " rounds");
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of rounds written.
+     */
+    int analyze(File replay, PrintWriter out) throws IOException {
+        Path inflated = Files.createTempFile("replay", ".fb");
+        try {
+            try (InputStream in = new GZIPInputStream(new BufferedInputStream(new FileInputStream(replay)))) {
+                Files.copy(in, inflated, StandardCopyOption.REPLACE_EXISTING);
+            }
+            try (FileChannel channel = FileChannel.open(inflated, StandardOpenOption.READ)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                return decode(GameWrapper.getRootAsGameWrapper(buffer), out);
+            }
+        } finally {
+            Files.deleteIfExists(inflated);
+        }
+    }
+
+    private int decode(GameWrapper game, PrintWriter out) {
+        writeHeader(out);
+        int match = -1;
+        int rounds = 0;
+        for (int i = 0, n = game.eventsLength(); i < n; i++) {
+            game.events(event, i);
+            switch (event.eType()) {
+                case Event.MatchHeader:
+                    event.e(matchHeader);
+                    match++;
+                    startMatch();
+                    // The starting archons are part of the map, not of any round.
+                    spawn(matchHeader.map(map).bodies(spawned));
+                    break;
+                case Event.Round:
+                    event.e(round);
+                    decodeRound();
+                    writeRound(out, match, round.roundID());
+                    rounds++;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return rounds;
+    }
+
+    private void startMatch() {
+        Arrays.fill(robotTeam, (byte) -1);
+        Arrays.fill(alive, 0);
+    }
+
+    private void spawn(SpawnedBodyTable bodies) {
+        if (bodies == null) {
+            return;
+        }
+        for (int j = 0, n = bodies.robotIDsLength(); j < n; j++) {
+            int id = bodies.robotIDs(j);
+            ensureCapacity(id);
+            int team = bodies.teamIDs(j) - FIRST_TEAM_ID;
+            robotType[id] = bodies.types(j);
+            robotTeam[id] = (byte) team;
+            if (team >= 0 && team < TEAMS) {
+                alive[team * TYPES + robotType[id]]++;
+            }
+        }
+    }
+
+    private void decodeRound() {
+        Arrays.fill(bytecodes, 0);
+        Arrays.fill(actions, 0);
+        Arrays.fill(leadIncome, 0);
+        Arrays.fill(goldIncome, 0);
+        Arrays.fill(leadNet, 0);
+        Arrays.fill(goldNet, 0);
+
+        for (int j = 0, n = round.teamIDsLength(); j < n; j++) {
+            int team = round.teamIDs(j) - FIRST_TEAM_ID;
+            if (team >= 0 && team < TEAMS) {
+                leadNet[team] += round.teamLeadChanges(j);
+                goldNet[team] += round.teamGoldChanges(j);
+            }
+        }
+
+        spawn(round.spawnedBodies(spawned));
+
+        for (int j = 0, n = round.diedIDsLength(); j < n; j++) {
+            int slot = slot(round.diedIDs(j));
+            if (slot >= 0) {
+                alive[slot]--;
+            }
+        }
+
+        for (int j = 0, n = round.actionIDsLength(); j < n; j++) {
+            int slot = slot(round.actionIDs(j));
+            if (slot < 0) {
+                continue;
+            }
+            actions[slot]++;
+            // Mining and transmuting each yield one unit.
+            switch (round.actions(j)) {
+                case Action.MINE_LEAD:
+                    leadIncome[slot / TYPES]++;
+                    break;
+                case Action.MINE_GOLD:
+                case Action.TRANSMUTE:
+                    goldIncome[slot / TYPES]++;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        for (int j = 0, n = round.bytecodeIDsLength(); j < n; j++) {
+            int slot = slot(round.bytecodeIDs(j));
+            if (slot >= 0) {
+                bytecodes[slot] += round.bytecodesUsed(j);
+            }
+        }
+    }
+
+    /**
+     * @return the team * TYPES + type index for a robot ID, or -1 if we never saw it spawn.
+     */
+    private int slot(int id) {
+        if (id < 0 || id >= robotTeam.length || robotTeam[id] < 0 || robotTeam[id] >= TEAMS) {
+            return -1;
+        }
+        return robotTeam[id] * TYPES + robotType[id];
+    }
+
+    private void ensureCapacity(int id) {
+        if (id >= robotTeam.length) {
+            int size = Math.max(id + 1, robotTeam.length * 2);
+            int old = robotTeam.length;
+            robotType = Arrays.copyOf(robotType, size);
+            robotTeam = Arrays.copyOf(robotTeam, size);
+            Arrays.fill(robotTeam, old, size, (byte) -1);
+        }
+    }
+
+    private static void writeHeader(PrintWriter out) {
+        StringBuilder sb = new StringBuilder("match,round,team,lead_income,gold_income,lead_net,gold_net");
+        for (String type : TYPE_NAMES) {
+            sb.append(",alive_").append(type)
+                    .append(",bytecodes_").append(type)
+                    .append(",actions_").append(type);
+        }
+        out.println(sb);
+    }
+
+    private void writeRound(PrintWriter out, int match, int roundId) {
+        StringBuilder sb = new StringBuilder(256);
+        for (int team = 0; team < TEAMS; team++) {
+            sb.setLength(0);
+            sb.append(match).append(',').append(roundId).append(',').append(team == 0 ? 'A' : 'B')
+                    .append(',').append(leadIncome[team]).append(',').append(goldIncome[team])
+                    .append(',').append(leadNet[team]).append(',').append(goldNet[team]);
+            for (int type = 0; type < TYPES; type++) {
+                int k = team * TYPES + type;
+                sb.append(',').append(alive[k])
+                        .append(',').append(bytecodes[k])
+                        .append(',').append(actions[k]);
+            }
+            out.println(sb);
+        }
+    }
+}